@@ -0,0 +1,97 @@
+package mago.study.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 코퍼스. 시드 고정이라 실행 간 입력이 같다.
+ * - tweets: 해시태그/멘션/URL/HTML 엔티티/모지바케/이모지가 섞인 트윗 형태
+ * - pages : 문단/절 제목/수식이 섞인 교재 페이지 형태 (PDFTextStripper 출력처럼 줄 단위)
+ */
+public final class BenchmarkCorpus {
+
+    private static final String[] WORDS = {
+            "the", "great", "people", "country", "jobs", "economy", "border", "news", "media", "today",
+            "thank", "you", "big", "win", "trade", "deal", "tax", "cuts", "america", "strong"
+    };
+
+    private static final String[] TWEET_DECOR = {
+            "#MAGA", "@realDonaldTrump", "https://t.co/xYz12AbC", "&amp;", "&quot;", "â€™", "â€œ", "â€\u009d",
+            "😀", "🇺🇸", "👍🏽", "...", "!!", "Ã©", " ", "\n"
+    };
+
+    private static final String[] TEXT_WORDS = {
+            "probability", "random", "variable", "distribution", "expected", "value", "function", "sample",
+            "space", "event", "independent", "measure", "integral", "limit", "sequence", "converges"
+    };
+
+    private static final String[] MATH = {
+            "x = 2y + 1", "P(A ∩ B) = P(A)P(B)", "∑ a_i ≤ 1", "f(x)=e^{-x}", "E[X] = ∫ x dF(x)",
+            "σ² = Var(X)", "3+4=7", "\\frac{1}{n}", "$\\alpha$", "n≥1", "a/b", "lim sup"
+    };
+
+    private BenchmarkCorpus() {
+    }
+
+    public static List<String> tweets(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> tweets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder(200);
+            int words = 8 + random.nextInt(30);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) sb.append(' ');
+                if (random.nextInt(6) == 0) {
+                    sb.append(TWEET_DECOR[random.nextInt(TWEET_DECOR.length)]);
+                } else {
+                    String word = WORDS[random.nextInt(WORDS.length)];
+                    sb.append(random.nextInt(8) == 0 ? word.toUpperCase() : word);
+                }
+            }
+            tweets.add(sb.toString());
+        }
+        return tweets;
+    }
+
+    public static String textbook(int pages, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(pages * 3000);
+        for (int p = 0; p < pages; p++) {
+            if (p % 10 == 0) sb.append("\n").append(p / 10 + 1).append(".").append(p % 10 + 1).append(" Random Variables\n");
+            int paragraphs = 3 + random.nextInt(3);
+            for (int para = 0; para < paragraphs; para++) {
+                int sentences = 3 + random.nextInt(5);
+                for (int s = 0; s < sentences; s++) {
+                    int words = 6 + random.nextInt(14);
+                    StringBuilder line = new StringBuilder();
+                    for (int w = 0; w < words; w++) {
+                        if (w > 0) line.append(' ');
+                        String word = random.nextInt(10) == 0
+                                ? MATH[random.nextInt(MATH.length)]
+                                : TEXT_WORDS[random.nextInt(TEXT_WORDS.length)];
+                        line.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+                        // PDF 줄바꿈 흉내
+                        if (line.length() > 70) {
+                            sb.append(line).append('\n');
+                            line.setLength(0);
+                        }
+                    }
+                    sb.append(line).append(random.nextInt(5) == 0 ? "? " : ". ");
+                }
+                sb.append("\n\n");
+            }
+            sb.append(p + 1).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** 교재 텍스트를 청크 크기 비슷한 조각으로 자른다 (수식 정규화 벤치마크 입력) */
+    public static List<String> chunks(String text, int size) {
+        List<String> chunks = new ArrayList<>(text.length() / size + 1);
+        for (int i = 0; i < text.length(); i += size) {
+            chunks.add(text.substring(i, Math.min(text.length(), i + size)));
+        }
+        return chunks;
+    }
+}
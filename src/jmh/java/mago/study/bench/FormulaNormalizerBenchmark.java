@@ -0,0 +1,52 @@
+package mago.study.bench;
+
+import mago.study.domain.pdf.util.FormulaNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 청크 후처리(수식 정규화 + 공백 정리 + 수식 판정) 비용. 결과 단위는 청크 묶음당 시간.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormulaNormalizerBenchmark {
+
+    private List<String> chunks;
+
+    @Setup
+    public void setUp() {
+        chunks = BenchmarkCorpus.chunks(BenchmarkCorpus.textbook(20, 13L), 1_000);
+    }
+
+    @Benchmark
+    public void normalizeFormulas(Blackhole bh) {
+        for (String chunk : chunks) {
+            bh.consume(FormulaNormalizer.normalizeWhitespace(FormulaNormalizer.normalizeFormulas(chunk)));
+        }
+    }
+
+    @Benchmark
+    public void detectFormulas(Blackhole bh) {
+        for (String chunk : chunks) {
+            bh.consume(FormulaNormalizer.detectFormulas(chunk));
+        }
+    }
+
+    /** 정규화 + 판정을 한 번 스캔으로 (위 두 벤치마크 합과 비교) */
+    @Benchmark
+    public void normalizeSinglePass(Blackhole bh) {
+        for (String chunk : chunks) {
+            bh.consume(FormulaNormalizer.normalize(chunk));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package mago.study.bench;
+
+import mago.study.domain.pdf.util.PdfTextChunker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 교재 페이지 묶음 청크 분할 비용 (processLargeFile 의 페이지 구간 크기 기준).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PdfTextChunkerBenchmark {
+
+    @Param({"10", "50"})
+    public int pages;
+
+    private final PdfTextChunker chunker = new PdfTextChunker();
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkCorpus.textbook(pages, 11L);
+    }
+
+    @Benchmark
+    public List<PdfTextChunker.ChunkInfo> chunkText() {
+        return chunker.chunkText(text, 4000);
+    }
+}
@@ -0,0 +1,65 @@
+package mago.study.bench;
+
+import mago.study.global.util.CompiledTextCleaner;
+import mago.study.global.util.TextCleaner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 트윗 1,000건 정제 비용. 결과 단위는 배치(1,000건)당 시간.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextCleanerBenchmark {
+
+    @Param({"true", "false"})
+    public boolean removeAll;
+
+    private List<String> tweets;
+    private String page;
+    private CompiledTextCleaner compiled;
+    private CompiledTextCleaner chunkCleaner;
+
+    @Setup
+    public void setUp() {
+        tweets = BenchmarkCorpus.tweets(1_000, 42L);
+        page = BenchmarkCorpus.textbook(2, 7L);
+        compiled = TextCleaner.compile(removeAll, removeAll, removeAll);
+        chunkCleaner = TextCleaner.compile(false, false, false);
+    }
+
+    @Benchmark
+    public void legacyTweets(Blackhole bh) {
+        for (String tweet : tweets) {
+            bh.consume(TextCleaner.clean(tweet, removeAll, removeAll, removeAll));
+        }
+    }
+
+    @Benchmark
+    public void compiledTweets(Blackhole bh) {
+        for (String tweet : tweets) {
+            bh.consume(compiled.clean(tweet));
+        }
+    }
+
+    @Benchmark
+    public String legacyPage() {
+        return TextCleaner.clean(page, false, false, false);
+    }
+
+    @Benchmark
+    public String compiledPage() {
+        return chunkCleaner.clean(page);
+    }
+}
@@ -0,0 +1,66 @@
+package mago.study.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 스레드 모드 비교용 대역 서버 (Spring/Mongo 없이 JDK 만으로 실행).
+ * 요청마다 dbMillis 동안 블로킹해 Mongo 왕복을 흉내내고 작은 JSON 을 돌려준다.
+ * mode=platform 은 Tomcat 기본값과 같은 크기(threads)의 고정 스레드 풀, mode=virtual 은 요청당 가상 스레드로 처리한다.
+ * 앱을 띄울 수 없는 환경에서 HttpLoadTest 하네스를 확인(스모크 테스트)할 때 쓴다. 앱 수준 비교를 대신하지 않는다.
+ *
+ * 인자 (key=value): port, mode, threads, dbMillis
+ */
+public class BlockingStubServer {
+
+    private static final byte[] BODY = "{\"messages\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = parse(args);
+        int port = Integer.parseInt(opts.getOrDefault("port", "8080"));
+        String mode = opts.getOrDefault("mode", "platform");
+        int threads = Integer.parseInt(opts.getOrDefault("threads", "200"));
+        long dbMillis = Long.parseLong(opts.getOrDefault("dbMillis", "20"));
+
+        ExecutorService executor = switch (mode) {
+            case "platform" -> Executors.newFixedThreadPool(threads);
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("mode 는 platform 또는 virtual: " + mode);
+        };
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                Thread.sleep(dbMillis);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, BODY.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(BODY);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        System.out.printf("stub server on :%d mode=%s threads=%s dbMillis=%d%n",
+                port, mode, "platform".equals(mode) ? threads : "-", dbMillis);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new TreeMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0 && eq < arg.length() - 1) opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+}
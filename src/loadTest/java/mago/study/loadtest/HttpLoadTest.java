@@ -0,0 +1,144 @@
+package mago.study.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스레드 모드 비교용 closed-loop HTTP 부하 테스트.
+ * concurrency 개의 클라이언트가 duration 동안 paths 를 번갈아 GET 하고 처리량/지연 분위수를 출력한다.
+ *
+ * 비교 절차 (같은 DB, 같은 데이터):
+ *   1) VIRTUAL_THREADS=false ./gradlew bootRun  →  ./gradlew loadTest -PloadTest.label=platform -PloadTest.roomId=...
+ *   2) VIRTUAL_THREADS=true  ./gradlew bootRun  →  ./gradlew loadTest -PloadTest.label=virtual  -PloadTest.roomId=...
+ * 플랫폼 모드는 Tomcat 스레드 수(server.tomcat.threads.max, 기본 200)가 동시 처리 상한이므로
+ * concurrency 를 그보다 크게 잡아야 차이가 보인다. 가상 모드 실행 후 GET /api/diagnostics/pinning 으로 pinning 위치를 확인한다.
+ * 측정 결과와 환경은 src/loadTest/RESULTS.md 에 남긴다 (현재는 BlockingStubServer 대상 하네스 스모크 테스트 결과만 있고, 앱 수준 비교는 미측정).
+ *
+ * 인자 (key=value): baseUrl, roomId, paths(쉼표 구분, {roomId} 치환), concurrency, warmupSeconds, durationSeconds, label
+ */
+public class HttpLoadTest {
+
+    private static final long[] BUCKET_MICROS = buckets();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        String baseUrl = opts.getOrDefault("baseUrl", "http://localhost:8080");
+        String roomId = opts.getOrDefault("roomId", "");
+        List<URI> uris = Arrays.stream(opts.getOrDefault("paths", "/api/rooms/{roomId}/messages?limit=20,/api/rooms/{roomId}").split("\\s*,\\s*"))
+                .map(p -> URI.create(baseUrl + p.replace("{roomId}", roomId)))
+                .toList();
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "500"));
+        int warmupSeconds = Integer.parseInt(opts.getOrDefault("warmupSeconds", "10"));
+        int durationSeconds = Integer.parseInt(opts.getOrDefault("durationSeconds", "30"));
+        String label = opts.getOrDefault("label", "run");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("[%s] warmup %ds, concurrency=%d, paths=%s%n", label, warmupSeconds, concurrency, uris);
+        run(client, uris, concurrency, warmupSeconds);
+
+        System.out.printf("[%s] measure %ds%n", label, durationSeconds);
+        Result result = run(client, uris, concurrency, durationSeconds);
+        result.print(label, durationSeconds);
+    }
+
+    private static Result run(HttpClient client, List<URI> uris, int concurrency, int seconds) throws InterruptedException {
+        Result result = new Result();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                clients.execute(() -> {
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            result.record((System.nanoTime() - start) / 1_000, response.statusCode() < 400);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            result.record((System.nanoTime() - start) / 1_000, false);
+                        }
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new TreeMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0 && eq < arg.length() - 1) opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    /** 1µs ~ 60s 로그 스케일 지연 버킷 (상대 오차 약 5%) */
+    private static long[] buckets() {
+        List<Long> bounds = new ArrayList<>();
+        for (double b = 1; b < 60_000_000; b *= 1.05) {
+            long v = (long) Math.ceil(b);
+            if (bounds.isEmpty() || bounds.get(bounds.size() - 1) != v) bounds.add(v);
+        }
+        bounds.add(Long.MAX_VALUE);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static final class Result {
+        private final LongAdder[] histogram = new LongAdder[BUCKET_MICROS.length];
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private Result() {
+            for (int i = 0; i < histogram.length; i++) histogram[i] = new LongAdder();
+        }
+
+        private void record(long micros, boolean success) {
+            int i = Arrays.binarySearch(BUCKET_MICROS, micros);
+            histogram[i >= 0 ? i : -i - 1].increment();
+            (success ? ok : failed).increment();
+        }
+
+        private long percentile(double p) {
+            long total = ok.sum() + failed.sum();
+            long rank = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i].sum();
+                if (seen >= rank && seen > 0) return BUCKET_MICROS[i];
+            }
+            return 0;
+        }
+
+        private void print(String label, int seconds) {
+            long total = ok.sum() + failed.sum();
+            System.out.printf(Locale.ROOT,
+                    "[%s] requests=%d ok=%d failed=%d throughput=%.1f req/s p50=%.1fms p95=%.1fms p99=%.1fms%n",
+                    label, total, ok.sum(), failed.sum(), total / (double) seconds,
+                    percentile(0.50) / 1000.0, percentile(0.95) / 1000.0, percentile(0.99) / 1000.0);
+        }
+    }
+}
@@ -6,8 +6,10 @@ import mago.study.domain.message.dto.req.MessageReqDto;
 import mago.study.domain.message.dto.res.MessageGetDto;
 import mago.study.domain.message.dto.res.MessageSlice;
 import org.bson.types.ObjectId;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -27,6 +29,14 @@ public class MessageController {
         return ResponseEntity.ok(messageGetDto);
     }
 
+    @PostMapping(value = "/{roomId}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(
+            @RequestBody MessageReqDto messageReqDto,
+            @PathVariable ObjectId roomId
+    ) {
+        return messageService.streamMessage(roomId, messageReqDto);
+    }
+
     @GetMapping("/{roomId}/messages")
     public ResponseEntity<MessageSlice> getMessages(
             @PathVariable ObjectId roomId,
@@ -1,67 +1,233 @@
 package mago.study.domain.message.application;
 
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import mago.study.domain.message.dao.MessageRepository;
+import mago.study.domain.message.domain.ConversationWindow;
 import mago.study.domain.message.domain.MessageDocument;
 import mago.study.domain.message.dto.req.MessageReqDto;
 import mago.study.domain.message.dto.res.MessageGetDto;
 import mago.study.domain.message.dto.res.MessageSlice;
 import mago.study.domain.rag.application.RagService;
+import mago.study.domain.room.application.RoomMessageCounter;
 import mago.study.domain.room.dao.RoomRepository;
 import mago.study.domain.room.domain.RoomDocument;
 import mago.study.domain.user.domain.Role;
+import mago.study.global.cache.ChatCache;
 import mago.study.global.exception.custom.BusinessException;
 import mago.study.global.exception.enums.ErrorCode;
+import mago.study.global.util.TokenEstimator;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MessageService {
 
+    private static final Bson HISTORY_PROJECTION = Projections.include("_id", "role", "content", "createAt");
+    private static final Bson CONTEXT_PROJECTION = Projections.include("_id", "role", "content");
+    private static final Bson ID_DESC = Sorts.descending("_id");
+
     private final MongoTemplate mongoTemplate;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
     private final RagService ragService;
+    private final ChatCache chatCache;
+    private final RoomMessageCounter roomMessageCounter;
+
+    private final ExecutorService chatStreamExecutor;
+
+    // 히스토리 1회 조회 최대 건수 (요청 limit 상한)
+    @Value("${chat.history.max-limit:100}")
+    private int maxHistoryLimit;
+
+    @Value("${chat.stream.timeout-ms:120000}")
+    private long streamTimeoutMillis;
+
+    // 답변 생성에 넘기는 이전 대화 토큰 예산
+    @Value("${chat.context.max-tokens:2000}")
+    private int contextMaxTokens;
+
+    // 방별 대화 창이 보관하는 토큰 수 (max-tokens 이상)
+    @Value("${chat.context.retained-tokens:8000}")
+    private int contextRetainedTokens;
 
     public MessageGetDto sendMessage(ObjectId roomId, MessageReqDto messageReqDto) {
-        RoomDocument roomDocument = roomRepository.findById(roomId).orElseThrow(
-                () -> new BusinessException(ErrorCode.ROOM_NOT_FOUND)
-        );
-        messageRepository.save(MessageDocument.of(messageReqDto, roomId, Role.USER));
-        return ragService.generateAnswer(roomDocument.getCharacter(), messageReqDto);
+        RoomDocument roomDocument = chatCache.room(roomId, id -> roomRepository.findById(id).orElse(null));
+        if (roomDocument == null) {
+            throw new BusinessException(ErrorCode.ROOM_NOT_FOUND);
+        }
+        List<ConversationWindow.Turn> history = getContext(roomId, contextMaxTokens);
+        saveMessage(MessageDocument.of(messageReqDto, roomId, Role.USER));
+
+        String answer = ragService.generateAnswer(roomDocument.getCharacter(), messageReqDto, history);
+        return MessageGetDto.from(saveMessage(MessageDocument.of(answer, roomId, Role.ASSISTANT)));
+    }
+
+    /**
+     * 답변 스트리밍 (SSE).
+     * - token 이벤트: 생성된 토큰
+     * - done 이벤트 : 저장된 어시스턴트 메시지 (MessageGetDto)
+     * 생성은 가상 스레드에서 진행되고, 클라이언트가 끊기면 생성을 멈추며 답변은 저장하지 않는다.
+     */
+    public SseEmitter streamMessage(ObjectId roomId, MessageReqDto messageReqDto) {
+        RoomDocument roomDocument = chatCache.room(roomId, id -> roomRepository.findById(id).orElse(null));
+        if (roomDocument == null) {
+            throw new BusinessException(ErrorCode.ROOM_NOT_FOUND);
+        }
+        List<ConversationWindow.Turn> history = getContext(roomId, contextMaxTokens);
+        saveMessage(MessageDocument.of(messageReqDto, roomId, Role.USER));
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        chatStreamExecutor.execute(() -> {
+            try {
+                String answer = ragService.streamAnswer(roomDocument.getCharacter(), messageReqDto, history,
+                        token -> emitter.send(SseEmitter.event().name("token").data(token)));
+
+                MessageDocument saved = saveMessage(MessageDocument.of(answer, roomId, Role.ASSISTANT));
+
+                emitter.send(SseEmitter.event().name("done").data(MessageGetDto.from(saved)));
+                emitter.complete();
+            } catch (IOException e) {
+                // 클라이언트 연결 종료
+                log.debug("답변 스트리밍 중단: room={} ({})", roomId, e.getMessage());
+                emitter.completeWithError(e);
+            } catch (RuntimeException e) {
+                log.warn("답변 스트리밍 실패: room={}", roomId, e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * 최근 대화 중 budget 토큰 안에 드는 메시지 (시간순).
+     * 방별 대화 창을 캐시해 두고 메시지 저장 때마다 이어 붙이므로, 히스토리를 다시 읽거나 다시 세지 않는다.
+     */
+    public List<ConversationWindow.Turn> getContext(ObjectId roomId, int budget) {
+        return chatCache.context(roomId, this::loadContext).latest(budget);
+    }
+
+    private MessageDocument saveMessage(MessageDocument message) {
+        MessageDocument saved = messageRepository.save(message);
+        roomMessageCounter.increment(saved.getRoomId());
+        chatCache.evictHistory(saved.getRoomId());
+        chatCache.appendContext(saved.getRoomId(), saved.getId(), saved.getRole(), saved.getContent());
+        return saved;
+    }
+
+    /**
+     * messages 에서 대화 창을 다시 만든다. 최신 메시지부터 retained-tokens 만큼만 읽는다.
+     */
+    private ConversationWindow loadContext(ObjectId roomId) {
+        List<Document> newestFirst = new ArrayList<>();
+        int tokens = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(MessageDocument.class))
+                .find(Filters.eq("roomId", roomId))
+                .projection(CONTEXT_PROJECTION)
+                .sort(ID_DESC)
+                .batchSize(100)
+                .iterator()) {
+            while (cursor.hasNext() && tokens < contextRetainedTokens) {
+                Document doc = cursor.next();
+                tokens += TokenEstimator.estimateMessage(doc.getString("content"));
+                newestFirst.add(doc);
+            }
+        }
+
+        ConversationWindow window = new ConversationWindow(contextRetainedTokens);
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            Document doc = newestFirst.get(i);
+            String role = doc.getString("role");
+            window.append(doc.getObjectId("_id"), role != null ? Role.valueOf(role) : null, doc.getString("content"));
+        }
+        return window;
     }
 
     public MessageSlice getMessageHistory(ObjectId roomId, String before, int limit) {
-        Criteria criteria = Criteria.where("roomId").is(roomId);
+        limit = Math.max(1, Math.min(limit, maxHistoryLimit));
 
-        // 커서(before)가 있으면 그 이전(_id lt)만
-        if (before != null && !before.isBlank() && org.bson.types.ObjectId.isValid(before)) {
-            criteria = criteria.and("_id").lt(new ObjectId(before));
+        // 커서 없는 최신 페이지는 캐시에서 잘라서 반환
+        if ((before == null || before.isBlank()) && limit <= chatCache.historyPageSize()) {
+            MessageSlice newest = chatCache.newestPage(roomId, id -> findMessageHistory(id, null, chatCache.historyPageSize()));
+            return trim(newest, limit);
         }
+        return findMessageHistory(roomId, before, limit);
+    }
 
-        Query query = new Query(criteria)
-                .with(Sort.by(Sort.Direction.DESC, "_id"))
-                .limit(limit + 1); // hasMore 판단용으로 +1
+    /**
+     * 히스토리 조회 (projection 쿼리).
+     * roomId + _id 범위를 room_desc_id_desc 인덱스 순서 그대로 읽고(정렬 단계 없음),
+     * _id/role/content/createAt 만 받아 MessageGetDto 로 바로 변환한다.
+     */
+    private MessageSlice findMessageHistory(ObjectId roomId, String before, int limit) {
+        Bson filter = Filters.eq("roomId", roomId);
 
-        List<MessageGetDto> list = mongoTemplate.find(query, MessageDocument.class)
-                .stream()
-                .map(MessageGetDto::from)
-                .toList();
+        // 커서(before)가 있으면 그 이전(_id lt)만
+        if (before != null && !before.isBlank() && ObjectId.isValid(before)) {
+            filter = Filters.and(filter, Filters.lt("_id", new ObjectId(before)));
+        }
 
-        boolean hasMore = list.size() > limit;
-        if (hasMore) {
-            list = list.subList(0, limit);
+        List<MessageGetDto> list = new ArrayList<>(limit);
+        boolean hasMore = false;
+
+        // hasMore 판단용으로 +1
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(MessageDocument.class))
+                .find(filter)
+                .projection(HISTORY_PROJECTION)
+                .sort(ID_DESC)
+                .limit(limit + 1)
+                .batchSize(limit + 1)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document doc = cursor.next();
+                if (list.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                list.add(toMessageGetDto(doc));
+            }
         }
 
-        String nextCursor = list.isEmpty() ? null : list.getLast().messageId();
+        String nextCursor = list.isEmpty() ? null : list.get(list.size() - 1).messageId();
 
         return new MessageSlice(list, nextCursor, hasMore);
     }
+
+    private static MessageGetDto toMessageGetDto(Document doc) {
+        String role = doc.getString("role");
+        Date createAt = doc.getDate("createAt");
+        return MessageGetDto.builder()
+                .messageId(doc.getObjectId("_id").toHexString())
+                .role(role != null ? Role.valueOf(role) : null)
+                .content(doc.getString("content"))
+                .createdAt(createAt != null ? LocalDateTime.ofInstant(createAt.toInstant(), ZoneId.systemDefault()) : null)
+                .build();
+    }
+
+    private static MessageSlice trim(MessageSlice slice, int limit) {
+        if (slice.messages().size() <= limit) {
+            return slice;
+        }
+        List<MessageGetDto> list = slice.messages().subList(0, limit);
+        return new MessageSlice(list, list.getLast().messageId(), true);
+    }
 }
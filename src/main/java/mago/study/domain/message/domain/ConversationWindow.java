@@ -0,0 +1,79 @@
+package mago.study.domain.message.domain;
+
+import mago.study.domain.user.domain.Role;
+import mago.study.global.util.TokenEstimator;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 방별 최근 대화 (메모리).
+ * - 메시지를 추가할 때 토큰 수를 어림해 두므로 예산으로 자를 때 다시 세지 않는다
+ * - 합계가 retainedTokens 를 넘으면 오래된 메시지부터 버린다
+ * - 메시지는 _id 순서로 둔다. 동시에 저장된 메시지가 순서를 바꿔 들어오면 제자리에 끼워 넣고, 이미 있는 _id 는 건너뛴다
+ * 인스턴스 단위로 동기화된다.
+ */
+public class ConversationWindow {
+
+    public record Turn(ObjectId messageId, Role role, String content, int tokens) {}
+
+    private final int retainedTokens;
+    private final ArrayDeque<Turn> turns = new ArrayDeque<>();
+    private int totalTokens;
+
+    public ConversationWindow(int retainedTokens) {
+        this.retainedTokens = retainedTokens;
+    }
+
+    public synchronized void append(ObjectId messageId, Role role, String content) {
+        // 뒤에서부터 messageId 보다 큰 메시지를 잠시 빼 두고 그 앞에 넣는다 (보통은 바로 맨 뒤)
+        ArrayDeque<Turn> newer = null;
+        while (!turns.isEmpty() && messageId.compareTo(turns.getLast().messageId()) <= 0) {
+            if (messageId.equals(turns.getLast().messageId())) {
+                if (newer != null) restore(newer);
+                return;
+            }
+            if (newer == null) newer = new ArrayDeque<>();
+            newer.push(turns.removeLast());
+        }
+        Turn turn = new Turn(messageId, role, content, TokenEstimator.estimateMessage(content));
+        turns.addLast(turn);
+        totalTokens += turn.tokens();
+        if (newer != null) restore(newer);
+
+        // 최신 메시지 1건은 예산을 넘어도 남긴다
+        while (totalTokens > retainedTokens && turns.size() > 1) {
+            totalTokens -= turns.removeFirst().tokens();
+        }
+    }
+
+    private void restore(ArrayDeque<Turn> newer) {
+        while (!newer.isEmpty()) turns.addLast(newer.pop());
+    }
+
+    /** 최신 메시지부터 budget 토큰 안에 드는 만큼 (시간순) */
+    public synchronized List<Turn> latest(int budget) {
+        List<Turn> selected = new ArrayList<>();
+        int used = 0;
+        for (Iterator<Turn> it = turns.descendingIterator(); it.hasNext(); ) {
+            Turn turn = it.next();
+            if (used + turn.tokens() > budget) break;
+            used += turn.tokens();
+            selected.add(turn);
+        }
+        Collections.reverse(selected);
+        return selected;
+    }
+
+    public synchronized int totalTokens() {
+        return totalTokens;
+    }
+
+    public synchronized int size() {
+        return turns.size();
+    }
+}
@@ -34,4 +34,12 @@ public class MessageDocument extends BaseDocument {
                 .role(role)
                 .build();
     }
+
+    public static MessageDocument of(String content, ObjectId roomId, Role role) {
+        return MessageDocument.builder()
+                .roomId(roomId)
+                .content(content)
+                .role(role)
+                .build();
+    }
 }
@@ -3,7 +3,6 @@ package mago.study.domain.message.dto.res;
 import lombok.Builder;
 import mago.study.domain.message.domain.MessageDocument;
 import mago.study.domain.user.domain.Role;
-import org.bson.types.ObjectId;
 
 import java.time.LocalDateTime;
 
@@ -23,14 +22,4 @@ public record MessageGetDto(
                 .createdAt(message.getCreateAt())
                 .build();
     }
-
-    // TODO RAG 연동 후 삭제
-    public static MessageGetDto mock() {
-        return MessageGetDto.builder()
-                .messageId(new ObjectId().toHexString())
-                .role(Role.ASSISTANT)
-                .content("mock")
-                .createdAt(LocalDateTime.now())
-                .build();
-    }
 }
@@ -0,0 +1,46 @@
+package mago.study.domain.pdf.api;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.util.List;
+
+/**
+ * 단일 바이트 범위 요청 [start, end] (양 끝 포함).
+ */
+record ByteRange(long start, long end) {
+
+    /** 형식 오류이거나 길이를 벗어난 범위 (416) */
+    static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    /**
+     * Range 헤더 해석. 헤더가 없거나 다중 범위이면 null (전체 전송).
+     */
+    static ByteRange parse(HttpHeaders headers, long length) {
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            return UNSATISFIABLE;
+        }
+        if (ranges.size() != 1) {
+            return null;
+        }
+
+        try {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+            return start < length && start <= end ? new ByteRange(start, end) : UNSATISFIABLE;
+        } catch (IllegalArgumentException e) {
+            return UNSATISFIABLE;
+        }
+    }
+
+    long count() {
+        return end - start + 1;
+    }
+
+    String contentRange(long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+}
@@ -1,22 +1,41 @@
 package mago.study.domain.pdf.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.application.PdfBatchService;
+import mago.study.domain.pdf.application.PdfChunkMigrationService;
+import mago.study.domain.pdf.application.PdfJob;
+import mago.study.domain.pdf.application.PdfDownloadService;
+import mago.study.domain.pdf.application.PdfJobService;
 import mago.study.domain.pdf.application.PdfProcessingService;
+import mago.study.domain.pdf.application.PdfSearchService;
+import mago.study.domain.pdf.dao.PdfTextStore;
 import mago.study.domain.pdf.domain.PdfDocument;
+import mago.study.domain.pdf.dto.PdfBatchRequest;
+import mago.study.domain.pdf.dto.PdfBatchResult;
+import mago.study.domain.pdf.dto.PdfChunkMigrationResponse;
 import mago.study.domain.pdf.dto.PdfChunkResponse;
+import mago.study.domain.pdf.dto.PdfChunkSlice;
+import mago.study.domain.pdf.dto.PdfChunkStorageResponse;
+import mago.study.domain.pdf.dto.PdfDocumentSlice;
+import mago.study.domain.pdf.dto.PdfJobResponse;
 import mago.study.domain.pdf.dto.PdfProcessResponse;
 import mago.study.domain.pdf.dto.PdfSearchRequest;
+import mago.study.domain.pdf.dto.PdfSearchSlice;
+import mago.study.global.util.NdjsonBody;
 import org.bson.types.ObjectId;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,19 +45,52 @@ import java.util.Optional;
 @Slf4j
 public class PdfController {
     
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
     private final PdfProcessingService pdfProcessingService;
+    private final PdfSearchService pdfSearchService;
+    private final PdfJobService pdfJobService;
+    private final PdfDownloadService pdfDownloadService;
+    private final PdfChunkMigrationService pdfChunkMigrationService;
+    private final PdfBatchService pdfBatchService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping("/process")
-    public ResponseEntity<PdfProcessResponse> processPdf() {
+    public ResponseEntity<PdfJobResponse> processPdf() {
         // 절대 경로로 직접 접근
         String filePath = "/Users/mago/IdeaProjects/study/src/main/resources/data/978-0-387-69200-5.pdf";
         
-        log.info("PDF 파일 처리 시작: {}", filePath);
+        log.info("PDF 파일 처리 요청: {}", filePath);
         
-        PdfDocument document = pdfProcessingService.processPdfFile(filePath);
-        PdfProcessResponse response = PdfProcessResponse.from(document);
+        // 처리는 작업 큐에서 비동기로 진행, 진행률은 /jobs/{jobId} 로 조회
+        PdfJob job = pdfJobService.submit(filePath);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/pdf/jobs/" + job.getId()))
+                .body(PdfJobResponse.from(job));
+    }
+    
+    @GetMapping("/jobs")
+    public ResponseEntity<List<PdfJobResponse>> getPdfJobs() {
+        List<PdfJobResponse> responses = pdfJobService.getJobs().stream()
+                .map(PdfJobResponse::from)
+                .toList();
+        
+        return ResponseEntity.ok(responses);
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<PdfJobResponse> getPdfJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(PdfJobResponse.from(pdfJobService.getJob(jobId)));
+    }
+    
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<PdfJobResponse> cancelPdfJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(PdfJobResponse.from(pdfJobService.cancel(jobId)));
     }
     
     @GetMapping("/{documentId}")
@@ -64,6 +116,21 @@ public class PdfController {
         return ResponseEntity.ok(responses);
     }
     
+    @GetMapping(produces = NdjsonBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPdfDocuments() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonBody.MEDIA_TYPE)
+                .body(NdjsonBody.of(objectMapper, pdfProcessingService::streamDocuments));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<PdfDocumentSlice> getPdfDocuments(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(pdfProcessingService.findDocuments(before, limit));
+    }
+    
     @GetMapping("/{documentId}/chunks")
     public ResponseEntity<List<PdfChunkResponse>> getPdfChunks(@PathVariable String documentId) {
         List<PdfChunkResponse> responses = pdfProcessingService.findChunksByDocumentId(new ObjectId(documentId))
@@ -74,16 +141,88 @@ public class PdfController {
         return ResponseEntity.ok(responses);
     }
     
-    @PostMapping("/search")
-    public ResponseEntity<List<PdfChunkResponse>> searchPdfChunks(@RequestBody PdfSearchRequest request) {
-        log.info("PDF 텍스트 검색: {}", request.searchText());
+    @GetMapping(value = "/{documentId}/chunks", produces = NdjsonBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPdfChunks(@PathVariable String documentId) {
+        ObjectId id = new ObjectId(documentId);
+        return ResponseEntity.ok()
+                .contentType(NdjsonBody.MEDIA_TYPE)
+                .body(NdjsonBody.<PdfChunkResponse>of(objectMapper, sink -> pdfProcessingService.streamChunks(id, sink)));
+    }
+    
+    @GetMapping("/{documentId}/chunks/page")
+    public ResponseEntity<PdfChunkSlice> getPdfChunkPage(
+            @PathVariable String documentId,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(pdfProcessingService.findChunks(new ObjectId(documentId), after, limit));
+    }
+    
+    /**
+     * 추출 텍스트 전문 (text/plain, UTF-8). 단일 Range 요청은 206 으로 해당 바이트만 보낸다.
+     * 다중 범위 요청은 무시하고 전체를 보낸다.
+     */
+    @GetMapping("/{documentId}/text")
+    public ResponseEntity<StreamingResponseBody> getPdfText(@PathVariable String documentId,
+                                                            @RequestHeader HttpHeaders headers) {
+        PdfTextStore.TextInfo text = pdfProcessingService.findFullText(new ObjectId(documentId));
+        long length = text.length();
+        MediaType textPlain = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
         
-        List<PdfChunkResponse> responses = pdfProcessingService.searchInChunks(request.searchText())
-                .stream()
-                .map(PdfChunkResponse::from)
-                .toList();
+        ByteRange range = ByteRange.parse(headers, length);
+        if (range == ByteRange.UNSATISFIABLE) {
+            return rangeNotSatisfiable(length);
+        }
+        if (range != null) {
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .contentType(textPlain)
+                    .contentLength(range.count())
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_RANGE, range.contentRange(length))
+                    .body(out -> pdfProcessingService.copyFullText(text, range.start(), range.count(), out));
+        }
         
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .contentType(textPlain)
+                .contentLength(length)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(out -> pdfProcessingService.copyFullText(text, 0, length, out));
+    }
+    
+    private static ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(long length) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                .build();
+    }
+    
+    @PostMapping("/search")
+    public ResponseEntity<PdfSearchSlice> searchPdfChunks(@RequestBody PdfSearchRequest request) {
+        log.info("PDF 텍스트 검색: {} (document={}, page={}, limit={})",
+                request.searchText(), request.documentId(), request.page(), request.limit());
+        
+        return ResponseEntity.ok(pdfSearchService.search(request));
+    }
+    
+    /** 청크 저장 방식(single/bucketed)별 컬렉션 크기 */
+    @GetMapping("/chunk-storage")
+    public ResponseEntity<PdfChunkStorageResponse> getChunkStorage() {
+        return ResponseEntity.ok(pdfChunkMigrationService.stats());
+    }
+    
+    /** 현재 설정이 아닌 저장 방식에 남은 청크를 현재 저장 방식으로 옮긴다 */
+    @PostMapping("/chunk-storage/migrate")
+    public ResponseEntity<PdfChunkMigrationResponse> migrateChunkStorage() {
+        return ResponseEntity.ok(pdfChunkMigrationService.migrate());
+    }
+    
+    /**
+     * 디렉터리 또는 manifest 의 PDF 를 일괄 처리하고 파일별 결과를 돌려준다 (완료까지 대기).
+     * 파일마다 처리 작업으로 등록되므로 진행 중에도 /jobs 로 조회/취소할 수 있다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<PdfBatchResult> processPdfBatch(@RequestBody PdfBatchRequest request) {
+        log.info("PDF 일괄 처리 요청: directory={}, manifest={}", request.directory(), request.manifest());
+        return ResponseEntity.ok(pdfBatchService.ingest(request));
     }
 
     
@@ -105,25 +244,55 @@ public class PdfController {
         return ResponseEntity.ok(responses);
     }
     
+    /**
+     * 원본 PDF 다운로드.
+     * - ETag(내용 해시) / If-None-Match → 304, If-Range 가 다르면 전체 전송
+     * - 단일 Range → 206
+     * - 로컬 파일은 Tomcat sendfile 로 보내고, 지원하지 않으면 FileChannel.transferTo 로 스트리밍
+     */
     @GetMapping("/download/{documentId}")
-    public ResponseEntity<Resource> downloadPdf(@PathVariable String documentId) throws Exception {
-        Optional<PdfDocument> document = pdfProcessingService.findById(new ObjectId(documentId));
+    public ResponseEntity<StreamingResponseBody> downloadPdf(@PathVariable String documentId,
+                                                             @RequestHeader HttpHeaders headers,
+                                                             HttpServletRequest request) {
+        PdfDownloadService.Download download = pdfDownloadService.open(new ObjectId(documentId));
+        long length = download.length();
+        String etag = download.etag();
         
-        if (document.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        if (etag != null && (headers.getIfNoneMatch().contains(etag) || headers.getIfNoneMatch().contains("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        
+        // If-Range 가 현재 ETag 와 다르면 범위 요청을 무시
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        ByteRange range = ifRange == null || ifRange.equals(etag) ? ByteRange.parse(headers, length) : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            return rangeNotSatisfiable(length);
         }
         
-        Path filePath = Paths.get(document.get().getFilePath());
-        Resource resource = new UrlResource(filePath.toUri());
+        long start = range != null ? range.start() : 0;
+        long count = range != null ? range.count() : length;
         
-        if (resource.exists() && resource.isReadable()) {
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "attachment; filename=\"" + document.get().getFileName() + "\"")
-                    .body(resource);
-        } else {
-            return ResponseEntity.notFound().build();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(count)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(download.fileName(), StandardCharsets.UTF_8).build().toString());
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        if (range != null) {
+            builder.header(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
         }
+        
+        if (download.localPath() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문 없이 반환하면 Tomcat 이 커넥터에서 파일을 직접 전송 (end 는 미포함)
+            request.setAttribute(SENDFILE_FILENAME, download.localPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return builder.build();
+        }
+        
+        return builder.body(out -> pdfDownloadService.copy(download, start, count, out));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package mago.study.domain.pdf.application;
+
+import org.bson.types.ObjectId;
+
+/**
+ * PDF 처리 진행 상황 수신 / 협조적 취소 확인.
+ * 처리 스레드에서 호출되며, 취소는 페이지 구간 사이에서 확인한다.
+ */
+public interface IngestProgress {
+
+    IngestProgress NONE = new IngestProgress() {};
+
+    /** 처리 대상 문서와 처리할 페이지 수 */
+    default void started(ObjectId documentId, int totalPages) {}
+
+    /** 지금까지 처리한 페이지 수 */
+    default void pagesDone(int pages) {}
+
+    /** 새로 저장한 청크 수 */
+    default void chunksSaved(int count) {}
+
+    /** true 이면 다음 확인 지점에서 처리를 중단한다 */
+    default boolean cancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,313 @@
+package mago.study.domain.pdf.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.dto.PdfBatchFileResult;
+import mago.study.domain.pdf.dto.PdfBatchRequest;
+import mago.study.domain.pdf.dto.PdfBatchResult;
+import mago.study.global.exception.custom.BusinessException;
+import mago.study.global.exception.enums.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * PDF 일괄 처리 (디렉터리 또는 manifest).
+ * - 파일을 크기순으로 정렬한 뒤 큰 파일/작은 파일을 번갈아 배치하고, ForkJoinPool 에서 구간을 반씩 나눠 실행 (놀고 있는 워커가 남은 구간을 훔쳐 감)
+ * - 파일마다 추정 메모리(파일 크기 × memory-factor)만큼 예산을 잡고 처리한다. 예산이 모자라면 그 워커만 기다리고,
+ *   기다리는 동안 풀이 보조 워커로 작은 파일을 계속 처리한다 (ManagedBlocker). 보조 워커는 최대 parallelism 개
+ * - 파일마다 PdfJobService 에 작업을 등록(claim)하고 이 풀에서 실행한다. 작업 조회/취소 API 를 그대로 쓰고,
+ *   같은 파일의 작업이 이미 대기/실행 중이면 그 파일은 건너뛴다
+ * - 파일별 처리 결과/시간을 모아 보고한다. 한 번에 하나의 일괄 처리만 실행한다 (요청 스레드에서 완료까지 대기).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfBatchService {
+
+    private static final long MB = 1024 * 1024;
+    // ForkJoinPool 최대 스레드 수 (보조 워커 포함)
+    private static final int MAX_POOL_SIZE = 0x7fff;
+
+    private final PdfJobService pdfJobService;
+
+    // 동시에 처리하는 파일 수 (0: CPU 코어 수)
+    @Value("${pdf.batch.parallelism:0}")
+    private int defaultParallelism;
+
+    // 요청의 parallelism 상한
+    @Value("${pdf.batch.max-parallelism:16}")
+    private int maxParallelism;
+
+    // 동시에 로드하는 PDF 추정 메모리 합 상한
+    @Value("${pdf.batch.memory-budget-mb:512}")
+    private int memoryBudgetMb;
+
+    // PDF 로드 시 파일 크기 대비 메모리 사용 배수 (추정치)
+    @Value("${pdf.batch.memory-factor:3}")
+    private double memoryFactor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PdfBatchResult ingest(PdfBatchRequest request) {
+        List<BatchFile> files = schedule(collect(request));
+
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.PDF_BATCH_RUNNING);
+        }
+        PdfJob[] jobs = new PdfJob[files.size()];
+        try {
+            int parallelism = parallelism(request);
+            int budget = Math.max(1, memoryBudgetMb);
+            log.info("PDF 일괄 처리 시작: {}개 파일, 동시 {}개, 메모리 예산 {}MB", files.size(), parallelism, budget);
+
+            for (int i = 0; i < files.size(); i++) {
+                jobs[i] = pdfJobService.claim(files.get(i).path().toString());
+            }
+
+            long start = System.nanoTime();
+            PdfBatchFileResult[] results = new PdfBatchFileResult[files.size()];
+            long steals = 0;
+            if (!files.isEmpty()) {
+                // 메모리를 기다리는 워커 대신 띄우는 보조 워커는 parallelism 개까지. 다 차면 보조 없이 기다린다
+                ForkJoinPool pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                        0, parallelism * 2, 1, p -> true, 60, TimeUnit.SECONDS);
+                try {
+                    pool.invoke(new IngestTask(files, jobs, 0, files.size(), results, new Semaphore(budget)));
+                    steals = pool.getStealCount();
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            PdfBatchResult result = PdfBatchResult.of(Arrays.asList(results), parallelism, budget, steals, elapsedMillis);
+            log.info("PDF 일괄 처리 완료: 완료 {}, 건너뜀 {}, 실패 {} ({}ms)",
+                    result.completed(), result.skipped(), result.failed(), elapsedMillis);
+            return result;
+        } finally {
+            // 실행되지 못한 작업이 같은 파일의 다음 등록을 막지 않도록 정리
+            for (PdfJob job : jobs) {
+                if (job != null && !job.isFinished()) job.markCancelled();
+            }
+            running.set(false);
+        }
+    }
+
+    /** 요청 값 > pdf.batch.parallelism > CPU 코어 수. max-parallelism 을 넘지 않는다 */
+    private int parallelism(PdfBatchRequest request) {
+        int requested = request.parallelism() != null && request.parallelism() > 0
+                ? request.parallelism()
+                : defaultParallelism > 0 ? defaultParallelism : Runtime.getRuntime().availableProcessors();
+        int max = Math.max(1, Math.min(maxParallelism, MAX_POOL_SIZE / 2));
+        if (requested > max) {
+            log.info("PDF 일괄 처리 동시 처리 수 {} → {} (pdf.batch.max-parallelism)", requested, max);
+        }
+        return Math.min(requested, max);
+    }
+
+    /* ========================= Collect / schedule ========================= */
+
+    private List<Path> collect(PdfBatchRequest request) {
+        boolean hasDirectory = request.directory() != null && !request.directory().isBlank();
+        boolean hasManifest = request.manifest() != null && !request.manifest().isBlank();
+        if (hasDirectory == hasManifest) {
+            throw new BusinessException(request, "directory", ErrorCode.BAD_REQUEST);
+        }
+
+        Set<Path> paths = new LinkedHashSet<>();
+        try {
+            if (hasDirectory) {
+                Path directory = Path.of(request.directory());
+                if (!Files.isDirectory(directory)) {
+                    throw new BusinessException(request.directory(), "directory", ErrorCode.PDF_FILE_NOT_FOUND);
+                }
+                int depth = Boolean.TRUE.equals(request.recursive()) ? Integer.MAX_VALUE : 1;
+                try (Stream<Path> walk = Files.walk(directory, depth)) {
+                    walk.filter(Files::isRegularFile)
+                            .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf"))
+                            .sorted()
+                            .forEach(path -> paths.add(path.toAbsolutePath().normalize()));
+                }
+            } else {
+                Path manifest = Path.of(request.manifest());
+                if (!Files.isRegularFile(manifest)) {
+                    throw new BusinessException(request.manifest(), "manifest", ErrorCode.PDF_FILE_NOT_FOUND);
+                }
+                Path base = manifest.toAbsolutePath().getParent();
+                for (String line : Files.readAllLines(manifest)) {
+                    String entry = line.trim();
+                    if (entry.isEmpty() || entry.startsWith("#")) continue;
+                    paths.add(base.resolve(entry).toAbsolutePath().normalize());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("PDF 목록 읽기 실패", e);
+        }
+        return new ArrayList<>(paths);
+    }
+
+    /** 큰 파일과 작은 파일을 번갈아 배치: [가장 큰, 가장 작은, 두 번째로 큰, 두 번째로 작은, ...] */
+    private List<BatchFile> schedule(List<Path> paths) {
+        List<BatchFile> bySize = paths.stream()
+                .map(path -> new BatchFile(path, sizeOf(path)))
+                .sorted(Comparator.comparingLong(BatchFile::sizeBytes).reversed())
+                .toList();
+
+        List<BatchFile> interleaved = new ArrayList<>(bySize.size());
+        int large = 0;
+        int small = bySize.size() - 1;
+        while (large <= small) {
+            interleaved.add(bySize.get(large++));
+            if (large <= small) interleaved.add(bySize.get(small--));
+        }
+        return interleaved;
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            // 없는 파일은 처리 단계에서 실패로 기록
+            return 0L;
+        }
+    }
+
+    /** 추정 메모리 (MB 단위 permit, 예산을 넘지 않게) */
+    private int permitsFor(BatchFile file, int budget) {
+        long estimated = (long) Math.ceil(file.sizeBytes() * memoryFactor / MB);
+        return (int) Math.max(1, Math.min(budget, estimated));
+    }
+
+    /* ========================= Processing ========================= */
+
+    private PdfBatchFileResult process(BatchFile file, PdfJob job, Semaphore memory) {
+        String path = file.path().toString();
+        if (job == null) {
+            return PdfBatchFileResult.failed(path, null, file.sizeBytes(), PdfBatchFileResult.Status.SKIPPED, 0, 0,
+                    "같은 파일의 처리 작업이 이미 대기/실행 중입니다.");
+        }
+        if (job.cancelled()) {
+            pdfJobService.runClaimed(job);
+            return resultOf(file, job, 0, 0);
+        }
+
+        int permits = permitsFor(file, Math.max(1, memoryBudgetMb));
+
+        long waitStart = System.nanoTime();
+        MemoryReservation reservation = new MemoryReservation(memory, permits);
+        try {
+            ForkJoinPool.managedBlock(reservation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.markCancelled();
+            return PdfBatchFileResult.failed(path, job.getId(), file.sizeBytes(), PdfBatchFileResult.Status.CANCELLED,
+                    millisSince(waitStart), 0, "interrupted");
+        }
+        long waitMillis = millisSince(waitStart);
+
+        long start = System.nanoTime();
+        try {
+            pdfJobService.runClaimed(job);
+            return resultOf(file, job, waitMillis, millisSince(start));
+        } finally {
+            memory.release(permits);
+        }
+    }
+
+    private static PdfBatchFileResult resultOf(BatchFile file, PdfJob job, long waitMillis, long elapsedMillis) {
+        String path = file.path().toString();
+        return switch (job.getStatus()) {
+            // 이미 처리된 파일(같은 경로/내용)은 처리를 시작하지 않고 기존 문서로 완료된다
+            case COMPLETED -> PdfBatchFileResult.of(path, job.getId(), file.sizeBytes(),
+                    job.isIngestStarted() ? PdfBatchFileResult.Status.COMPLETED : PdfBatchFileResult.Status.SKIPPED,
+                    job.getDocumentId().toString(), job.getPagesDone(), job.getChunksSaved(), waitMillis, elapsedMillis);
+            case CANCELLED -> PdfBatchFileResult.failed(path, job.getId(), file.sizeBytes(), PdfBatchFileResult.Status.CANCELLED,
+                    waitMillis, elapsedMillis, "cancelled");
+            default -> PdfBatchFileResult.failed(path, job.getId(), file.sizeBytes(), PdfBatchFileResult.Status.FAILED,
+                    waitMillis, elapsedMillis, job.getErrorMessage());
+        };
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private record BatchFile(Path path, long sizeBytes) {}
+
+    /** 파일 구간 [from, to) 처리. 1개가 될 때까지 반으로 나누고, 나머지 반은 다른 워커가 훔쳐 갈 수 있다 */
+    private final class IngestTask extends RecursiveAction {
+        private final List<BatchFile> files;
+        private final PdfJob[] jobs;
+        private final int from;
+        private final int to;
+        private final PdfBatchFileResult[] results;
+        private final Semaphore memory;
+
+        private IngestTask(List<BatchFile> files, PdfJob[] jobs, int from, int to, PdfBatchFileResult[] results, Semaphore memory) {
+            this.files = files;
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.memory = memory;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = process(files.get(from), jobs[from], memory);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new IngestTask(files, jobs, from, mid, results, memory),
+                    new IngestTask(files, jobs, mid, to, results, memory));
+        }
+    }
+
+    /**
+     * 메모리 예산 확보. 바로 얻지 못하면 풀이 보조 워커를 띄울 수 있도록 managedBlock 으로 기다린다.
+     * 보조 워커도 다음 파일의 예산을 기다릴 수 있으므로 풀 최대 크기(parallelism × 2)로 스레드 수를 묶는다.
+     */
+    private static final class MemoryReservation implements ForkJoinPool.ManagedBlocker {
+        private final Semaphore memory;
+        private final int permits;
+        private boolean acquired;
+
+        private MemoryReservation(Semaphore memory, int permits) {
+            this.memory = memory;
+            this.permits = permits;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!acquired) {
+                memory.acquire(permits);
+                acquired = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return acquired || (acquired = memory.tryAcquire(permits));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package mago.study.domain.pdf.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.dao.PdfChunkRepositoryCustom.Storage;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.pdf.domain.PdfChunkBucket;
+import mago.study.domain.pdf.dto.PdfChunkMigrationResponse;
+import mago.study.domain.pdf.dto.PdfChunkStorageResponse;
+import mago.study.global.exception.custom.BusinessException;
+import mago.study.global.exception.enums.ErrorCode;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 청크 저장 방식 변환 (pdf_chunks <-> pdf_chunk_buckets).
+ * 현재 설정(pdf.chunk.storage)이 아닌 쪽에 남은 청크를 문서 단위로 옮긴다. 청크 id 는 그대로라 벡터 인덱스는 다시 만들 필요가 없다.
+ * 문서 하나를 옮기는 동안 그 문서의 청크 조회는 일부만 보일 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfChunkMigrationService {
+
+    private final PdfChunkRepository pdfChunkRepository;
+    private final MongoTemplate mongoTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PdfChunkMigrationResponse migrate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.PDF_CHUNK_MIGRATION_RUNNING);
+        }
+        try {
+            long start = System.nanoTime();
+            Storage to = pdfChunkRepository.storage();
+            Storage from = to == Storage.SINGLE ? Storage.BUCKETED : Storage.SINGLE;
+
+            List<ObjectId> documentIds = pdfChunkRepository.findDocumentIds(from);
+            long chunks = 0;
+            for (ObjectId documentId : documentIds) {
+                int moved = pdfChunkRepository.moveDocument(documentId, from, to);
+                chunks += moved;
+                log.info("청크 저장 방식 변환: {} ({}건, {} -> {})", documentId, moved, name(from), name(to));
+            }
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("청크 저장 방식 변환 완료: 문서 {}개, 청크 {}건 ({}ms)", documentIds.size(), chunks, elapsedMillis);
+            return PdfChunkMigrationResponse.of(name(from), name(to), documentIds.size(), chunks, elapsedMillis);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** 두 저장 방식의 컬렉션 크기 (문서 수, 데이터/인덱스 바이트) */
+    public PdfChunkStorageResponse stats() {
+        return PdfChunkStorageResponse.of(
+                name(pdfChunkRepository.storage()),
+                collectionStats(mongoTemplate.getCollectionName(PdfChunk.class)),
+                collectionStats(mongoTemplate.getCollectionName(PdfChunkBucket.class))
+        );
+    }
+
+    private PdfChunkStorageResponse.CollectionStats collectionStats(String collection) {
+        if (!mongoTemplate.collectionExists(collection)) {
+            return PdfChunkStorageResponse.CollectionStats.from(collection, new Document());
+        }
+        return PdfChunkStorageResponse.CollectionStats.from(collection, mongoTemplate.executeCommand(new Document("collStats", collection)));
+    }
+
+    private static String name(Storage storage) {
+        return storage.name().toLowerCase(Locale.ROOT);
+    }
+}
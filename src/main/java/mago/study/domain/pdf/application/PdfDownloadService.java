@@ -0,0 +1,101 @@
+package mago.study.domain.pdf.application;
+
+import lombok.RequiredArgsConstructor;
+import mago.study.domain.pdf.dao.PdfDocumentRepository;
+import mago.study.domain.pdf.dao.PdfOriginalStore;
+import mago.study.domain.pdf.domain.PdfDocument;
+import mago.study.global.exception.custom.BusinessException;
+import mago.study.global.exception.enums.ErrorCode;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 원본 PDF 다운로드 소스 결정과 바이트 구간 복사.
+ * 로컬 파일이 있으면 FileChannel.transferTo 로, 없으면 GridFS 사본에서 보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PdfDownloadService {
+
+    private final PdfDocumentRepository pdfDocumentRepository;
+    private final PdfOriginalStore pdfOriginalStore;
+
+    /**
+     * 다운로드 대상. localPath 와 originalGridFsId 중 하나만 값이 있다.
+     * etag 는 내용 해시 기반 strong ETag. 보내는 바이트가 해시를 계산한 내용과 같다고 볼 수 있을 때만 붙인다 (아니면 null).
+     */
+    public record Download(String fileName, long length, String etag, Path localPath, String originalGridFsId) {
+    }
+
+    /**
+     * 로컬 파일의 크기/수정 시각이 처리 당시와 같으면 로컬 파일을 보낸다.
+     * 처리 뒤에 바뀐 파일이면 GridFS 사본(처리 당시 내용)을 보내고, 사본이 없으면 ETag 없이 현재 파일을 보낸다.
+     */
+    public Download open(ObjectId documentId) {
+        PdfDocument document = pdfDocumentRepository.findById(documentId)
+                .orElseThrow(() -> new BusinessException(documentId, "documentId", ErrorCode.PDF_DOCUMENT_NOT_FOUND));
+
+        String etag = document.getContentHash() != null ? "\"" + document.getContentHash() + "\"" : null;
+
+        Download local = null;
+        Path path = document.getFilePath() != null ? Path.of(document.getFilePath()) : null;
+        if (path != null && Files.isRegularFile(path) && Files.isReadable(path)) {
+            try {
+                long size = Files.size(path);
+                if (isIngestedContent(document, size, Files.getLastModifiedTime(path).toMillis())) {
+                    return new Download(document.getFileName(), size, etag, path, null);
+                }
+                local = new Download(document.getFileName(), size, null, path, null);
+            } catch (IOException e) {
+                // 크기를 못 읽으면 GridFS 사본으로 넘어간다
+            }
+        }
+
+        if (document.getOriginalGridFsId() != null) {
+            return new Download(document.getFileName(), document.getFileSize(), etag, null, document.getOriginalGridFsId());
+        }
+        if (local != null) {
+            return local;
+        }
+        throw new BusinessException(document.getFilePath(), "filePath", ErrorCode.PDF_FILE_NOT_FOUND);
+    }
+
+    /** 수정 시각을 기록하기 전에 처리한 문서는 확인할 수 없으므로 바뀐 것으로 본다 */
+    private static boolean isIngestedContent(PdfDocument document, long size, long modifiedAt) {
+        return document.getFileSize() != null && document.getFileSize() == size
+                && document.getFileModifiedAt() != null && document.getFileModifiedAt() == modifiedAt;
+    }
+
+    /**
+     * [start, start + count) 바이트를 out 으로 복사한다.
+     * out 은 소켓 채널이 아닌 OutputStream 이라 transferTo 도 zero-copy 가 아니다 (JDK 가 힙 버퍼로 읽어서 쓴다).
+     * 파일 전체를 메모리에 올리지 않고 구간만 흘려 보내는 용도이며, zero-copy 전송은 컨트롤러의 Tomcat sendfile 경로가 맡는다.
+     */
+    public void copy(Download download, long start, long count, OutputStream out) throws IOException {
+        if (download.localPath() == null) {
+            pdfOriginalStore.copyRange(download.originalGridFsId(), start, count, out);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(download.localPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package mago.study.domain.pdf.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 인제스트 메트릭 (/actuator/prometheus).
+ * - pdf.ingest.pages / pdf.ingest.chunks: 처리 페이지/저장 청크 수 (초당 처리량은 rate() 로 본다)
+ * - pdf.ingest.extract: 페이지 구간 텍스트 추출 시간
+ * - pdf.ingest.chunk.save: 청크 저장(정제/임베딩 제외, DB 쓰기) 시간
+ * - pdf.ingest.document: 문서 1개 처리 시간 (outcome 태그)
+ * 미터는 기동 시 한 번 만들어 두고, 처리 경로에서는 nanoTime 차이만 기록한다 (태그 조회/Sample 객체 생성 없음).
+ */
+@Component
+public class PdfIngestMetrics {
+
+    public enum Outcome { COMPLETED, SKIPPED, CANCELLED, FAILED }
+
+    private final Counter pages;
+    private final Counter chunks;
+    private final Timer extract;
+    private final Timer chunkSave;
+    private final Map<Outcome, Timer> documents = new EnumMap<>(Outcome.class);
+
+    public PdfIngestMetrics(MeterRegistry registry) {
+        this.pages = Counter.builder("pdf.ingest.pages")
+                .description("처리한 PDF 페이지 수")
+                .register(registry);
+        this.chunks = Counter.builder("pdf.ingest.chunks")
+                .description("저장한 PDF 청크 수")
+                .register(registry);
+        this.extract = Timer.builder("pdf.ingest.extract")
+                .description("페이지 구간 텍스트 추출 시간")
+                .register(registry);
+        this.chunkSave = Timer.builder("pdf.ingest.chunk.save")
+                .description("청크 저장 시간")
+                .register(registry);
+        for (Outcome outcome : Outcome.values()) {
+            documents.put(outcome, Timer.builder("pdf.ingest.document")
+                    .description("PDF 문서 처리 시간")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    public void pages(int count) {
+        pages.increment(count);
+    }
+
+    public void extracted(long nanos) {
+        extract.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void chunksSaved(int count, long nanos) {
+        chunks.increment(count);
+        chunkSave.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void document(Outcome outcome, long nanos) {
+        documents.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
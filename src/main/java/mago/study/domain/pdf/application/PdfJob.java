@@ -0,0 +1,130 @@
+package mago.study.domain.pdf.application;
+
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PDF 처리 작업 1건의 상태와 진행률 (메모리에만 보관).
+ * 처리 스레드가 {@link IngestProgress} 로 갱신하고 API 스레드가 읽는다.
+ */
+public class PdfJob implements IngestProgress {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String id;
+    private final String filePath;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile ObjectId documentId;
+    private volatile int totalPages;
+    private final AtomicInteger pagesDone = new AtomicInteger();
+    private final AtomicInteger chunksSaved = new AtomicInteger();
+    private volatile String errorMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    // 처리를 시작했는지 (이미 처리된 파일이면 시작하지 않고 기존 문서로 완료된다)
+    private volatile boolean ingestStarted;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    PdfJob(String id, String filePath) {
+        this.id = id;
+        this.filePath = filePath;
+    }
+
+    /* ========================= IngestProgress ========================= */
+
+    @Override
+    public void started(ObjectId documentId, int totalPages) {
+        this.documentId = documentId;
+        this.totalPages = totalPages;
+        this.ingestStarted = true;
+    }
+
+    @Override
+    public void pagesDone(int pages) {
+        pagesDone.set(pages);
+    }
+
+    @Override
+    public void chunksSaved(int count) {
+        chunksSaved.addAndGet(count);
+    }
+
+    @Override
+    public boolean cancelled() {
+        return cancelRequested;
+    }
+
+    /* ========================= 상태 전이 ========================= */
+
+    void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    void running() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void completed(ObjectId documentId) {
+        this.documentId = documentId;
+        finish(Status.COMPLETED, null);
+    }
+
+    void failed(String errorMessage) {
+        finish(Status.FAILED, errorMessage);
+    }
+
+    void markCancelled() {
+        finish(Status.CANCELLED, null);
+    }
+
+    /** 취소 요청. 대기 중이면 바로 취소되고, 실행 중이면 다음 페이지 구간에서 멈춘다 */
+    void requestCancel() {
+        cancelRequested = true;
+        Future<?> f = future;
+        if (status == Status.QUEUED && f != null && f.cancel(false)) {
+            markCancelled();
+        }
+    }
+
+    boolean isIngestStarted() {
+        return ingestStarted;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    private void finish(Status status, String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+
+    /* ========================= Getters ========================= */
+
+    public String getId() { return id; }
+    public String getFilePath() { return filePath; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public Status getStatus() { return status; }
+    public ObjectId getDocumentId() { return documentId; }
+    public int getTotalPages() { return totalPages; }
+    public int getPagesDone() { return pagesDone.get(); }
+    public int getChunksSaved() { return chunksSaved.get(); }
+    public String getErrorMessage() { return errorMessage; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
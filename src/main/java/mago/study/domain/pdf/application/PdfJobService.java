@@ -0,0 +1,196 @@
+package mago.study.domain.pdf.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.dao.PdfDocumentRepository;
+import mago.study.domain.pdf.domain.PdfDocument;
+import mago.study.global.exception.custom.BusinessException;
+import mago.study.global.exception.enums.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 처리 작업 큐.
+ * - 요청 스레드는 작업을 등록만 하고 바로 반환, 처리는 고정 크기 워커 풀에서 수행 (동시 처리 수 = workers)
+ * - 대기열은 bounded 이며 가득 차면 PDF_JOB_QUEUE_FULL(503)
+ * - 같은 파일의 작업이 대기/실행 중이면 새로 만들지 않고 그 작업을 반환 (일괄 처리가 claim 한 작업 포함)
+ * - 재시작 시 PROCESSING 상태로 남은 문서를 다시 등록 (단일 인스턴스 기준).
+ *   처리 중 예외로 끝난 문서는 FAILED 로 남으므로 다시 등록하지 않는다 (종료로 끊긴 문서만 PROCESSING)
+ * - 가상 스레드 모드에서는 워커를 가상 스레드로 만들되, 동시 처리 수 제한은 그대로 둔다
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfJobService {
+
+    private final PdfProcessingService pdfProcessingService;
+    private final PdfDocumentRepository pdfDocumentRepository;
+
+    @Value("${pdf.job.workers:2}")
+    private int workers;
+
+    @Value("${pdf.job.queue-capacity:8}")
+    private int queueCapacity;
+
+    // 끝난 작업을 조회용으로 남겨 둘 최대 개수
+    @Value("${pdf.job.retained-jobs:100}")
+    private int retainedJobs;
+
+    @Value("${pdf.job.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, PdfJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int size = Math.max(1, workers);
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("pdf-job-", 0).factory()
+                : Thread.ofPlatform().name("pdf-job-", 0).factory();
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 실행 중이던 문서는 PROCESSING 으로 남아 다음 기동 때 다시 등록된다
+        executor.shutdownNow();
+    }
+
+    public synchronized PdfJob submit(String filePath) {
+        PdfJob active = findActive(filePath);
+        if (active != null) {
+            return active;
+        }
+
+        PdfJob job = new PdfJob(UUID.randomUUID().toString(), filePath);
+        try {
+            job.attach(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException(filePath, "filePath", ErrorCode.PDF_JOB_QUEUE_FULL);
+        }
+        jobs.put(job.getId(), job);
+        evictFinished();
+
+        log.info("PDF 처리 작업 등록: {} ({})", job.getId(), filePath);
+        return job;
+    }
+
+    /**
+     * 워커 풀 대신 호출 측(일괄 처리)이 직접 실행할 작업 등록.
+     * 작업 조회/취소와 같은 파일 중복 확인은 submit 한 작업과 똑같이 적용되고, 같은 파일의 작업이 대기/실행 중이면 null.
+     * 받은 작업은 {@link #runClaimed(PdfJob)} 로 실행한다.
+     */
+    public synchronized PdfJob claim(String filePath) {
+        if (findActive(filePath) != null) {
+            return null;
+        }
+        PdfJob job = new PdfJob(UUID.randomUUID().toString(), filePath);
+        jobs.put(job.getId(), job);
+        evictFinished();
+        return job;
+    }
+
+    /** claim 한 작업을 호출 스레드에서 실행 (취소 요청된 작업은 바로 CANCELLED) */
+    public void runClaimed(PdfJob job) {
+        run(job);
+    }
+
+    public PdfJob getJob(String jobId) {
+        PdfJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException(jobId, "jobId", ErrorCode.PDF_JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    public List<PdfJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(PdfJob::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    public PdfJob cancel(String jobId) {
+        PdfJob job = getJob(jobId);
+        job.requestCancel();
+        // 취소된 대기 작업이 대기열 자리를 차지하지 않도록 정리
+        executor.purge();
+        log.info("PDF 처리 작업 취소 요청: {} ({})", jobId, job.getStatus());
+        return job;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        for (PdfDocument document : pdfDocumentRepository.findByProcessingStatus(PdfDocument.ProcessingStatus.PROCESSING)) {
+            try {
+                log.info("중단된 PDF 처리 재등록: {}", document.getFilePath());
+                submit(document.getFilePath());
+            } catch (BusinessException e) {
+                log.warn("중단된 PDF 처리 재등록 실패: {} ({})", document.getFilePath(), e.getMessage());
+            }
+        }
+    }
+
+    private void run(PdfJob job) {
+        if (job.cancelled()) {
+            job.markCancelled();
+            return;
+        }
+
+        job.running();
+        try {
+            PdfDocument document = pdfProcessingService.processPdfFile(job.getFilePath(), job);
+            job.completed(document.getId());
+            log.info("PDF 처리 작업 완료: {} ({} pages, {} chunks)", job.getId(), job.getPagesDone(), job.getChunksSaved());
+        } catch (CancellationException e) {
+            job.markCancelled();
+        } catch (RuntimeException e) {
+            log.warn("PDF 처리 작업 실패: {} ({})", job.getId(), job.getFilePath(), e);
+            job.failed(e.getMessage());
+        }
+    }
+
+    private PdfJob findActive(String filePath) {
+        for (PdfJob job : jobs.values()) {
+            if (!job.isFinished() && job.getFilePath().equals(filePath)) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    /** 끝난 작업이 retainedJobs 를 넘으면 오래된 것부터 제거 */
+    private void evictFinished() {
+        List<PdfJob> finished = jobs.values().stream()
+                .filter(PdfJob::isFinished)
+                .sorted(Comparator.comparing(PdfJob::getFinishedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
@@ -4,27 +4,46 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import mago.study.domain.pdf.dao.PdfChunkRepository;
 import mago.study.domain.pdf.dao.PdfDocumentRepository;
+import mago.study.domain.pdf.dao.PdfOriginalStore;
+import mago.study.domain.pdf.dao.PdfTextStore;
 import mago.study.domain.pdf.domain.PdfChunk;
 import mago.study.domain.pdf.domain.PdfDocument;
+import mago.study.domain.pdf.dto.PdfChunkResponse;
+import mago.study.domain.pdf.dto.PdfChunkSlice;
+import mago.study.domain.pdf.dto.PdfDocumentSlice;
+import mago.study.domain.pdf.dto.PdfProcessResponse;
+import mago.study.domain.rag.application.VectorIndexService;
 import mago.study.global.exception.custom.BusinessException;
 import mago.study.global.exception.enums.ErrorCode;
+import mago.study.domain.pdf.util.FormulaNormalizer;
+import mago.study.domain.pdf.util.ParallelPageExtractor;
 import mago.study.domain.pdf.util.PdfTextChunker;
+import mago.study.global.util.CompiledTextCleaner;
+import mago.study.global.util.ContentHash;
 import mago.study.global.util.TextCleaner;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.ClosedByInterruptException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,25 +53,54 @@ public class PdfProcessingService {
     private final PdfDocumentRepository pdfDocumentRepository;
     private final PdfChunkRepository pdfChunkRepository;
     private final PdfTextChunker textChunker;
-    private final GridFsTemplate gridFsTemplate;
+    private final PdfTextStore pdfTextStore;
+    private final PdfOriginalStore pdfOriginalStore;
     private final MongoTemplate mongoTemplate;
+    private final VectorIndexService vectorIndexService;
+    private final PdfIngestMetrics ingestMetrics;
     
     private static final long LARGE_FILE_THRESHOLD = 50 * 1024 * 1024; // 50MB
     private static final int MAX_CHUNK_SIZE = 4000;
     private static final int PDF_START_PAGE = 17;
     private static final int PDF_END_PAGE = 518;
-    private static final Pattern FORMULA_PATTERN = Pattern.compile(
-        "(?i)(\\b(?:equation|formula|theorem|proof|lemma|corollary)\\b|" +
-        "[∫∑∏∆∇∂√±×÷≤≥≠≈∞α-ωΑ-Ω]|" +
-        "\\$[^$]+\\$|\\\\[a-zA-Z]+\\{[^}]*\\}|" +
-        "\\b(?:sin|cos|tan|log|ln|exp|lim|∫|∑)\\b|" +
-        "(?:\\d+[\\s]*[+\\-×÷=]\\s*\\d+)|" +
-        "(?:[xy]\\s*[=<>]\\s*[\\d\\w\\s+\\-×÷\\(\\)]+))"
-    );
+    private static final CompiledTextCleaner CHUNK_CLEANER = TextCleaner.compile(false, false, false);
+    private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    // 스트리밍 모드: 페이지 구간 단위로 추출 → 청크 → 저장 (메모리 사용량이 구간 크기에 비례)
+    @Value("${pdf.ingest.streaming:true}")
+    private boolean streamingEnabled;
+
+    // 구간당 페이지 수 (0 이하이면 전체 페이지 수 기준 자동 계산)
+    @Value("${pdf.ingest.window-pages:0}")
+    private int windowPages;
+
+    // 스트리밍 모드의 페이지 구간 추출 스레드 수 (1 이하이면 순차 추출)
+    @Value("${pdf.ingest.extract-parallelism:1}")
+    private int extractParallelism;
+    
+    // 로컬 파일이 없어져도 내려받을 수 있도록 원본을 GridFS 에 함께 저장
+    @Value("${pdf.download.store-original:false}")
+    private boolean storeOriginal;
+    
+    // 목록 한 페이지 최대 건수
+    @Value("${api.page.max-limit:100}")
+    private int maxPageLimit;
     
     @Transactional
     public PdfDocument processPdfFile(String filePath) {
+        return processPdfFile(filePath, IngestProgress.NONE);
+    }
+    
+    /**
+     * PDF 처리. progress 로 진행 상황을 알리고, progress.cancelled() 이면 페이지 구간 사이에서 중단한다.
+     * 중단되면 문서 상태를 CANCELLED 로 남기고 {@link CancellationException} 을 던진다.
+     */
+    @Transactional
+    public PdfDocument processPdfFile(String filePath, IngestProgress progress) {
         log.info("PDF 파일 처리 시작: {}", filePath);
+        long start = System.nanoTime();
+        PdfIngestMetrics.Outcome outcome = PdfIngestMetrics.Outcome.FAILED;
         
         try {
             File file = new File(filePath);
@@ -63,13 +111,29 @@ public class PdfProcessingService {
             Optional<PdfDocument> existingDoc = pdfDocumentRepository.findByFilePath(filePath);
             if (existingDoc.isPresent() && existingDoc.get().getProcessingStatus() == PdfDocument.ProcessingStatus.COMPLETED) {
                 log.info("이미 처리된 PDF 파일입니다: {}", filePath);
+                outcome = PdfIngestMetrics.Outcome.SKIPPED;
                 return existingDoc.get();
             }
             
+            // 다른 경로로 이미 처리된 같은 파일이면 그 문서를 그대로 사용
+            long fileModifiedAt = file.lastModified();
+            String contentHash = ContentHash.sha256(file.toPath());
+            Optional<PdfDocument> sameContent = pdfDocumentRepository.findFirstByContentHashAndProcessingStatus(contentHash, PdfDocument.ProcessingStatus.COMPLETED);
+            if (sameContent.isPresent()) {
+                log.info("내용이 같은 PDF 가 이미 처리되었습니다: {} → {}", filePath, sameContent.get().getFilePath());
+                outcome = PdfIngestMetrics.Outcome.SKIPPED;
+                return sameContent.get();
+            }
+            
             long fileSize = file.length();
             boolean isLargeFile = fileSize > LARGE_FILE_THRESHOLD;
             
-            PdfDocument pdfDocument = createOrUpdatePdfDocument(file, fileSize, isLargeFile, existingDoc.orElse(null));
+            // 같은 파일의 이전 실행이 남긴 재개 지점 (전체 텍스트를 GridFS 에 저장하는 대용량 파일은 처음부터)
+            PdfDocument previous = existingDoc.orElse(null);
+            boolean sameFile = previous != null && contentHash.equals(previous.getContentHash());
+            boolean resume = streamingEnabled && !isLargeFile && sameFile && previous.hasCheckpoint();
+            
+            PdfDocument pdfDocument = createOrUpdatePdfDocument(file, fileSize, isLargeFile, previous);
             
             try (PDDocument document = PDDocument.load(file)) {
                 String title = extractTitle(document);
@@ -82,41 +146,119 @@ public class PdfProcessingService {
                         .pageCount(pageCount)
                         .fileSize(fileSize)
                         .filePath(filePath)
+                        .fileModifiedAt(fileModifiedAt)
                         .isLargeFile(isLargeFile)
+                        .contentHash(contentHash)
+                        // 내용이 바뀐 파일이면 이전 원본 사본은 쓰지 않는다 (새 사본 저장 후 삭제)
+                        .originalGridFsId(sameFile ? previous.getOriginalGridFsId() : null)
                         .processingStatus(PdfDocument.ProcessingStatus.PROCESSING)
+                        .resumePage(resume ? previous.getResumePage() : null)
+                        .chunkerState(resume ? previous.getChunkerState() : null)
                         .build();
                 
+                if (storeOriginal && pdfDocument.getOriginalGridFsId() == null) {
+                    pdfDocument.storeOriginal(pdfOriginalStore.store(file.toPath(), file.getName(), contentHash));
+                }
+                
                 pdfDocument = pdfDocumentRepository.save(pdfDocument);
+                if (!sameFile && previous != null && previous.getOriginalGridFsId() != null) {
+                    deleteOriginal(previous.getOriginalGridFsId());
+                }
                 
-                if (isLargeFile) {
-                    processLargeFile(document, pdfDocument);
+                if (resume) {
+                    // 재개 지점 이후 저장된 청크만 정리 (체크포인트 기록 전에 중단된 구간)
+                    log.info("PDF 처리 재개: {} ({}페이지, 청크 #{}부터)", filePath, pdfDocument.getResumePage(), pdfDocument.getChunkerState().nextIndex());
+                    pdfChunkRepository.deleteByPdfDocumentIdAndChunkIndexGreaterThanEqual(pdfDocument.getId(), pdfDocument.getChunkerState().nextIndex());
+                    vectorIndexService.reindexDocument(pdfDocument.getId());
+                } else if (previous != null) {
+                    // 이전 실패/중단 실행이 남긴 청크 정리 (청크 인덱스를 0부터 다시 매긴다)
+                    pdfChunkRepository.deleteByPdfDocumentId(pdfDocument.getId());
+                    vectorIndexService.removeDocument(pdfDocument.getId());
+                }
+                
+                progress.started(pdfDocument.getId(), Math.max(0, Math.min(PDF_END_PAGE, pageCount) - PDF_START_PAGE + 1));
+                
+                if (streamingEnabled) {
+                    processStreaming(document, pdfDocument, isLargeFile, progress);
+                } else if (isLargeFile) {
+                    processLargeFile(document, pdfDocument, progress);
                 } else {
-                    processRegularFile(document, pdfDocument);
+                    processRegularFile(document, pdfDocument, progress);
                 }
                 
                 pdfDocument.updateProcessingStatus(PdfDocument.ProcessingStatus.COMPLETED, null);
+                pdfDocument.clearCheckpoint();
                 pdfDocumentRepository.save(pdfDocument);
                 
                 log.info("PDF 파일 처리 완료: {} ({}페이지, {}MB)", 
                         file.getName(), pageCount, fileSize / (1024 * 1024));
                 
+                outcome = PdfIngestMetrics.Outcome.COMPLETED;
                 return pdfDocument;
                 
+            } catch (CancellationException e) {
+                log.info("PDF 처리 취소: {}", filePath);
+                outcome = PdfIngestMetrics.Outcome.CANCELLED;
+                pdfDocument.updateProcessingStatus(PdfDocument.ProcessingStatus.CANCELLED, null);
+                pdfDocumentRepository.save(pdfDocument);
+                throw e;
             } catch (IOException e) {
                 log.error("PDF 파싱 중 오류 발생: {}", filePath, e);
-                pdfDocument.updateProcessingStatus(PdfDocument.ProcessingStatus.FAILED, e.getMessage());
-                pdfDocumentRepository.save(pdfDocument);
+                markFailed(pdfDocument, e);
                 throw new BusinessException(ErrorCode.PDF_PARSING_FAILED);
+            } catch (RuntimeException e) {
+                // PROCESSING 으로 남으면 기동할 때마다 다시 등록되므로 FAILED 로 남긴다
+                log.error("PDF 처리 중 오류 발생: {}", filePath, e);
+                markFailed(pdfDocument, e);
+                throw e;
             }
             
-        } catch (BusinessException e) {
+        } catch (BusinessException | CancellationException e) {
             throw e;
         } catch (Exception e) {
             log.error("PDF 처리 중 예외 발생: {}", filePath, e);
             throw new BusinessException(ErrorCode.PDF_PROCESSING_FAILED);
+        } finally {
+            ingestMetrics.document(outcome, System.nanoTime() - start);
         }
     }
     
+    /** 바뀌기 전 내용의 원본 사본 삭제. 실패해도 처리는 계속한다 (문서는 이미 새 사본을 가리킨다) */
+    private void deleteOriginal(String gridFsId) {
+        try {
+            pdfOriginalStore.delete(gridFsId);
+        } catch (RuntimeException e) {
+            log.warn("이전 원본 사본 삭제 실패: {}", gridFsId, e);
+        }
+    }
+
+    /**
+     * 실패 상태 저장. 저장마저 실패하면 원래 예외에 덧붙인다.
+     * 종료 중 인터럽트로 끊긴 경우는 실패가 아니므로 PROCESSING 으로 두어 다음 기동 때 다시 처리한다.
+     */
+    private void markFailed(PdfDocument pdfDocument, Exception cause) {
+        if (interrupted(cause)) {
+            log.info("PDF 처리 중단 (종료): {}", pdfDocument.getFilePath());
+            return;
+        }
+        pdfDocument.updateProcessingStatus(PdfDocument.ProcessingStatus.FAILED, cause.getMessage());
+        try {
+            pdfDocumentRepository.save(pdfDocument);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static boolean interrupted(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof InterruptedIOException || t instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private PdfDocument createOrUpdatePdfDocument(File file, long fileSize, boolean isLargeFile, PdfDocument existing) {
         if (existing != null) {
             existing.updateProcessingStatus(PdfDocument.ProcessingStatus.PROCESSING, null);
@@ -132,7 +274,7 @@ public class PdfProcessingService {
                 .build();
     }
     
-    private void processRegularFile(PDDocument document, PdfDocument pdfDocument) throws IOException {
+    private void processRegularFile(PDDocument document, PdfDocument pdfDocument, IngestProgress progress) throws IOException {
         log.info("일반 파일 처리 시작: {} (페이지 {}~{})", pdfDocument.getFileName(), PDF_START_PAGE, PDF_END_PAGE);
         
         int totalPages = document.getNumberOfPages();
@@ -146,14 +288,19 @@ public class PdfProcessingService {
         PDFTextStripper stripper = new PDFTextStripper();
         stripper.setStartPage(PDF_START_PAGE);
         stripper.setEndPage(endPage);
+        long extractStart = System.nanoTime();
         String fullText = stripper.getText(document);
+        ingestMetrics.extracted(System.nanoTime() - extractStart);
         
         List<PdfTextChunker.ChunkInfo> chunks = textChunker.chunkText(fullText, MAX_CHUNK_SIZE);
+        ingestMetrics.pages(endPage - PDF_START_PAGE + 1);
+        progress.pagesDone(endPage - PDF_START_PAGE + 1);
         
-        savePdfChunks(pdfDocument.getId(), chunks, fullText);
+        savePdfChunks(pdfDocument.getId(), chunks, 0);
+        progress.chunksSaved(chunks.size());
     }
     
-    private void processLargeFile(PDDocument document, PdfDocument pdfDocument) throws IOException {
+    private void processLargeFile(PDDocument document, PdfDocument pdfDocument, IngestProgress progress) throws IOException {
         log.info("대용량 파일 처리 시작: {} (GridFS 사용, 페이지 {}~{})", pdfDocument.getFileName(), PDF_START_PAGE, PDF_END_PAGE);
         
         int totalPages = document.getNumberOfPages();
@@ -170,13 +317,16 @@ public class PdfProcessingService {
         List<PdfTextChunker.ChunkInfo> allChunks = new ArrayList<>();
         
         for (int startPage = PDF_START_PAGE; startPage <= actualEndPage; startPage += pagesPerChunk) {
+            checkCancelled(progress);
             int endPage = Math.min(startPage + pagesPerChunk - 1, actualEndPage);
             
             PDFTextStripper stripper = new PDFTextStripper();
             stripper.setStartPage(startPage);
             stripper.setEndPage(endPage);
             
+            long extractStart = System.nanoTime();
             String pageText = stripper.getText(document);
+            ingestMetrics.extracted(System.nanoTime() - extractStart);
             fullTextBuilder.append(pageText);
             
             List<PdfTextChunker.ChunkInfo> chunks = textChunker.chunkText(pageText, MAX_CHUNK_SIZE);
@@ -188,80 +338,175 @@ public class PdfProcessingService {
                 );
                 allChunks.add(adjustedChunk);
             }
+            ingestMetrics.pages(endPage - startPage + 1);
+            progress.pagesDone(endPage - PDF_START_PAGE + 1);
         }
         
         String fullText = fullTextBuilder.toString();
         String gridFsId = saveToGridFs(pdfDocument.getFileName(), fullText);
         pdfDocument.completeProcessing(gridFsId);
         
-        savePdfChunks(pdfDocument.getId(), allChunks, fullText);
+        savePdfChunks(pdfDocument.getId(), allChunks, 0);
+        progress.chunksSaved(allChunks.size());
     }
     
-    private void savePdfChunks(ObjectId pdfDocumentId, List<PdfTextChunker.ChunkInfo> chunks, String fullText) {
-        log.info("PDF 청크 저장 시작: {} chunks", chunks.size());
+    /**
+     * 페이지 구간 단위 스트리밍 처리.
+     * 구간마다 텍스트 추출 → 청크 분할 → 정제 → 저장 후 다음 구간으로 넘어가므로
+     * 힙에는 현재 구간(병렬 추출 시 대기 중인 구간 포함) 텍스트와 그 청크만 남는다.
+     * 대용량 파일의 전체 텍스트는 추출하는 대로 압축해 GridFS 업로드 스트림으로 흘려 보낸다.
+     * 그 외에는 구간마다 재개 지점을 기록하고, 재개 지점이 있으면 그 페이지부터 이어서 처리한다.
+     */
+    private void processStreaming(PDDocument document, PdfDocument pdfDocument, boolean storeFullText, IngestProgress progress) throws IOException {
+        int totalPages = document.getNumberOfPages();
+        int endPage = Math.min(PDF_END_PAGE, totalPages);
+        
+        if (PDF_START_PAGE > totalPages) {
+            log.warn("시작 페이지({})가 전체 페이지 수({})보다 큽니다.", PDF_START_PAGE, totalPages);
+            return;
+        }
+        
+        int firstPage = pdfDocument.hasCheckpoint() ? pdfDocument.getResumePage() : PDF_START_PAGE;
+        int pagesPerWindow = windowPages > 0 ? windowPages : calculatePagesPerChunk(endPage - PDF_START_PAGE + 1);
+        List<ParallelPageExtractor.PageWindow> windows = new ArrayList<>();
+        for (int startPage = firstPage; startPage <= endPage; startPage += pagesPerWindow) {
+            windows.add(new ParallelPageExtractor.PageWindow(startPage, Math.min(startPage + pagesPerWindow - 1, endPage)));
+        }
+        log.info("스트리밍 처리 시작: {} (페이지 {}~{}, 구간 {}페이지 x {}, 추출 병렬도 {})",
+                pdfDocument.getFileName(), firstPage, endPage, pagesPerWindow, windows.size(), extractParallelism);
+        
+        PdfTextStore.Upload upload = storeFullText ? pdfTextStore.openUpload(pdfDocument.getFileName() + "_content") : null;
+        try {
+            WindowSink sink = new WindowSink(pdfDocument, upload != null ? upload.writer() : Writer.nullWriter(), endPage, !storeFullText, progress);
+            
+            if (extractParallelism > 1 && windows.size() > 1) {
+                try (ParallelPageExtractor extractor = new ParallelPageExtractor(new File(pdfDocument.getFilePath()), extractParallelism, ingestMetrics::extracted)) {
+                    extractor.extract(windows, sink::accept);
+                }
+            } else {
+                PDFTextStripper stripper = new PDFTextStripper();
+                for (ParallelPageExtractor.PageWindow window : windows) {
+                    stripper.setStartPage(window.startPage());
+                    stripper.setEndPage(window.endPage());
+                    long extractStart = System.nanoTime();
+                    String pageText = stripper.getText(document);
+                    ingestMetrics.extracted(System.nanoTime() - extractStart);
+                    sink.accept(window, pageText);
+                }
+            }
+            
+            if (upload != null) {
+                pdfDocument.completeProcessing(upload.finish());
+            }
+        } catch (IOException | RuntimeException e) {
+            // 실패/취소 시 올리던 텍스트는 버린다
+            if (upload != null) {
+                upload.abort();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 스트리밍 처리에서 구간 텍스트를 순서대로 받아 청크로 저장한다.
+     * 구간 경계에 걸친 문장은 청크 세션이 이어 붙이므로 전체 텍스트를 한 번에 분할한 것과 같은 청크가 나온다.
+     * checkpoints 이면 구간 저장 후 다음 페이지와 청크 세션 상태를 문서에 기록한다.
+     */
+    private final class WindowSink {
+        private final PdfDocument pdfDocument;
+        private final Writer spoolWriter;
+        private final int lastPage;
+        private final boolean checkpoints;
+        private final IngestProgress progress;
+        private final PdfTextChunker.Session session;
+        
+        private WindowSink(PdfDocument pdfDocument, Writer spoolWriter, int lastPage, boolean checkpoints, IngestProgress progress) {
+            this.pdfDocument = pdfDocument;
+            this.spoolWriter = spoolWriter;
+            this.lastPage = lastPage;
+            this.checkpoints = checkpoints;
+            this.progress = progress;
+            this.session = pdfDocument.hasCheckpoint()
+                    ? textChunker.newSession(MAX_CHUNK_SIZE, pdfDocument.getChunkerState())
+                    : textChunker.newSession(MAX_CHUNK_SIZE);
+        }
+        
+        private void accept(ParallelPageExtractor.PageWindow window, String pageText) throws IOException {
+            checkCancelled(progress);
+            spoolWriter.write(pageText);
+            
+            session.feed(pageText);
+            if (window.endPage() == lastPage) {
+                session.finish();
+            }
+            List<PdfTextChunker.ChunkInfo> chunks = session.drain();
+            savePdfChunks(pdfDocument.getId(), chunks, 0);
+            
+            if (checkpoints) {
+                pdfDocument.checkpoint(window.endPage() + 1, session.state());
+                pdfDocumentRepository.save(pdfDocument);
+            }
+            
+            ingestMetrics.pages(window.endPage() - window.startPage() + 1);
+            progress.pagesDone(window.endPage() - PDF_START_PAGE + 1);
+            progress.chunksSaved(chunks.size());
+        }
+    }
+    
+    private static void checkCancelled(IngestProgress progress) {
+        if (progress.cancelled()) {
+            throw new CancellationException("PDF 처리 취소 요청");
+        }
+    }
+    
+    /**
+     * 청크를 정제해 저장한다. baseIndex 는 앞 구간까지 저장된 청크 수(문서 전체 기준 인덱스 보정값).
+     */
+    private void savePdfChunks(ObjectId pdfDocumentId, List<PdfTextChunker.ChunkInfo> chunks, int baseIndex) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        log.info("PDF 청크 저장 시작: {} chunks (from #{})", chunks.size(), baseIndex);
         
         List<PdfChunk> pdfChunks = new ArrayList<>();
         
         for (PdfTextChunker.ChunkInfo chunkInfo : chunks) {
-            String originalText = chunkInfo.getText();
-            String processedText = processText(originalText);
-            boolean hasFormulas = detectFormulas(originalText);
+            FormulaNormalizer.Result processed = processText(chunkInfo.getText());
             
             PdfChunk pdfChunk = PdfChunk.of(
                     pdfDocumentId,
-                    chunkInfo.getChunkIndex(),
-                    processedText,
-                    hasFormulas
+                    baseIndex + chunkInfo.getChunkIndex(),
+                    processed.text(),
+                    processed.hasFormulas()
             );
+            vectorIndexService.embed(pdfChunk);
             
             pdfChunks.add(pdfChunk);
         }
         
-        pdfChunkRepository.saveAll(pdfChunks);
-        log.info("PDF 청크 저장 완료: {} chunks", pdfChunks.size());
+        long saveStart = System.nanoTime();
+        List<PdfChunk> saved = pdfChunkRepository.saveChunks(pdfChunks);
+        ingestMetrics.chunksSaved(saved.size(), System.nanoTime() - saveStart);
+        vectorIndexService.addChunks(saved);
+        log.info("PDF 청크 저장 완료: {} chunks", saved.size());
     }
     
-    private String processText(String text) {
+    /**
+     * 청크 후처리: 정제 후 수식/공백 정규화와 수식 판정을 한 번에 처리한다.
+     * 정제 결과가 비면 원문을 그대로 두고 원문으로 수식 여부만 판정한다.
+     */
+    private FormulaNormalizer.Result processText(String text) {
         if (text == null || text.trim().isEmpty()) {
-            return text;
+            return new FormulaNormalizer.Result(text, false);
         }
         
-        String processed = TextCleaner.clean(text, false, false, false);
+        String cleaned = CHUNK_CLEANER.clean(text);
         
-        if (processed == null || processed.trim().isEmpty()) {
-            return text;
-        }
-        
-        processed = normalizeFormulas(processed);
-        processed = normalizeWhitespace(processed);
-        
-        return processed;
-    }
-    
-    private String normalizeFormulas(String text) {
-        return text
-                .replaceAll("\\s*=\\s*", " = ")
-                .replaceAll("\\s*\\+\\s*", " + ")
-                .replaceAll("\\s*-\\s*", " - ")
-                .replaceAll("\\s*\\*\\s*", " * ")
-                .replaceAll("\\s*/\\s*", " / ")
-                .replaceAll("\\s*<\\s*", " < ")
-                .replaceAll("\\s*>\\s*", " > ")
-                .replaceAll("\\s*≤\\s*", " ≤ ")
-                .replaceAll("\\s*≥\\s*", " ≥ ")
-                .replaceAll("\\s*≠\\s*", " ≠ ");
-    }
-    
-    private String normalizeWhitespace(String text) {
-        return text.replaceAll("\\s+", " ").trim();
-    }
-    
-    private boolean detectFormulas(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            return false;
+        if (cleaned == null || cleaned.trim().isEmpty()) {
+            return new FormulaNormalizer.Result(text, FormulaNormalizer.normalize(text).hasFormulas());
         }
         
-        return FORMULA_PATTERN.matcher(text).find();
+        return FormulaNormalizer.normalize(cleaned);
     }
     
     private String extractTitle(PDDocument document) {
@@ -299,13 +544,15 @@ public class PdfProcessingService {
     }
     
     private String saveToGridFs(String fileName, String content) {
+        PdfTextStore.Upload upload = null;
         try {
-            return gridFsTemplate.store(
-                    new FileInputStream(new File(fileName)), 
-                    fileName + "_content", 
-                    "text/plain"
-            ).toString();
+            upload = pdfTextStore.openUpload(fileName + "_content");
+            upload.writer().write(content);
+            return upload.finish();
         } catch (Exception e) {
+            if (upload != null) {
+                upload.abort();
+            }
             log.error("GridFS 저장 실패: {}", fileName, e);
             throw new BusinessException(ErrorCode.PDF_PROCESSING_FAILED);
         }
@@ -316,19 +563,93 @@ public class PdfProcessingService {
         return pdfDocumentRepository.findByFilePath(filePath);
     }
     
+    /**
+     * GridFS 에 저장된 추출 텍스트 정보 (대용량 파일만 저장된다).
+     */
+    @Transactional(readOnly = true)
+    public PdfTextStore.TextInfo findFullText(ObjectId documentId) {
+        PdfDocument document = pdfDocumentRepository.findById(documentId)
+                .orElseThrow(() -> new BusinessException(documentId, "documentId", ErrorCode.PDF_DOCUMENT_NOT_FOUND));
+        
+        PdfTextStore.TextInfo text = document.getGridFsId() != null ? pdfTextStore.info(document.getGridFsId()) : null;
+        if (text == null) {
+            throw new BusinessException(documentId, "gridFsId", ErrorCode.PDF_TEXT_NOT_FOUND);
+        }
+        return text;
+    }
+    
+    /**
+     * 추출 텍스트의 [start, start + count) 바이트(UTF-8, 압축 해제 기준)를 out 으로 복사한다.
+     */
+    public void copyFullText(PdfTextStore.TextInfo text, long start, long count, OutputStream out) throws IOException {
+        pdfTextStore.copyRange(text, start, count, out);
+    }
+    
     @Transactional(readOnly = true)
     public List<PdfChunk> findChunksByDocumentId(ObjectId documentId) {
         return pdfChunkRepository.findByPdfDocumentIdOrderByChunkIndex(documentId);
     }
     
-    @Transactional(readOnly = true)
-    public List<PdfChunk> searchInChunks(String searchText) {
-        return pdfChunkRepository.findByTextContaining(searchText);
+    /**
+     * 문서 청크 페이지 (chunkIndex 순, chunkIndex 커서).
+     */
+    public PdfChunkSlice findChunks(ObjectId documentId, Integer after, int limit) {
+        limit = Math.max(1, Math.min(limit, maxPageLimit));
+        
+        // hasMore 판단용으로 +1
+        List<PdfChunk> found = pdfChunkRepository.findChunkRange(documentId, after, limit + 1);
+        boolean hasMore = found.size() > limit;
+        List<PdfChunkResponse> chunks = found.stream()
+                .limit(limit)
+                .map(PdfChunkResponse::from)
+                .toList();
+        
+        Integer nextCursor = chunks.isEmpty() ? null : chunks.getLast().chunkIndex();
+        return PdfChunkSlice.of(chunks, nextCursor, hasMore);
+    }
+    
+    /** 문서 청크 전체를 커서로 읽으면서 하나씩 sink 로 넘긴다 (NDJSON 응답용) */
+    public void streamChunks(ObjectId documentId, Consumer<PdfChunkResponse> sink) {
+        pdfChunkRepository.streamByPdfDocumentId(documentId, chunk -> sink.accept(PdfChunkResponse.from(chunk)));
+    }
+    
+    /**
+     * 문서 목록 (최신순, _id 커서). before 가 있으면 그 문서 이전(_id lt)만.
+     */
+    public PdfDocumentSlice findDocuments(String before, int limit) {
+        limit = Math.max(1, Math.min(limit, maxPageLimit));
+        
+        Query query = new Query().with(ID_DESC).limit(limit + 1);
+        if (before != null && !before.isBlank()) {
+            if (!ObjectId.isValid(before)) {
+                throw new BusinessException(before, "before", ErrorCode.BAD_REQUEST);
+            }
+            query.addCriteria(Criteria.where("id").lt(new ObjectId(before)));
+        }
+        
+        List<PdfDocument> found = mongoTemplate.find(query, PdfDocument.class);
+        boolean hasMore = found.size() > limit;
+        List<PdfProcessResponse> documents = found.stream()
+                .limit(limit)
+                .map(PdfProcessResponse::from)
+                .toList();
+        
+        String nextCursor = documents.isEmpty() ? null : documents.getLast().id();
+        return PdfDocumentSlice.of(documents, nextCursor, hasMore);
+    }
+    
+    /** 전체 문서를 커서로 읽으면서 하나씩 sink 로 넘긴다 (NDJSON 응답용) */
+    public void streamDocuments(Consumer<PdfProcessResponse> sink) {
+        Query query = new Query().with(ID_DESC).cursorBatchSize(STREAM_BATCH_SIZE);
+        try (Stream<PdfDocument> documents = mongoTemplate.stream(query, PdfDocument.class)) {
+            documents.forEach(document -> sink.accept(PdfProcessResponse.from(document)));
+        }
     }
     
     @Transactional
     public void deletePdfDocument(ObjectId documentId) {
         pdfChunkRepository.deleteByPdfDocumentId(documentId);
+        vectorIndexService.removeDocument(documentId);
         pdfDocumentRepository.deleteById(documentId);
         log.info("PDF 문서 및 청크 삭제 완료: {}", documentId);
     }
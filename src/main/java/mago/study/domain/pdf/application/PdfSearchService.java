@@ -0,0 +1,76 @@
+package mago.study.domain.pdf.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.pdf.dto.PdfChunkResponse;
+import mago.study.domain.pdf.dto.PdfSearchRequest;
+import mago.study.domain.pdf.dto.PdfSearchSlice;
+import mago.study.global.exception.custom.BusinessException;
+import mago.study.global.exception.enums.ErrorCode;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * PDF 청크 전문 검색.
+ * 청크 text 의 텍스트 인덱스($text)로 조회하고 관련도(textScore) 순으로 정렬한다.
+ * 입력은 정규식이 아닌 검색어로 해석되며("구문", -제외어 지원), 상위 max-results 건까지만 페이지로 넘겨볼 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfSearchService {
+
+    private final PdfChunkRepository pdfChunkRepository;
+
+    @Value("${pdf.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${pdf.search.max-limit:100}")
+    private int maxLimit;
+
+    // 관련도 상위 몇 건까지 조회를 허용할지 (깊은 페이지 요청 차단)
+    @Value("${pdf.search.max-results:1000}")
+    private int maxResults;
+
+    public PdfSearchSlice search(PdfSearchRequest request) {
+        if (request.searchText() == null || request.searchText().isBlank()) {
+            throw new BusinessException(request.searchText(), "searchText", ErrorCode.BAD_REQUEST);
+        }
+
+        int limit = request.limit() == null || request.limit() <= 0 ? defaultLimit : Math.min(request.limit(), maxLimit);
+        int page = request.page() == null || request.page() < 0 ? 0 : request.page();
+        long offset = (long) page * limit;
+
+        if (offset >= maxResults) {
+            return PdfSearchSlice.of(List.of(), page, limit, false);
+        }
+        // top-k 경계에서 잘리도록 조회 수 제한 (+1 은 hasMore 판단용)
+        int fetch = (int) Math.min(limit + 1L, maxResults - offset);
+
+        List<PdfChunk> found = pdfChunkRepository.searchText(request.searchText(), documentId(request), request.hasFormulas(),
+                offset, fetch, null, false);
+
+        boolean hasMore = found.size() > limit;
+        List<PdfChunkResponse> chunks = found.stream()
+                .limit(limit)
+                .map(PdfChunkResponse::from)
+                .toList();
+
+        return PdfSearchSlice.of(chunks, page, limit, hasMore);
+    }
+
+    private static ObjectId documentId(PdfSearchRequest request) {
+        if (request.documentId() == null || request.documentId().isBlank()) {
+            return null;
+        }
+        if (!ObjectId.isValid(request.documentId())) {
+            throw new BusinessException(request.documentId(), "documentId", ErrorCode.BAD_REQUEST);
+        }
+        return new ObjectId(request.documentId());
+    }
+}
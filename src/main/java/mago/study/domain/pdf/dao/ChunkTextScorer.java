@@ -0,0 +1,183 @@
+package mago.study.domain.pdf.dao;
+
+import org.tartarus.snowball.SnowballStemmer;
+import org.tartarus.snowball.ext.englishStemmer;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 버킷 저장에서 $text 검색 결과를 청크 단위로 다시 거르고 점수를 매긴다.
+ * 버킷 점수는 버킷 전체 텍스트 기준이므로, 단일 저장과 같은 순서가 되도록 MongoDB 텍스트 인덱스(영어)의 방식을 따른다.
+ * - 토큰: 글자/숫자가 아닌 문자로 나누고 소문자 + 발음 구별 기호 제거, 불용어 제외
+ * - 어간: Snowball english (MongoDB 와 같은 알고리즘)
+ * - 용어 점수: freq × (0.5 × count / 토큰 수 + 0.5), freq 는 같은 어간이 n 번째 나올 때마다 1/2^(n-1) 을 더한 값
+ * - 일치 조건: 용어 하나 이상, "구문" 은 모두 포함(대소문자/발음 구별 기호 무시), -단어 는 어간 기준으로 미포함
+ * 한 번의 검색에서만 쓴다 (어간 캐시, 스레드 안전하지 않음).
+ */
+final class ChunkTextScorer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // MongoDB 영어 불용어 (토큰 분리 후 남는 형태만)
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "about", "above", "after", "again", "against", "all", "am", "an", "and", "any", "are", "as", "at",
+            "be", "because", "been", "before", "being", "below", "between", "both", "but", "by",
+            "cannot", "could", "did", "do", "does", "doing", "down", "during", "each", "few", "for", "from", "further",
+            "had", "has", "have", "having", "he", "her", "here", "hers", "herself", "him", "himself", "his", "how",
+            "i", "if", "in", "into", "is", "it", "its", "itself", "me", "more", "most", "my", "myself",
+            "no", "nor", "not", "of", "off", "on", "once", "only", "or", "other", "ought", "our", "ours", "ourselves",
+            "out", "over", "own", "same", "she", "should", "so", "some", "such",
+            "than", "that", "the", "their", "theirs", "them", "themselves", "then", "there", "these", "they", "this",
+            "those", "through", "to", "too", "under", "until", "up", "very", "was", "we", "were", "what", "when",
+            "where", "which", "while", "who", "whom", "why", "with", "would", "you", "your", "yours", "yourself", "yourselves"
+    );
+
+    private final Set<String> terms = new LinkedHashSet<>();
+    private final Set<String> excluded = new LinkedHashSet<>();
+    private final List<String> phrases = new ArrayList<>();
+    // 버킷 조회에 넘길 원래 단어/구문 (제외어 빼고)
+    private final List<String> bucketTerms = new ArrayList<>();
+
+    private final SnowballStemmer stemmer = new englishStemmer();
+    private final Map<String, String> stems = new HashMap<>();
+
+    private ChunkTextScorer() {
+    }
+
+    static ChunkTextScorer parse(String searchText) {
+        ChunkTextScorer scorer = new ChunkTextScorer();
+        String text = searchText.trim();
+
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                int end = text.indexOf('"', i + 1);
+                if (end < 0) end = text.length();
+                String phrase = text.substring(i + 1, end).trim();
+                if (!phrase.isEmpty()) {
+                    scorer.phrases.add(fold(phrase));
+                    scorer.bucketTerms.add('"' + phrase + '"');
+                    // 구문의 단어도 점수 용어에 들어간다
+                    scorer.addTerms(phrase, scorer.terms);
+                }
+                i = end + 1;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                int end = i;
+                while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '"') end++;
+                String word = text.substring(i, end);
+                if (word.startsWith("-")) {
+                    scorer.addTerms(word.substring(1), scorer.excluded);
+                } else {
+                    scorer.bucketTerms.add(word);
+                    scorer.addTerms(word, scorer.terms);
+                }
+                i = end;
+            }
+        }
+        scorer.terms.removeAll(scorer.excluded);
+        return scorer;
+    }
+
+    /** 점수를 매길 용어가 없으면 (불용어/제외어뿐) 어떤 청크도 일치하지 않는다 */
+    boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    /**
+     * 버킷 조회용 검색어. 제외어를 넘기면 그 단어가 든 청크가 하나라도 있는 버킷 전체가 빠지므로
+     * 용어와 구문만 넘기고 제외어는 청크 단위로 거른다.
+     */
+    String bucketQuery() {
+        return String.join(" ", bucketTerms);
+    }
+
+    /** 청크 관련도 점수. 일치하지 않으면 0 */
+    double score(String text) {
+        if (text == null) {
+            return 0;
+        }
+        String folded = fold(text);
+        for (String phrase : phrases) {
+            if (!folded.contains(phrase)) return 0;
+        }
+
+        Map<String, double[]> stats = new HashMap<>();
+        int tokens = 0;
+        int n = folded.length();
+        int i = 0;
+        while (i < n) {
+            if (!Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && Character.isLetterOrDigit(folded.charAt(end))) end++;
+            String token = folded.substring(i, end);
+            i = end;
+
+            if (STOP_WORDS.contains(token)) continue;
+            tokens++;
+            String stem = stem(token);
+            if (excluded.contains(stem)) return 0;
+            if (terms.contains(stem)) {
+                // {count, freq, 다음 가중치}
+                double[] stat = stats.computeIfAbsent(stem, k -> new double[]{0, 0, 1});
+                stat[0]++;
+                stat[1] += stat[2];
+                stat[2] /= 2;
+            }
+        }
+
+        double score = 0;
+        for (double[] stat : stats.values()) {
+            score += stat[1] * (0.5 * stat[0] / tokens + 0.5);
+        }
+        return score;
+    }
+
+    private void addTerms(String raw, Set<String> target) {
+        String folded = fold(raw);
+        int n = folded.length();
+        int i = 0;
+        while (i < n) {
+            if (!Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && Character.isLetterOrDigit(folded.charAt(end))) end++;
+            String token = folded.substring(i, end);
+            if (!STOP_WORDS.contains(token)) target.add(stem(token));
+            i = end;
+        }
+    }
+
+    private String stem(String token) {
+        return stems.computeIfAbsent(token, t -> {
+            stemmer.setCurrent(t);
+            stemmer.stem();
+            return stemmer.getCurrent();
+        });
+    }
+
+    /** 소문자 + 발음 구별 기호 제거 (ASCII 만 있으면 소문자만) */
+    private static String fold(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0x7F) {
+                return DIACRITICS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+            }
+        }
+        return s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package mago.study.domain.pdf.dao;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.pdf.domain.PdfChunkBucket;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예전 이름의 청크 인덱스 정리.
+ * 예전 정의는 저장 필드명(pdf_document_id 등)이 아닌 속성명을 키로 잡아 모든 문서가 (null, null) 로 색인됐다.
+ * 청크 쪽은 키셋 페이지 조회가 인덱스를 못 타고, 버킷 쪽은 unique 라 문서당 두 번째 버킷부터 저장이 실패한다.
+ * 새 이름으로 다시 만든 인덱스만 남기고 지운다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfChunkIndexCleaner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void dropLegacyIndexes() {
+        drop(PdfChunk.class, "pdf_document_chunk_index");
+        drop(PdfChunkBucket.class, "pdf_document_bucket_index");
+    }
+
+    private void drop(Class<?> entityClass, String indexName) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        boolean present = indexOps.getIndexInfo().stream().anyMatch(info -> indexName.equals(info.getName()));
+        if (present) {
+            indexOps.dropIndex(indexName);
+            log.info("예전 청크 인덱스 삭제: {}.{}", mongoTemplate.getCollectionName(entityClass), indexName);
+        }
+    }
+}
@@ -3,26 +3,12 @@ package mago.study.domain.pdf.dao;
 import mago.study.domain.pdf.domain.PdfChunk;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+/**
+ * 청크 조회/삭제는 PdfChunkRepositoryCustom 에서 저장 방식(single/bucketed)에 맞게 처리한다.
+ * MongoRepository 기본 메서드(save, findById 등)는 pdf_chunks 에만 적용된다.
+ */
 @Repository
-public interface PdfChunkRepository extends MongoRepository<PdfChunk, ObjectId> {
-    
-    List<PdfChunk> findByPdfDocumentIdOrderByChunkIndex(ObjectId pdfDocumentId);
-    
-    @Query("{'pdfDocumentId': ?0, 'chunkIndex': ?1}")
-    PdfChunk findByPdfDocumentIdAndChunkIndex(ObjectId pdfDocumentId, Integer chunkIndex);
-    
-    @Query("{'pdfDocumentId': ?0, 'hasFormulas': true}")
-    List<PdfChunk> findByPdfDocumentIdAndHasFormulas(ObjectId pdfDocumentId);
-    
-    @Query("{'text': {$regex: ?0, $options: 'i'}}")
-    List<PdfChunk> findByTextContaining(String searchText);
-    
-    long countByPdfDocumentId(ObjectId pdfDocumentId);
-    
-    void deleteByPdfDocumentId(ObjectId pdfDocumentId);
-}
\ No newline at end of file
+public interface PdfChunkRepository extends MongoRepository<PdfChunk, ObjectId>, PdfChunkRepositoryCustom {
+}
@@ -0,0 +1,69 @@
+package mago.study.domain.pdf.dao;
+
+import mago.study.domain.pdf.domain.PdfChunk;
+import org.bson.types.ObjectId;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 저장 방식(pdf.chunk.storage)에 관계없이 같은 결과를 주는 청크 저장/조회.
+ * - single  : 청크 1개 = pdf_chunks 문서 1개
+ * - bucketed: 연속 청크 bucket-size 개 = pdf_chunk_buckets 문서 1개 (청크 id 는 유지)
+ */
+public interface PdfChunkRepositoryCustom {
+
+    enum Storage {
+        SINGLE, BUCKETED
+    }
+
+    Storage storage();
+
+    /** 청크 저장. 반환 목록은 id 가 채워진 청크 */
+    List<PdfChunk> saveChunks(List<PdfChunk> chunks);
+
+    List<PdfChunk> findByPdfDocumentIdOrderByChunkIndex(ObjectId pdfDocumentId);
+
+    PdfChunk findByPdfDocumentIdAndChunkIndex(ObjectId pdfDocumentId, Integer chunkIndex);
+
+    List<PdfChunk> findByPdfDocumentIdAndHasFormulas(ObjectId pdfDocumentId);
+
+    /** chunkIndex 가 afterChunkIndex 보다 큰 청크를 순서대로 limit 개 (임베딩 제외) */
+    List<PdfChunk> findChunkRange(ObjectId pdfDocumentId, Integer afterChunkIndex, int limit);
+
+    /** 문서 청크를 chunkIndex 순으로 커서로 읽는다 (임베딩 제외) */
+    void streamByPdfDocumentId(ObjectId pdfDocumentId, Consumer<PdfChunk> sink);
+
+    /** id 로 청크 본문 조회 (id, pdfDocumentId, chunkIndex, text) */
+    List<PdfChunk> findBodiesByIds(Collection<ObjectId> chunkIds, Duration maxTime);
+
+    /**
+     * $text 검색, 관련도 순. pdfDocumentId / hasFormulas 는 null 이면 조건 없음.
+     * idsOnly 이면 id, pdfDocumentId, chunkIndex 만 채운다 (단일 저장 기준, 버킷 저장은 본문도 채운다).
+     * 버킷 저장에서는 검색어가 든 버킷을 모두 읽고 청크마다 MongoDB 텍스트 점수 방식(어간, 불용어 포함)으로
+     * 다시 점수를 매겨 고른다. 단일 저장과 같은 기준이지만 점수 값은 근사치다.
+     */
+    List<PdfChunk> searchText(String searchText, ObjectId pdfDocumentId, Boolean hasFormulas,
+                              long skip, int limit, Duration maxTime, boolean idsOnly);
+
+    /** 해당 임베더로 만든 임베딩을 가진 청크 (id, pdfDocumentId, embeddingModel, embedding). pdfDocumentId 가 null 이면 전체 */
+    void streamEmbeddings(String embeddingModel, ObjectId pdfDocumentId, Consumer<PdfChunk> sink);
+
+    /** 임베딩이 없거나 다른 임베더로 만든 청크의 임베딩을 다시 계산해 저장, 갱신한 청크 수 */
+    int backfillEmbeddings(String embeddingModel, Function<String, byte[]> embedding);
+
+    long countByPdfDocumentId(ObjectId pdfDocumentId);
+
+    void deleteByPdfDocumentId(ObjectId pdfDocumentId);
+
+    void deleteByPdfDocumentIdAndChunkIndexGreaterThanEqual(ObjectId pdfDocumentId, Integer chunkIndex);
+
+    /** 해당 저장 방식에 청크가 남아 있는 문서 id */
+    List<ObjectId> findDocumentIds(Storage storage);
+
+    /** 문서 청크를 다른 저장 방식으로 옮긴다 (청크 id 유지), 옮긴 청크 수 */
+    int moveDocument(ObjectId pdfDocumentId, Storage from, Storage to);
+}
@@ -0,0 +1,442 @@
+package mago.study.domain.pdf.dao;
+
+import lombok.RequiredArgsConstructor;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.pdf.domain.PdfChunkBucket;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * PdfChunkRepositoryCustom 구현. pdf.chunk.storage 에 따라 pdf_chunks / pdf_chunk_buckets 를 읽고 쓴다.
+ * 버킷 저장에서는 청크 단위 조건(chunkIndex 범위, id, hasFormulas)을 버킷 조건으로 좁혀 조회한 뒤
+ * 버킷을 풀어 청크 단위로 다시 거른다.
+ */
+@RequiredArgsConstructor
+public class PdfChunkRepositoryImpl implements PdfChunkRepositoryCustom {
+
+    private static final Sort CHUNK_INDEX_ASC = Sort.by(Sort.Direction.ASC, "chunkIndex");
+    private static final Sort FIRST_CHUNK_INDEX_ASC = Sort.by(Sort.Direction.ASC, "firstChunkIndex");
+    // 버킷 저장 검색 순서: 청크 점수 내림차순, 같으면 문서/청크 순
+    private static final Comparator<PdfChunk> RELEVANCE = Comparator.comparing(PdfChunk::getScore, Comparator.reverseOrder())
+            .thenComparing(PdfChunk::getPdfDocumentId)
+            .thenComparing(PdfChunk::getChunkIndex);
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${pdf.chunk.storage:single}")
+    private Storage storage;
+
+    // 버킷 1개에 담는 연속 청크 수
+    @Value("${pdf.chunk.bucket-size:64}")
+    private int bucketSize;
+
+    @Override
+    public Storage storage() {
+        return storage;
+    }
+
+    @Override
+    public List<PdfChunk> saveChunks(List<PdfChunk> chunks) {
+        return save(storage, chunks);
+    }
+
+    @Override
+    public List<PdfChunk> findByPdfDocumentIdOrderByChunkIndex(ObjectId pdfDocumentId) {
+        if (storage == Storage.SINGLE) {
+            return mongoTemplate.find(Query.query(byDocument(pdfDocumentId)).with(CHUNK_INDEX_ASC), PdfChunk.class);
+        }
+        List<PdfChunk> chunks = new ArrayList<>();
+        for (PdfChunkBucket bucket : mongoTemplate.find(Query.query(byDocument(pdfDocumentId)).with(FIRST_CHUNK_INDEX_ASC), PdfChunkBucket.class)) {
+            chunks.addAll(bucket.unpack());
+        }
+        return chunks;
+    }
+
+    @Override
+    public PdfChunk findByPdfDocumentIdAndChunkIndex(ObjectId pdfDocumentId, Integer chunkIndex) {
+        if (storage == Storage.SINGLE) {
+            return mongoTemplate.findOne(Query.query(byDocument(pdfDocumentId).and("chunkIndex").is(chunkIndex)), PdfChunk.class);
+        }
+        Query query = Query.query(byDocument(pdfDocumentId)
+                        .and("firstChunkIndex").lte(chunkIndex)
+                        .and("lastChunkIndex").gte(chunkIndex));
+        PdfChunkBucket bucket = mongoTemplate.findOne(query, PdfChunkBucket.class);
+        if (bucket == null) {
+            return null;
+        }
+        return bucket.unpack().stream()
+                .filter(chunk -> chunkIndex.equals(chunk.getChunkIndex()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public List<PdfChunk> findByPdfDocumentIdAndHasFormulas(ObjectId pdfDocumentId) {
+        Criteria criteria = byDocument(pdfDocumentId);
+        if (storage == Storage.SINGLE) {
+            return mongoTemplate.find(Query.query(criteria.and("hasFormulas").is(true)).with(CHUNK_INDEX_ASC), PdfChunk.class);
+        }
+        Query query = Query.query(criteria.and("chunks.hasFormulas").is(true)).with(FIRST_CHUNK_INDEX_ASC);
+        List<PdfChunk> chunks = new ArrayList<>();
+        for (PdfChunkBucket bucket : mongoTemplate.find(query, PdfChunkBucket.class)) {
+            bucket.unpack().stream().filter(chunk -> Boolean.TRUE.equals(chunk.getHasFormulas())).forEach(chunks::add);
+        }
+        return chunks;
+    }
+
+    @Override
+    public List<PdfChunk> findChunkRange(ObjectId pdfDocumentId, Integer afterChunkIndex, int limit) {
+        if (storage == Storage.SINGLE) {
+            Criteria criteria = byDocument(pdfDocumentId);
+            if (afterChunkIndex != null) {
+                criteria = criteria.and("chunkIndex").gt(afterChunkIndex);
+            }
+            Query query = Query.query(criteria).with(CHUNK_INDEX_ASC).limit(limit);
+            query.fields().exclude("embedding");
+            return mongoTemplate.find(query, PdfChunk.class);
+        }
+        Criteria criteria = byDocument(pdfDocumentId);
+        if (afterChunkIndex != null) {
+            criteria = criteria.and("lastChunkIndex").gt(afterChunkIndex);
+        }
+        // 잘린 버킷은 bucket-size 보다 작을 수 있으므로 limit 을 채울 때까지 커서로 읽는다
+        Query query = Query.query(criteria).with(FIRST_CHUNK_INDEX_ASC)
+                .cursorBatchSize(Math.max(1, limit / bucketSize + 2));
+        query.fields().exclude("chunks.embedding");
+
+        List<PdfChunk> chunks = new ArrayList<>(limit);
+        try (Stream<PdfChunkBucket> buckets = mongoTemplate.stream(query, PdfChunkBucket.class)) {
+            for (PdfChunkBucket bucket : (Iterable<PdfChunkBucket>) buckets::iterator) {
+                for (PdfChunk chunk : bucket.unpack()) {
+                    if (afterChunkIndex != null && chunk.getChunkIndex() <= afterChunkIndex) continue;
+                    chunks.add(chunk);
+                    if (chunks.size() == limit) return chunks;
+                }
+            }
+        }
+        return chunks;
+    }
+
+    @Override
+    public void streamByPdfDocumentId(ObjectId pdfDocumentId, Consumer<PdfChunk> sink) {
+        if (storage == Storage.SINGLE) {
+            Query query = Query.query(byDocument(pdfDocumentId)).with(CHUNK_INDEX_ASC).cursorBatchSize(CURSOR_BATCH_SIZE);
+            query.fields().exclude("embedding");
+            try (Stream<PdfChunk> chunks = mongoTemplate.stream(query, PdfChunk.class)) {
+                chunks.forEach(sink);
+            }
+            return;
+        }
+        Query query = Query.query(byDocument(pdfDocumentId)).with(FIRST_CHUNK_INDEX_ASC).cursorBatchSize(bucketBatch());
+        query.fields().exclude("chunks.embedding");
+        try (Stream<PdfChunkBucket> buckets = mongoTemplate.stream(query, PdfChunkBucket.class)) {
+            buckets.forEach(bucket -> bucket.unpack().forEach(sink));
+        }
+    }
+
+    @Override
+    public List<PdfChunk> findBodiesByIds(Collection<ObjectId> chunkIds, Duration maxTime) {
+        if (storage == Storage.SINGLE) {
+            Query query = Query.query(Criteria.where("id").in(chunkIds)).maxTime(maxTime);
+            query.fields().include("id", "pdfDocumentId", "chunkIndex", "text");
+            return mongoTemplate.find(query, PdfChunk.class);
+        }
+        Set<ObjectId> wanted = new HashSet<>(chunkIds);
+        Query query = Query.query(Criteria.where("chunks.chunkId").in(wanted)).maxTime(maxTime);
+        query.fields().exclude("chunks.embedding");
+
+        List<PdfChunk> chunks = new ArrayList<>(wanted.size());
+        for (PdfChunkBucket bucket : mongoTemplate.find(query, PdfChunkBucket.class)) {
+            bucket.unpack().stream().filter(chunk -> wanted.contains(chunk.getId())).forEach(chunks::add);
+        }
+        return chunks;
+    }
+
+    @Override
+    public List<PdfChunk> searchText(String searchText, ObjectId pdfDocumentId, Boolean hasFormulas,
+                                     long skip, int limit, Duration maxTime, boolean idsOnly) {
+        if (storage == Storage.SINGLE) {
+            TextQuery query = textQuery(searchText, pdfDocumentId, maxTime);
+            if (hasFormulas != null) {
+                query.addCriteria(Criteria.where("hasFormulas").is(hasFormulas));
+            }
+            if (idsOnly) {
+                query.fields().include("id", "pdfDocumentId", "chunkIndex");
+            } else {
+                query.fields().exclude("embedding");
+            }
+            query.skip(skip).limit(limit);
+            return mongoTemplate.find(query, PdfChunk.class);
+        }
+
+        // 버킷 점수는 버킷 전체 기준이므로, 검색어가 든 버킷을 모두 읽어 청크 단위 점수로 상위 skip + limit 개를 고른다
+        ChunkTextScorer scorer = ChunkTextScorer.parse(searchText);
+        if (scorer.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        TextQuery query = textQuery(scorer.bucketQuery(), pdfDocumentId, maxTime);
+        if (hasFormulas != null) {
+            query.addCriteria(Criteria.where("chunks.hasFormulas").is(hasFormulas));
+        }
+        query.fields().exclude("chunks.embedding");
+        query.cursorBatchSize(bucketBatch());
+
+        int wanted = (int) Math.min(Integer.MAX_VALUE, skip + limit);
+        PriorityQueue<PdfChunk> top = new PriorityQueue<>(RELEVANCE.reversed());
+        try (Stream<PdfChunkBucket> buckets = mongoTemplate.stream(query, PdfChunkBucket.class)) {
+            for (PdfChunkBucket bucket : (Iterable<PdfChunkBucket>) buckets::iterator) {
+                for (PdfChunk chunk : bucket.unpack()) {
+                    if (hasFormulas != null && !hasFormulas.equals(chunk.getHasFormulas())) continue;
+                    double score = scorer.score(chunk.getText());
+                    if (score <= 0) continue;
+                    chunk.rescore((float) score);
+                    top.add(chunk);
+                    if (top.size() > wanted) top.poll();
+                }
+            }
+        }
+
+        List<PdfChunk> ranked = new ArrayList<>(top);
+        ranked.sort(RELEVANCE);
+        return skip >= ranked.size() ? List.of() : List.copyOf(ranked.subList((int) skip, ranked.size()));
+    }
+
+    @Override
+    public void streamEmbeddings(String embeddingModel, ObjectId pdfDocumentId, Consumer<PdfChunk> sink) {
+        if (storage == Storage.SINGLE) {
+            Criteria criteria = Criteria.where("embeddingModel").is(embeddingModel);
+            if (pdfDocumentId != null) {
+                criteria = criteria.and("pdfDocumentId").is(pdfDocumentId);
+            }
+            Query query = Query.query(criteria).cursorBatchSize(CURSOR_BATCH_SIZE);
+            query.fields().include("id", "pdfDocumentId", "embeddingModel", "embedding");
+            try (Stream<PdfChunk> chunks = mongoTemplate.stream(query, PdfChunk.class)) {
+                chunks.forEach(sink);
+            }
+            return;
+        }
+        Criteria criteria = Criteria.where("chunks.embeddingModel").is(embeddingModel);
+        if (pdfDocumentId != null) {
+            criteria = criteria.and("pdfDocumentId").is(pdfDocumentId);
+        }
+        Query query = Query.query(criteria).cursorBatchSize(bucketBatch());
+        query.fields().include("pdfDocumentId", "firstChunkIndex", "lastChunkIndex",
+                "chunks.chunkId", "chunks.chunkIndex", "chunks.embeddingModel", "chunks.embedding");
+        try (Stream<PdfChunkBucket> buckets = mongoTemplate.stream(query, PdfChunkBucket.class)) {
+            buckets.forEach(bucket -> bucket.unpack().stream()
+                    .filter(chunk -> embeddingModel.equals(chunk.getEmbeddingModel()))
+                    .forEach(sink));
+        }
+    }
+
+    @Override
+    public int backfillEmbeddings(String embeddingModel, Function<String, byte[]> embedding) {
+        int count = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+
+        if (storage == Storage.SINGLE) {
+            Query query = Query.query(Criteria.where("embeddingModel").ne(embeddingModel)).cursorBatchSize(CURSOR_BATCH_SIZE);
+            query.fields().include("id", "text");
+            try (Stream<PdfChunk> chunks = mongoTemplate.stream(query, PdfChunk.class)) {
+                for (PdfChunk chunk : (Iterable<PdfChunk>) chunks::iterator) {
+                    if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PdfChunk.class);
+                    bulk.updateOne(Query.query(Criteria.where("id").is(chunk.getId())),
+                            new Update().set("embeddingModel", embeddingModel)
+                                    .set("embedding", embedding.apply(chunk.getText())));
+                    count++;
+                    if (++pending == UPDATE_BATCH_SIZE) {
+                        bulk.execute();
+                        bulk = null;
+                        pending = 0;
+                    }
+                }
+            }
+        } else {
+            // 버킷 단위로 항목 배열을 다시 쓴다 (lastChunkIndex 까지 같을 때만, 그사이 잘린 버킷은 다음 재빌드로)
+            Query query = Query.query(Criteria.where("chunks").elemMatch(Criteria.where("embeddingModel").ne(embeddingModel)))
+                    .cursorBatchSize(bucketBatch());
+            try (Stream<PdfChunkBucket> buckets = mongoTemplate.stream(query, PdfChunkBucket.class)) {
+                for (PdfChunkBucket bucket : (Iterable<PdfChunkBucket>) buckets::iterator) {
+                    int updated = bucket.reembed(embeddingModel, embedding);
+                    if (updated == 0) continue;
+                    if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PdfChunkBucket.class);
+                    bulk.updateOne(Query.query(Criteria.where("id").is(bucket.getId()).and("lastChunkIndex").is(bucket.getLastChunkIndex())),
+                            new Update().set("chunks", bucket.getChunks()));
+                    count += updated;
+                    if (++pending == Math.max(1, UPDATE_BATCH_SIZE / bucketSize)) {
+                        bulk.execute();
+                        bulk = null;
+                        pending = 0;
+                    }
+                }
+            }
+        }
+        if (bulk != null) bulk.execute();
+        return count;
+    }
+
+    @Override
+    public long countByPdfDocumentId(ObjectId pdfDocumentId) {
+        if (storage == Storage.SINGLE) {
+            return mongoTemplate.count(Query.query(byDocument(pdfDocumentId)), PdfChunk.class);
+        }
+        // 버킷 안 청크 인덱스는 연속이므로 범위 길이의 합
+        Query query = Query.query(byDocument(pdfDocumentId));
+        query.fields().include("firstChunkIndex", "lastChunkIndex");
+        long count = 0;
+        for (PdfChunkBucket bucket : mongoTemplate.find(query, PdfChunkBucket.class)) {
+            count += bucket.getLastChunkIndex() - bucket.getFirstChunkIndex() + 1;
+        }
+        return count;
+    }
+
+    @Override
+    public void deleteByPdfDocumentId(ObjectId pdfDocumentId) {
+        // 마이그레이션 전 데이터가 남아 있을 수 있으므로 두 저장소 모두 정리
+        mongoTemplate.remove(Query.query(byDocument(pdfDocumentId)), PdfChunk.class);
+        mongoTemplate.remove(Query.query(byDocument(pdfDocumentId)), PdfChunkBucket.class);
+    }
+
+    @Override
+    public void deleteByPdfDocumentIdAndChunkIndexGreaterThanEqual(ObjectId pdfDocumentId, Integer chunkIndex) {
+        if (storage == Storage.SINGLE) {
+            mongoTemplate.remove(Query.query(byDocument(pdfDocumentId).and("chunkIndex").gte(chunkIndex)), PdfChunk.class);
+            return;
+        }
+        mongoTemplate.remove(Query.query(byDocument(pdfDocumentId).and("firstChunkIndex").gte(chunkIndex)), PdfChunkBucket.class);
+        // chunkIndex 에 걸친 버킷은 뒷부분만 잘라낸다
+        mongoTemplate.updateFirst(
+                Query.query(byDocument(pdfDocumentId).and("lastChunkIndex").gte(chunkIndex)),
+                new Update().pull("chunks", new Document("chunk_index", new Document("$gte", chunkIndex)))
+                        .set("lastChunkIndex", chunkIndex - 1),
+                PdfChunkBucket.class);
+    }
+
+    @Override
+    public List<ObjectId> findDocumentIds(Storage from) {
+        Class<?> type = from == Storage.SINGLE ? PdfChunk.class : PdfChunkBucket.class;
+        return mongoTemplate.findDistinct(new Query(), "pdfDocumentId", type, ObjectId.class);
+    }
+
+    @Override
+    public int moveDocument(ObjectId pdfDocumentId, Storage from, Storage to) {
+        if (from == to) {
+            return 0;
+        }
+        // 이전에 중단된 이동이 남긴 대상 쪽 데이터부터 정리
+        remove(to, pdfDocumentId);
+
+        int moved = 0;
+        int batchSize = bucketSize * 16;
+        List<PdfChunk> batch = new ArrayList<>(batchSize);
+        if (from == Storage.SINGLE) {
+            Query query = Query.query(byDocument(pdfDocumentId)).with(CHUNK_INDEX_ASC).cursorBatchSize(CURSOR_BATCH_SIZE);
+            try (Stream<PdfChunk> chunks = mongoTemplate.stream(query, PdfChunk.class)) {
+                for (PdfChunk chunk : (Iterable<PdfChunk>) chunks::iterator) {
+                    batch.add(chunk);
+                    if (batch.size() == batchSize) moved += flush(to, batch);
+                }
+            }
+        } else {
+            Query query = Query.query(byDocument(pdfDocumentId)).with(FIRST_CHUNK_INDEX_ASC).cursorBatchSize(bucketBatch());
+            try (Stream<PdfChunkBucket> buckets = mongoTemplate.stream(query, PdfChunkBucket.class)) {
+                for (PdfChunkBucket bucket : (Iterable<PdfChunkBucket>) buckets::iterator) {
+                    batch.addAll(bucket.unpack());
+                    if (batch.size() >= batchSize) moved += flush(to, batch);
+                }
+            }
+        }
+        moved += flush(to, batch);
+
+        remove(from, pdfDocumentId);
+        return moved;
+    }
+
+    /* ========================= Helpers ========================= */
+
+    private static TextQuery textQuery(String searchText, ObjectId pdfDocumentId, Duration maxTime) {
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchText)).sortByScore();
+        if (maxTime != null) {
+            query.maxTime(maxTime);
+        }
+        if (pdfDocumentId != null) {
+            query.addCriteria(byDocument(pdfDocumentId));
+        }
+        return query;
+    }
+
+    private static Criteria byDocument(ObjectId pdfDocumentId) {
+        return Criteria.where("pdfDocumentId").is(pdfDocumentId);
+    }
+
+    // 버킷 커서 배치 크기 (청크 수 기준 CURSOR_BATCH_SIZE 에 맞춤)
+    private int bucketBatch() {
+        return Math.max(1, CURSOR_BATCH_SIZE / bucketSize);
+    }
+
+    private int flush(Storage to, List<PdfChunk> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            save(to, batch);
+            batch.clear();
+        }
+        return size;
+    }
+
+    private void remove(Storage target, ObjectId pdfDocumentId) {
+        Class<?> type = target == Storage.SINGLE ? PdfChunk.class : PdfChunkBucket.class;
+        mongoTemplate.remove(Query.query(byDocument(pdfDocumentId)), type);
+    }
+
+    private List<PdfChunk> save(Storage target, List<PdfChunk> chunks) {
+        if (chunks.isEmpty()) {
+            return List.of();
+        }
+        if (target == Storage.SINGLE) {
+            return new ArrayList<>(mongoTemplate.insert(chunks, PdfChunk.class));
+        }
+        List<PdfChunkBucket> buckets = new ArrayList<>(chunks.size() / bucketSize + 1);
+        int start = 0;
+        for (int i = 1; i <= chunks.size(); i++) {
+            // 문서가 바뀌거나, bucket-size 에 닿거나, 청크 인덱스가 끊기면 버킷을 닫는다
+            boolean close = i == chunks.size()
+                    || i - start == bucketSize
+                    || !chunks.get(i).getPdfDocumentId().equals(chunks.get(start).getPdfDocumentId())
+                    || chunks.get(i).getChunkIndex() != chunks.get(i - 1).getChunkIndex() + 1;
+            if (close) {
+                buckets.add(PdfChunkBucket.of(chunks.get(start).getPdfDocumentId(), chunks.subList(start, i)));
+                start = i;
+            }
+        }
+
+        List<PdfChunk> saved = new ArrayList<>(chunks.size());
+        for (PdfChunkBucket bucket : mongoTemplate.insert(buckets, PdfChunkBucket.class)) {
+            saved.addAll(bucket.unpack());
+        }
+        return saved;
+    }
+}
@@ -19,6 +19,8 @@ public interface PdfDocumentRepository extends MongoRepository<PdfDocument, Obje
     @Query("{'filePath': ?0}")
     Optional<PdfDocument> findByFilePath(String filePath);
     
+    Optional<PdfDocument> findFirstByContentHashAndProcessingStatus(String contentHash, PdfDocument.ProcessingStatus status);
+    
     List<PdfDocument> findByIsLargeFile(Boolean isLargeFile);
     
     @Query("{'fileSize': {$gte: ?0}}")
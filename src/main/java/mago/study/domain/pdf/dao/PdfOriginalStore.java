@@ -0,0 +1,68 @@
+package mago.study.domain.pdf.dao;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 원본 PDF 의 GridFS 사본 (버킷 "pdf_originals").
+ * 로컬 파일이 없어진 문서를 내려받을 때 대체 소스로 쓴다.
+ */
+@Component
+public class PdfOriginalStore {
+
+    private static final String BUCKET = "pdf_originals";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GridFSBucket bucket;
+
+    public PdfOriginalStore(MongoDatabaseFactory databaseFactory) {
+        this.bucket = GridFSBuckets.create(databaseFactory.getMongoDatabase(), BUCKET);
+    }
+
+    /** 파일을 그대로 올리고 GridFS 파일 id 반환 */
+    public String store(Path file, String filename, String contentHash) throws IOException {
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new Document("contentType", "application/pdf").append("contentHash", contentHash));
+        try (InputStream in = Files.newInputStream(file)) {
+            return bucket.uploadFromStream(filename, in, options).toString();
+        }
+    }
+
+    /**
+     * [start, start + count) 바이트를 out 으로 복사한다. 앞부분은 GridFS 청크 단위로 건너뛴다.
+     * 저장된 파일이 그보다 짧으면 응답 길이가 맞지 않으므로 {@link EOFException}.
+     */
+    public void copyRange(String gridFsId, long start, long count, OutputStream out) throws IOException {
+        try (GridFSDownloadStream in = bucket.openDownloadStream(new ObjectId(gridFsId))) {
+            in.skipNBytes(start);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("GridFS 원본이 요청 범위보다 짧습니다: " + gridFsId + " (" + remaining + " bytes 부족)");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /** 사본 삭제 (원본 내용이 바뀌어 새 사본으로 교체할 때) */
+    public void delete(String gridFsId) {
+        bucket.delete(new ObjectId(gridFsId));
+    }
+}
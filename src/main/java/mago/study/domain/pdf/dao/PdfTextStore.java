@@ -0,0 +1,186 @@
+package mago.study.domain.pdf.dao;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 추출 텍스트 전문의 GridFS 저장소 (버킷 "fs").
+ * - 쓰기: 업로드 스트림을 열어 두고 추출한 텍스트를 바로 압축해 흘려 보낸다 (전체 텍스트를 힙에 모으지 않음)
+ * - 읽기: 압축을 풀며 스트리밍, 바이트 구간 요청은 앞부분을 풀어서 건너뛴다
+ * 코덱과 원본(UTF-8) 길이는 GridFS 파일 metadata 에 기록한다.
+ */
+@Slf4j
+@Component
+public class PdfTextStore {
+
+    private static final String FILES_COLLECTION = "fs.files";
+    private static final String CONTENT_TYPE = "text/plain; charset=UTF-8";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Codec {
+        NONE, GZIP, DEFLATE;
+
+        private OutputStream wrap(OutputStream out) throws IOException {
+            return switch (this) {
+                case NONE -> out;
+                case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+                case DEFLATE -> new DeflaterOutputStream(out);
+            };
+        }
+
+        private InputStream unwrap(InputStream in) throws IOException {
+            return switch (this) {
+                case NONE -> in;
+                case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+                case DEFLATE -> new InflaterInputStream(in);
+            };
+        }
+    }
+
+    /** 저장된 텍스트 정보. length 는 압축 전 UTF-8 바이트 수 */
+    public record TextInfo(ObjectId id, String filename, long length, Codec codec) {}
+
+    private final GridFSBucket bucket;
+    private final MongoDatabaseFactory databaseFactory;
+    private final Codec codec;
+
+    public PdfTextStore(MongoDatabaseFactory databaseFactory, @Value("${pdf.text.codec:gzip}") String codec) {
+        this.databaseFactory = databaseFactory;
+        this.bucket = GridFSBuckets.create(databaseFactory.getMongoDatabase());
+        this.codec = Codec.valueOf(codec.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * 업로드 시작. 반환된 Upload 에 텍스트를 쓰고 finish() 로 확정하거나 abort() 로 버린다.
+     */
+    public Upload openUpload(String filename) throws IOException {
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new Document("contentType", CONTENT_TYPE).append("codec", codec.name()));
+        return new Upload(bucket.openUploadStream(filename, options), codec);
+    }
+
+    public TextInfo info(String gridFsId) {
+        GridFSFile file = bucket.find(Filters.eq("_id", new ObjectId(gridFsId))).first();
+        if (file == null) {
+            return null;
+        }
+        Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+        // 코덱 기록 이전(legacy) 파일은 무압축으로 간주
+        Codec stored = Codec.valueOf(metadata.get("codec", Codec.NONE.name()));
+        Number length = metadata.get("uncompressedLength", Number.class);
+        return new TextInfo(file.getObjectId(), file.getFilename(), length != null ? length.longValue() : file.getLength(), stored);
+    }
+
+    /**
+     * 압축을 풀어 [start, start + count) 바이트를 out 으로 복사한다.
+     * 저장된 텍스트가 그보다 짧으면 {@link EOFException}.
+     */
+    public void copyRange(TextInfo info, long start, long count, OutputStream out) throws IOException {
+        try (InputStream in = info.codec().unwrap(bucket.openDownloadStream(info.id()))) {
+            in.skipNBytes(start);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("GridFS 텍스트가 요청 범위보다 짧습니다: " + info.id() + " (" + remaining + " bytes 부족)");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 업로드 1건. 쓰기 스레드 1개에서만 사용한다.
+     */
+    public final class Upload {
+        private final GridFSUploadStream uploadStream;
+        private final CountingOutputStream counter;
+        private final OutputStream compressed;
+        private final Writer writer;
+        private boolean closed;
+
+        private Upload(GridFSUploadStream uploadStream, Codec codec) throws IOException {
+            this.uploadStream = uploadStream;
+            this.compressed = codec.wrap(uploadStream);
+            this.counter = new CountingOutputStream(compressed);
+            this.writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        public Writer writer() {
+            return writer;
+        }
+
+        /** 남은 압축 데이터를 내보내고 업로드를 확정한 뒤 GridFS 파일 id 반환 */
+        public String finish() throws IOException {
+            writer.flush();
+            // 압축 스트림을 닫으면 남은 데이터를 내보내고 업로드 스트림까지 닫혀 파일이 확정된다
+            compressed.close();
+            closed = true;
+
+            ObjectId id = uploadStream.getObjectId();
+            databaseFactory.getMongoDatabase().getCollection(FILES_COLLECTION)
+                    .updateOne(Filters.eq("_id", id), Updates.set("metadata.uncompressedLength", counter.count));
+            return id.toString();
+        }
+
+        /** 업로드 취소 (이미 올라간 GridFS 청크 삭제) */
+        public void abort() {
+            if (closed) return;
+            closed = true;
+            try {
+                uploadStream.abort();
+            } catch (RuntimeException e) {
+                log.warn("GridFS 업로드 취소 실패: {}", uploadStream.getObjectId(), e);
+            }
+        }
+    }
+
+    /** 압축 전 바이트 수 집계 */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -7,16 +7,21 @@ import lombok.NoArgsConstructor;
 import mago.study.global.entity.BaseDocument;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+import java.time.LocalDateTime;
 
 @Document(collection = "pdf_chunks")
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@CompoundIndex(name = "pdf_document_chunk_index", def = "{'pdfDocumentId': 1, 'chunkIndex': 1}")
+@CompoundIndex(name = "pdf_document_id_chunk_index", def = "{'pdf_document_id': 1, 'chunk_index': 1}")
 public class PdfChunk extends BaseDocument {
     @Id
     private ObjectId id;
@@ -27,6 +32,8 @@ public class PdfChunk extends BaseDocument {
     @Field("chunk_index")
     private Integer chunkIndex;
     
+    // 전문 검색용 텍스트 인덱스 (컬렉션당 1개)
+    @TextIndexed
     @Field("text")
     private String text;
     
@@ -36,6 +43,21 @@ public class PdfChunk extends BaseDocument {
     @Field("has_formulas")
     private Boolean hasFormulas;
     
+    // 임베딩 (little-endian float32) 과 만든 임베더 이름
+    @Field("embedding")
+    private byte[] embedding;
+    
+    @Field("embedding_model")
+    private String embeddingModel;
+    
+    // 텍스트 검색 시에만 채워지는 관련도 점수 (저장되지 않음)
+    @TextScore
+    private Float score;
+    
+    // 버킷에서 풀어낸 청크의 생성 시각 (버킷 생성 시각, 저장되지 않음)
+    @Transient
+    private LocalDateTime packedAt;
+    
     public static PdfChunk of(ObjectId pdfDocumentId, int chunkIndex, String processedText, boolean hasFormulas) {
         return PdfChunk.builder()
                 .pdfDocumentId(pdfDocumentId)
@@ -45,4 +67,19 @@ public class PdfChunk extends BaseDocument {
                 .hasFormulas(hasFormulas)
                 .build();
     }
+    
+    public void embed(String embeddingModel, byte[] embedding) {
+        this.embeddingModel = embeddingModel;
+        this.embedding = embedding;
+    }
+
+    /** 버킷 저장 검색에서 청크 단위로 다시 매긴 관련도 점수 */
+    public void rescore(float score) {
+        this.score = score;
+    }
+
+    @Override
+    public LocalDateTime getCreateAt() {
+        return packedAt != null ? packedAt : super.getCreateAt();
+    }
 }
\ No newline at end of file
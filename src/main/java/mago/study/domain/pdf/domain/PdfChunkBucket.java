@@ -0,0 +1,145 @@
+package mago.study.domain.pdf.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import mago.study.global.entity.BaseDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 연속된 청크 N 개를 묶어 저장하는 버킷 (pdf.chunk.storage=bucketed).
+ * (pdfDocumentId, firstChunkIndex) 가 버킷 키이고, 청크 id 는 청크마다 그대로 유지한다.
+ */
+@Document(collection = "pdf_chunk_buckets")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@CompoundIndex(name = "pdf_document_first_chunk_index", def = "{'pdf_document_id': 1, 'first_chunk_index': 1}", unique = true)
+public class PdfChunkBucket extends BaseDocument {
+    @Id
+    private ObjectId id;
+
+    @Field("pdf_document_id")
+    private ObjectId pdfDocumentId;
+
+    // 버킷의 첫/마지막 청크 인덱스 (청크 인덱스는 버킷 안에서 연속)
+    @Field("first_chunk_index")
+    private Integer firstChunkIndex;
+
+    @Field("last_chunk_index")
+    private Integer lastChunkIndex;
+
+    @Field("chunks")
+    private List<Entry> chunks;
+
+    // 텍스트 검색 시에만 채워지는 관련도 점수 (저장되지 않음)
+    @TextScore
+    private Float score;
+
+    public static PdfChunkBucket of(ObjectId pdfDocumentId, List<PdfChunk> chunks) {
+        List<Entry> entries = new ArrayList<>(chunks.size());
+        for (PdfChunk chunk : chunks) {
+            entries.add(Entry.from(chunk));
+        }
+        return PdfChunkBucket.builder()
+                .pdfDocumentId(pdfDocumentId)
+                .firstChunkIndex(chunks.getFirst().getChunkIndex())
+                .lastChunkIndex(chunks.getLast().getChunkIndex())
+                .chunks(entries)
+                .build();
+    }
+
+    /** 버킷을 청크 목록으로 풀어낸다 (chunkIndex 순) */
+    public List<PdfChunk> unpack() {
+        List<PdfChunk> unpacked = new ArrayList<>(chunks.size());
+        for (Entry entry : chunks) {
+            unpacked.add(entry.toChunk(this));
+        }
+        return unpacked;
+    }
+
+    /** 임베딩이 없거나 다른 임베더로 만든 항목의 임베딩을 다시 계산, 갱신한 항목 수 */
+    public int reembed(String embeddingModel, Function<String, byte[]> embedding) {
+        int updated = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            Entry entry = chunks.get(i);
+            if (embeddingModel.equals(entry.getEmbeddingModel())) continue;
+            chunks.set(i, entry.toBuilder()
+                    .embeddingModel(embeddingModel)
+                    .embedding(embedding.apply(entry.getText()))
+                    .build());
+            updated++;
+        }
+        return updated;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder(toBuilder = true)
+    public static class Entry {
+        // 벡터 인덱스/검색 결과가 참조하는 청크 id
+        @Indexed(name = "bucket_chunk_id_index")
+        @Field("chunk_id")
+        private ObjectId chunkId;
+
+        @Field("chunk_index")
+        private Integer chunkIndex;
+
+        @TextIndexed
+        @Field("text")
+        private String text;
+
+        @Field("chunk_size")
+        private Integer chunkSize;
+
+        @Field("has_formulas")
+        private Boolean hasFormulas;
+
+        @Field("embedding")
+        private byte[] embedding;
+
+        @Field("embedding_model")
+        private String embeddingModel;
+
+        static Entry from(PdfChunk chunk) {
+            return Entry.builder()
+                    .chunkId(chunk.getId() != null ? chunk.getId() : new ObjectId())
+                    .chunkIndex(chunk.getChunkIndex())
+                    .text(chunk.getText())
+                    .chunkSize(chunk.getChunkSize())
+                    .hasFormulas(chunk.getHasFormulas())
+                    .embedding(chunk.getEmbedding())
+                    .embeddingModel(chunk.getEmbeddingModel())
+                    .build();
+        }
+
+        PdfChunk toChunk(PdfChunkBucket bucket) {
+            return PdfChunk.builder()
+                    .id(chunkId)
+                    .pdfDocumentId(bucket.getPdfDocumentId())
+                    .chunkIndex(chunkIndex)
+                    .text(text)
+                    .chunkSize(chunkSize)
+                    .hasFormulas(hasFormulas)
+                    .embedding(embedding)
+                    .embeddingModel(embeddingModel)
+                    .score(bucket.getScore())
+                    .packedAt(bucket.getCreateAt())
+                    .build();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import mago.study.domain.pdf.util.PdfTextChunker;
 import mago.study.global.entity.BaseDocument;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
@@ -36,23 +37,44 @@ public class PdfDocument extends BaseDocument {
     @Field("file_path")
     private String filePath;
     
+    // 내용 해시를 계산할 때 파일의 수정 시각 (epoch ms). 로컬 파일이 그 뒤로 바뀌었는지 확인용
+    @Field("file_modified_at")
+    private Long fileModifiedAt;
+    
+    // 파일 내용 SHA-256 (경로가 달라도 같은 파일이면 다시 처리하지 않는다)
+    @Indexed
+    @Field("content_hash")
+    private String contentHash;
+    
     @Field("is_large_file")
     private Boolean isLargeFile;
     
     @Field("grid_fs_id")
     private String gridFsId;
     
+    // 원본 PDF 의 GridFS 사본 (pdf.download.store-original 일 때만)
+    @Field("original_grid_fs_id")
+    private String originalGridFsId;
+    
     @Field("processing_status")
     private ProcessingStatus processingStatus;
     
     @Field("error_message")
     private String errorMessage;
     
+    // 재개 지점: 다음에 추출할 페이지와 그때의 청크 분할 상태 (처리 완료 시 비움)
+    @Field("resume_page")
+    private Integer resumePage;
+    
+    @Field("chunker_state")
+    private PdfTextChunker.State chunkerState;
+    
     public enum ProcessingStatus {
         PENDING,
         PROCESSING, 
         COMPLETED,
-        FAILED
+        FAILED,
+        CANCELLED
     }
     
     public void updateProcessingStatus(ProcessingStatus status, String errorMessage) {
@@ -60,6 +82,24 @@ public class PdfDocument extends BaseDocument {
         this.errorMessage = errorMessage;
     }
     
+    public void storeOriginal(String originalGridFsId) {
+        this.originalGridFsId = originalGridFsId;
+    }
+    
+    public void checkpoint(int resumePage, PdfTextChunker.State chunkerState) {
+        this.resumePage = resumePage;
+        this.chunkerState = chunkerState;
+    }
+    
+    public void clearCheckpoint() {
+        this.resumePage = null;
+        this.chunkerState = null;
+    }
+    
+    public boolean hasCheckpoint() {
+        return resumePage != null && chunkerState != null;
+    }
+    
     public void completeProcessing(String gridFsId) {
         this.processingStatus = ProcessingStatus.COMPLETED;
         this.gridFsId = gridFsId;
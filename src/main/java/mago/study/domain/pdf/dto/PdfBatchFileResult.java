@@ -0,0 +1,51 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+
+@Builder
+public record PdfBatchFileResult(
+        String path,
+        // 파일별 처리 작업 (GET /api/pdf/jobs/{jobId} 로 진행률 조회, 취소 가능). 같은 파일의 작업이 이미 있어 건너뛰면 null
+        String jobId,
+        long sizeBytes,
+        Status status,
+        String documentId,
+        int pages,
+        int chunks,
+        // 메모리 예산을 기다린 시간 / 처리 시간
+        long waitMillis,
+        long elapsedMillis,
+        String errorMessage
+) {
+    public enum Status {
+        COMPLETED, SKIPPED, FAILED, CANCELLED
+    }
+
+    public static PdfBatchFileResult of(String path, String jobId, long sizeBytes, Status status, String documentId, int pages, int chunks,
+                                        long waitMillis, long elapsedMillis) {
+        return PdfBatchFileResult.builder()
+                .path(path)
+                .jobId(jobId)
+                .sizeBytes(sizeBytes)
+                .status(status)
+                .documentId(documentId)
+                .pages(pages)
+                .chunks(chunks)
+                .waitMillis(waitMillis)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    public static PdfBatchFileResult failed(String path, String jobId, long sizeBytes, Status status, long waitMillis, long elapsedMillis,
+                                            String errorMessage) {
+        return PdfBatchFileResult.builder()
+                .path(path)
+                .jobId(jobId)
+                .sizeBytes(sizeBytes)
+                .status(status)
+                .waitMillis(waitMillis)
+                .elapsedMillis(elapsedMillis)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
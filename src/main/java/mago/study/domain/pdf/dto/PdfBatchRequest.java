@@ -0,0 +1,16 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+
+@Builder
+public record PdfBatchRequest(
+        // PDF 를 찾을 디렉터리 (manifest 와 둘 중 하나)
+        String directory,
+        // 한 줄에 PDF 경로 하나 (빈 줄/# 주석 무시, 상대 경로는 manifest 위치 기준)
+        String manifest,
+        // 하위 디렉터리까지 찾을지 (기본 false)
+        Boolean recursive,
+        // 동시에 처리할 파일 수 (없으면 pdf.batch.parallelism)
+        Integer parallelism
+) {
+}
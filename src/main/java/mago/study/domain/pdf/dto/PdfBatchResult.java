@@ -0,0 +1,40 @@
+package mago.study.domain.pdf.dto;
+
+import java.util.List;
+
+public record PdfBatchResult(
+        int filesFound,
+        int completed,
+        int skipped,
+        int failed,
+        long totalBytes,
+        int pages,
+        int chunks,
+        int parallelism,
+        int memoryBudgetMb,
+        // 작업 훔치기 횟수 (ForkJoinPool steal count)
+        long steals,
+        long elapsedMillis,
+        List<PdfBatchFileResult> files
+) {
+    public static PdfBatchResult of(List<PdfBatchFileResult> files, int parallelism, int memoryBudgetMb, long steals, long elapsedMillis) {
+        return new PdfBatchResult(
+                files.size(),
+                count(files, PdfBatchFileResult.Status.COMPLETED),
+                count(files, PdfBatchFileResult.Status.SKIPPED),
+                count(files, PdfBatchFileResult.Status.FAILED) + count(files, PdfBatchFileResult.Status.CANCELLED),
+                files.stream().mapToLong(PdfBatchFileResult::sizeBytes).sum(),
+                files.stream().mapToInt(PdfBatchFileResult::pages).sum(),
+                files.stream().mapToInt(PdfBatchFileResult::chunks).sum(),
+                parallelism,
+                memoryBudgetMb,
+                steals,
+                elapsedMillis,
+                files
+        );
+    }
+
+    private static int count(List<PdfBatchFileResult> files, PdfBatchFileResult.Status status) {
+        return (int) files.stream().filter(file -> file.status() == status).count();
+    }
+}
@@ -0,0 +1,22 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+
+@Builder
+public record PdfChunkMigrationResponse(
+        String from,
+        String to,
+        int documents,
+        long chunks,
+        long elapsedMillis
+) {
+    public static PdfChunkMigrationResponse of(String from, String to, int documents, long chunks, long elapsedMillis) {
+        return PdfChunkMigrationResponse.builder()
+                .from(from)
+                .to(to)
+                .documents(documents)
+                .chunks(chunks)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+}
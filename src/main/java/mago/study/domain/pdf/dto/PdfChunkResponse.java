@@ -13,6 +13,8 @@ public record PdfChunkResponse(
         String text,
         Integer chunkSize,
         Boolean hasFormulas,
+        // 텍스트 검색 관련도 (검색 결과에만 존재)
+        Float score,
         LocalDateTime createdAt
 ) {
     public static PdfChunkResponse from(PdfChunk chunk) {
@@ -23,6 +25,7 @@ public record PdfChunkResponse(
                 .text(chunk.getText())
                 .chunkSize(chunk.getChunkSize())
                 .hasFormulas(chunk.getHasFormulas())
+                .score(chunk.getScore())
                 .createdAt(chunk.getCreateAt())
                 .build();
     }
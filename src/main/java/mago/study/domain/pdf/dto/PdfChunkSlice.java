@@ -0,0 +1,21 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record PdfChunkSlice(
+        List<PdfChunkResponse> chunks,
+        // 다음 페이지 요청의 after (마지막 chunkIndex)
+        Integer nextCursor,
+        boolean hasMore
+) {
+    public static PdfChunkSlice of(List<PdfChunkResponse> chunks, Integer nextCursor, boolean hasMore) {
+        return PdfChunkSlice.builder()
+                .chunks(chunks)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+import org.bson.Document;
+
+@Builder
+public record PdfChunkStorageResponse(
+        // 현재 저장 방식 (single | bucketed)
+        String storage,
+        CollectionStats single,
+        CollectionStats bucketed
+) {
+    public static PdfChunkStorageResponse of(String storage, CollectionStats single, CollectionStats bucketed) {
+        return PdfChunkStorageResponse.builder()
+                .storage(storage)
+                .single(single)
+                .bucketed(bucketed)
+                .build();
+    }
+
+    /** collStats 결과 중 크기 비교에 쓰는 값 */
+    public record CollectionStats(
+            String collection,
+            long documents,
+            long dataBytes,
+            long storageBytes,
+            long indexBytes
+    ) {
+        public static CollectionStats from(String collection, Document collStats) {
+            return new CollectionStats(
+                    collection,
+                    number(collStats, "count"),
+                    number(collStats, "size"),
+                    number(collStats, "storageSize"),
+                    number(collStats, "totalIndexSize")
+            );
+        }
+
+        private static long number(Document document, String key) {
+            Object value = document.get(key);
+            return value instanceof Number number ? number.longValue() : 0L;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record PdfDocumentSlice(
+        List<PdfProcessResponse> documents,
+        String nextCursor,
+        boolean hasMore
+) {
+    public static PdfDocumentSlice of(List<PdfProcessResponse> documents, String nextCursor, boolean hasMore) {
+        return PdfDocumentSlice.builder()
+                .documents(documents)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+import mago.study.domain.pdf.application.PdfJob;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record PdfJobResponse(
+        String jobId,
+        String filePath,
+        String status,
+        String documentId,
+        int totalPages,
+        int pagesDone,
+        int chunksSaved,
+        String errorMessage,
+        LocalDateTime submittedAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+    public static PdfJobResponse from(PdfJob job) {
+        return PdfJobResponse.builder()
+                .jobId(job.getId())
+                .filePath(job.getFilePath())
+                .status(job.getStatus().name())
+                .documentId(job.getDocumentId() != null ? job.getDocumentId().toString() : null)
+                .totalPages(job.getTotalPages())
+                .pagesDone(job.getPagesDone())
+                .chunksSaved(job.getChunksSaved())
+                .errorMessage(job.getErrorMessage())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
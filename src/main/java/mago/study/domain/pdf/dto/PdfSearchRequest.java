@@ -8,6 +8,10 @@ public record PdfSearchRequest(
         String documentId,
         Boolean hasFormulas,
         Integer pageStart,
-        Integer pageEnd
+        Integer pageEnd,
+        // 0부터 시작하는 결과 페이지 번호
+        Integer page,
+        // 페이지당 결과 수 (pdf.search.max-limit 로 제한)
+        Integer limit
 ) {
-}
\ No newline at end of file
+}
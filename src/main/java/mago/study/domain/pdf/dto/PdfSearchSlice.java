@@ -0,0 +1,22 @@
+package mago.study.domain.pdf.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record PdfSearchSlice(
+        List<PdfChunkResponse> chunks,
+        int page,
+        int limit,
+        boolean hasMore
+) {
+    public static PdfSearchSlice of(List<PdfChunkResponse> chunks, int page, int limit, boolean hasMore) {
+        return PdfSearchSlice.builder()
+                .chunks(chunks)
+                .page(page)
+                .limit(limit)
+                .hasMore(hasMore)
+                .build();
+    }
+}
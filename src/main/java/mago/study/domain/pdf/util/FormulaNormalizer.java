@@ -0,0 +1,264 @@
+package mago.study.domain.pdf.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * PDF 청크 수식/공백 정규화 및 수식 포함 여부 판정.
+ * - {@link #normalize}: 연산자 공백 정리 + 공백 축소 + 수식 판정을 한 번 스캔으로 처리 (인제스트 경로에서 사용)
+ * - normalizeFormulas / normalizeWhitespace / detectFormulas: 정규식 기준 구현 ({@link #normalize} 결과와 같아야 한다)
+ */
+public final class FormulaNormalizer {
+
+    static final Pattern FORMULA_PATTERN = Pattern.compile(
+        "(?i)(\\b(?:equation|formula|theorem|proof|lemma|corollary)\\b|" +
+        "[∫∑∏∆∇∂√±×÷≤≥≠≈∞α-ωΑ-Ω]|" +
+        "\\$[^$]+\\$|\\\\[a-zA-Z]+\\{[^}]*\\}|" +
+        "\\b(?:sin|cos|tan|log|ln|exp|lim|∫|∑)\\b|" +
+        "(?:\\d+[\\s]*[+\\-×÷=]\\s*\\d+)|" +
+        "(?:[xy]\\s*[=<>]\\s*[\\d\\w\\s+\\-×÷\\(\\)]+))"
+    );
+
+    // FORMULA_PATTERN 의 \b(...)\b 단어 (소문자)
+    private static final String[] KEYWORDS = {
+            "equation", "formula", "theorem", "proof", "lemma", "corollary",
+            "sin", "cos", "tan", "log", "ln", "exp", "lim"
+    };
+
+    // \명령{...} 판정 상태
+    private static final int LATEX_NONE = 0;
+    private static final int LATEX_BACKSLASH = 1;
+    private static final int LATEX_NAME = 2;
+    private static final int LATEX_OPEN = 3;
+
+    private FormulaNormalizer() {
+    }
+
+    /** 정규화된 텍스트와 수식 포함 여부 */
+    public record Result(String text, boolean hasFormulas) {}
+
+    /**
+     * normalizeWhitespace(normalizeFormulas(text)) 와 detectFormulas(text) 를 한 번 스캔으로 계산한다.
+     * 단어 경계는 JDK 21 정규식의 \b (ASCII 단어 문자, 결합 문자는 앞 글자를 따름) 와 같게 판정한다.
+     */
+    public static Result normalize(String text) {
+        if (text == null) {
+            return new Result(null, false);
+        }
+        int n = text.length();
+        StringBuilder sb = new StringBuilder(n + 16);
+        boolean pendingSpace = false;
+
+        boolean found = false;
+        boolean blank = true;
+        int wordStart = -1;
+        int lastDollar = -1;
+        int latex = LATEX_NONE;
+        // 마지막 비공백 문자 (없으면 -1), 숫자±숫자 판정 대기 중 여부
+        int prevNonSpace = -1;
+        boolean expectDigit = false;
+
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+
+            // ---- 수식 판정 ----
+            if (!found) {
+                if (isAsciiWord(c)) {
+                    if (wordStart < 0) wordStart = i;
+                } else if (wordStart >= 0) {
+                    found = isKeyword(text, wordStart, i);
+                    wordStart = -1;
+                }
+
+                if (expectDigit && !isSpace(c)) {
+                    found |= isDigit(c);
+                    expectDigit = false;
+                }
+
+                // $...$
+                if (c == '$') {
+                    if (lastDollar >= 0 && i - lastDollar >= 2) found = true;
+                    lastDollar = i;
+                }
+                // \명령{...}
+                if (latex == LATEX_OPEN) {
+                    if (c == '}') found = true;
+                } else if (c == '\\') {
+                    latex = LATEX_BACKSLASH;
+                } else if (isAsciiLetter(c)) {
+                    if (latex == LATEX_BACKSLASH) latex = LATEX_NAME;
+                } else {
+                    latex = c == '{' && latex == LATEX_NAME ? LATEX_OPEN : LATEX_NONE;
+                }
+
+                if (isFormulaSymbol(c)) {
+                    found = true;
+                }
+                // 숫자 [+-×÷=] 숫자
+                if ((c == '+' || c == '-' || c == '×' || c == '÷' || c == '=') && prevNonSpace >= 0 && isDigit((char) prevNonSpace)) {
+                    expectDigit = true;
+                }
+                // [xy] [=<>] 뒤에 값
+                if ((c == '=' || c == '<' || c == '>') && prevNonSpace >= 0 && isXy((char) prevNonSpace)
+                        && i + 1 < n && isRhsChar(text.charAt(i + 1))) {
+                    found = true;
+                }
+                if (!isSpace(c)) {
+                    prevNonSpace = c;
+                }
+            }
+
+            // ---- 정규화 ----
+            if (isSpace(c)) {
+                pendingSpace = true;
+            } else if (isOperator(c)) {
+                if (!blank) sb.append(' ');
+                sb.append(c);
+                blank = false;
+                pendingSpace = true;
+            } else {
+                if (pendingSpace && !blank) sb.append(' ');
+                sb.append(c);
+                blank = false;
+                pendingSpace = false;
+            }
+        }
+        if (!found && wordStart >= 0) {
+            found = isKeyword(text, wordStart, n);
+        }
+
+        // String.trim() 과 같은 기준으로 앞뒤 제거 (제어 문자 포함)
+        int start = 0;
+        int end = sb.length();
+        while (start < end && sb.charAt(start) <= ' ') start++;
+        while (end > start && sb.charAt(end - 1) <= ' ') end--;
+        return new Result(sb.substring(start, end), found);
+    }
+
+    /** 연산자 앞뒤 공백을 한 칸으로 맞춘다 */
+    public static String normalizeFormulas(String text) {
+        return text
+                .replaceAll("\\s*=\\s*", " = ")
+                .replaceAll("\\s*\\+\\s*", " + ")
+                .replaceAll("\\s*-\\s*", " - ")
+                .replaceAll("\\s*\\*\\s*", " * ")
+                .replaceAll("\\s*/\\s*", " / ")
+                .replaceAll("\\s*<\\s*", " < ")
+                .replaceAll("\\s*>\\s*", " > ")
+                .replaceAll("\\s*≤\\s*", " ≤ ")
+                .replaceAll("\\s*≥\\s*", " ≥ ")
+                .replaceAll("\\s*≠\\s*", " ≠ ");
+    }
+
+    /** 연속 공백을 한 칸으로 줄이고 앞뒤 공백 제거 */
+    public static String normalizeWhitespace(String text) {
+        return text.replaceAll("\\s+", " ").trim();
+    }
+
+    /** 수식/수학 용어 포함 여부 */
+    public static boolean detectFormulas(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return false;
+        }
+
+        return FORMULA_PATTERN.matcher(text).find();
+    }
+
+    /* ========================= Character classes ========================= */
+
+    // 정규식 \s
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isOperator(char c) {
+        return switch (c) {
+            case '=', '+', '-', '*', '/', '<', '>', '≤', '≥', '≠' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // 정규식 \w (ASCII)
+    private static boolean isAsciiWord(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '_';
+    }
+
+    private static boolean isXy(char c) {
+        return c == 'x' || c == 'y' || c == 'X' || c == 'Y';
+    }
+
+    // [\d\w\s+\-×÷\(\)]
+    private static boolean isRhsChar(char c) {
+        return isAsciiWord(c) || isSpace(c) || c == '+' || c == '-' || c == '×' || c == '÷' || c == '(' || c == ')';
+    }
+
+    // [∫∑∏∆∇∂√±×÷≤≥≠≈∞α-ωΑ-Ω]
+    private static boolean isFormulaSymbol(char c) {
+        if ((c >= 'α' && c <= 'ω') || (c >= 'Α' && c <= 'Ω')) {
+            return true;
+        }
+        return switch (c) {
+            case '∫', '∑', '∏', '∆', '∇', '∂', '√', '±', '×', '÷', '≤', '≥', '≠', '≈', '∞' -> true;
+            default -> false;
+        };
+    }
+
+    /* ========================= Word boundary ========================= */
+
+    /** [start, end) 가 앞뒤 단어 경계를 가진 키워드인지 (대소문자 무시, ASCII) */
+    private static boolean isKeyword(String text, int start, int end) {
+        int length = end - start;
+        if (length < 2 || length > 9) {
+            return false;
+        }
+        boolean matched = false;
+        for (String keyword : KEYWORDS) {
+            if (keyword.length() == length && text.regionMatches(true, start, keyword, 0, length)) {
+                matched = true;
+                break;
+            }
+        }
+        return matched && !isWordBefore(text, start) && !isWordAt(text, end);
+    }
+
+    // Pattern.Bound 의 왼쪽 판정: 앞 문자가 단어 문자이거나, 글자 뒤에 붙은 결합 문자
+    private static boolean isWordBefore(String text, int index) {
+        if (index == 0) {
+            return false;
+        }
+        int cp = Character.codePointBefore(text, index);
+        if (cp < 128) {
+            return isAsciiWord((char) cp);
+        }
+        return Character.getType(cp) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index - 1);
+    }
+
+    // Pattern.Bound 의 오른쪽 판정
+    private static boolean isWordAt(String text, int index) {
+        if (index >= text.length()) {
+            return false;
+        }
+        int cp = Character.codePointAt(text, index);
+        if (cp < 128) {
+            return isAsciiWord((char) cp);
+        }
+        return Character.getType(cp) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index);
+    }
+
+    private static boolean hasBaseCharacter(String text, int index) {
+        for (int x = index; x >= 0; x--) {
+            int cp = Character.codePointAt(text, x);
+            if (Character.isLetterOrDigit(cp)) return true;
+            if (Character.getType(cp) == Character.NON_SPACING_MARK) continue;
+            return false;
+        }
+        return false;
+    }
+}
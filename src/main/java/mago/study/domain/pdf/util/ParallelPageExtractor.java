@@ -0,0 +1,126 @@
+package mago.study.domain.pdf.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * 페이지 구간별 텍스트 추출을 여러 스레드로 나눠 수행한다.
+ * - PDDocument 는 스레드 안전하지 않으므로 워커마다 파일을 따로 로드해 재사용(최대 parallelism 개)
+ * - 결과는 구간 순서대로 consumer 에 전달되며, 동시에 떠 있는 구간 수를 제한해 메모리를 묶어 둔다
+ * 순차 추출과 같은 구간을 같은 방식으로 추출하므로 출력 텍스트도 같다.
+ */
+@Slf4j
+public class ParallelPageExtractor implements AutoCloseable {
+
+    /** 추출할 페이지 구간 (양 끝 포함) */
+    public record PageWindow(int startPage, int endPage) {}
+
+    @FunctionalInterface
+    public interface WindowConsumer {
+        void accept(PageWindow window, String text) throws IOException;
+    }
+
+    private final File file;
+    private final int parallelism;
+    private final ExecutorService executor;
+    // 구간 추출 시간(ns) 수신 (메트릭)
+    private final LongConsumer extractNanos;
+
+    // 쉬는 문서 / 로드한 전체 문서 (close 용)
+    private final ConcurrentLinkedQueue<PDDocument> idle = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<PDDocument> loaded = new ConcurrentLinkedQueue<>();
+
+    public ParallelPageExtractor(File file, int parallelism, LongConsumer extractNanos) {
+        this.file = file;
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = Executors.newFixedThreadPool(this.parallelism, Thread.ofPlatform().name("pdf-extract-", 0).factory());
+        this.extractNanos = extractNanos;
+    }
+
+    /**
+     * 구간들을 병렬로 추출하고 입력 순서대로 consumer 를 호출한다. consumer 는 호출 스레드에서 실행된다.
+     */
+    public void extract(List<PageWindow> windows, WindowConsumer consumer) throws IOException {
+        int maxInFlight = parallelism * 2;
+        Deque<Future<String>> inFlight = new ArrayDeque<>(maxInFlight);
+        int next = 0;
+        int done = 0;
+
+        try {
+            while (next < windows.size() || !inFlight.isEmpty()) {
+                while (next < windows.size() && inFlight.size() < maxInFlight) {
+                    PageWindow window = windows.get(next++);
+                    inFlight.addLast(executor.submit(() -> extractWindow(window)));
+                }
+
+                String text = await(inFlight.pollFirst());
+                consumer.accept(windows.get(done++), text);
+            }
+        } finally {
+            for (Future<String> f : inFlight) f.cancel(true);
+        }
+    }
+
+    private String extractWindow(PageWindow window) throws IOException {
+        PDDocument document = idle.poll();
+        if (document == null) {
+            document = PDDocument.load(file);
+            loaded.add(document);
+        }
+        try {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(window.startPage());
+            stripper.setEndPage(window.endPage());
+            long start = System.nanoTime();
+            String text = stripper.getText(document);
+            extractNanos.accept(System.nanoTime() - start);
+            return text;
+        } finally {
+            idle.offer(document);
+        }
+    }
+
+    private static String await(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF 추출 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException("PDF 구간 추출 실패", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            // 취소된 작업이 문서를 쓰는 중일 수 있으므로 종료를 기다린 뒤 닫는다
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (PDDocument document : loaded) {
+            try {
+                document.close();
+            } catch (IOException e) {
+                log.warn("PDF 문서 닫기 실패: {}", file, e);
+            }
+        }
+    }
+}
@@ -4,75 +4,395 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
+/**
+ * PDF 추출 텍스트를 크기 제한 청크로 나눈다.
+ * - 문장/문단 단위로 maxChunkSize 까지 채우고, 넘치면 마지막 문단·문장 경계에서 자른다
+ * - 다음 청크 앞에는 직전 청크 끝 CHUNK_OVERLAP 자(단어 경계 기준)를 겹쳐 붙인다
+ * - 절 제목 줄(Chapter/Section/번호 제목)을 만나면 겹침 없이 새 청크를 시작한다
+ * - 공백/개행 정리와 문장 경계 판정을 한 번의 선형 스캔으로 처리한다
+ * 문장 경계: [.!?] + 공백 + 대문자/한글 (예: "end. Next")
+ */
 @Component
 public class PdfTextChunker {
-    
+
     private static final int DEFAULT_CHUNK_SIZE = 4000;
     private static final int CHUNK_OVERLAP = 200;
-    private static final Pattern SENTENCE_PATTERN = Pattern.compile("[.!?]+\\s+");
-    private static final Pattern PARAGRAPH_PATTERN = Pattern.compile("\\n\\s*\\n|\\n(?=\\s*[A-Z가-힣])");
-    private static final Pattern SINGLE_LINE_BREAK = Pattern.compile("\\n");
-    private static final Pattern SECTION_PATTERN = Pattern.compile("\\n\\s*(Chapter|Section|\\d+\\.\\d*|[A-Z][^\\n]{10,50})\\n");
-    
+    private static final int MAX_HEADING_LENGTH = 60;
+
     public List<ChunkInfo> chunkText(String text) {
         return chunkText(text, DEFAULT_CHUNK_SIZE);
     }
-    
+
     public List<ChunkInfo> chunkText(String text, int maxChunkSize) {
         if (text == null || text.trim().isEmpty()) {
             return List.of();
         }
-        
-        List<ChunkInfo> chunks = new ArrayList<>();
-        
-        // 문장 단위로 분할
-        List<String> sentences = splitBySentences(text);
-        int chunkIndex = 0;
-        
-        for (String sentence : sentences) {
-            if (!sentence.trim().isEmpty()) {
-                chunks.add(new ChunkInfo(sentence.trim(), chunkIndex++));
-            }
-        }
-        
-        return chunks;
+
+        Session session = newSession(maxChunkSize);
+        session.feed(text);
+        session.finish();
+        return session.drain();
+    }
+
+    /**
+     * 여러 조각(페이지 구간)으로 나눠 들어오는 텍스트용 청크 세션.
+     * 조각을 이어 붙여 {@link #chunkText(String, int)} 한 것과 같은 청크를 만든다.
+     */
+    public Session newSession(int maxChunkSize) {
+        return new Session(maxChunkSize);
     }
     
-    private List<String> splitBySentences(String text) {
-        List<String> sentences = new ArrayList<>();
-        
-        // 먼저 줄바꿈을 공백으로 변환하여 텍스트 정리
-        String cleanText = text.replaceAll("\\n+", " ").replaceAll("\\s+", " ").trim();
+    /**
+     * {@link Session#state()} 로 저장해 둔 지점부터 이어서 분할하는 세션.
+     * 이후 입력에 대해 중단 없이 계속 분할한 것과 같은 청크(인덱스 포함)를 만든다.
+     */
+    public Session newSession(int maxChunkSize, State state) {
+        Session session = new Session(maxChunkSize);
+        session.restore(state);
+        return session;
+    }
+    
+    /**
+     * 세션 재개용 상태. 아직 청크로 내보내지 않은 텍스트와 경계 정보만 담는다.
+     */
+    public record State(
+            int nextIndex,
+            String current,
+            int contentStart,
+            int sentenceBoundary,
+            int paragraphBoundary,
+            boolean pendingSpace,
+            int pendingBoundary,
+            String partialLine
+    ) {
+    }
+
+    public static class Session {
+        private final int maxChunkSize;
+        private final int overlap;
+
+        // 현재 청크 (앞부분 contentStart 글자는 이전 청크에서 겹쳐 온 부분)
+        private final StringBuilder current;
+        private int contentStart;
+
+        // 자를 수 있는 위치 (없으면 -1)
+        private int sentenceBoundary = -1;
+        private int paragraphBoundary = -1;
+
+        // 공백을 만나면 바로 쓰지 않고 다음 글자 앞에 한 칸만 쓴다
+        private boolean pendingSpace;
+        // [.!?] 뒤 공백 위치. 다음 글자가 문장 시작 글자이면 문장 경계가 된다
+        private int pendingBoundary = -1;
+        private char lastChar;
+
+        // 조각 끝에서 잘린 줄
+        private final StringBuilder partialLine = new StringBuilder();
+
+        private final List<ChunkInfo> ready = new ArrayList<>();
+        private int nextIndex;
+
+        private Session(int maxChunkSize) {
+            this.maxChunkSize = Math.max(1, maxChunkSize);
+            this.overlap = Math.min(CHUNK_OVERLAP, this.maxChunkSize / 4);
+            this.current = new StringBuilder(this.maxChunkSize + 1);
+        }
+
+        /** 텍스트 조각 추가 */
+        public void feed(CharSequence text) {
+            int n = text.length();
+            int start = 0;
+
+            if (partialLine.length() > 0) {
+                int nl = indexOf(text, '\n', 0);
+                if (nl < 0) {
+                    partialLine.append(text);
+                    return;
+                }
+                partialLine.append(text, 0, nl);
+                processLine(partialLine, 0, partialLine.length());
+                partialLine.setLength(0);
+                start = nl + 1;
+            }
+
+            while (start < n) {
+                int nl = indexOf(text, '\n', start);
+                if (nl < 0) {
+                    partialLine.append(text, start, n);
+                    return;
+                }
+                processLine(text, start, nl);
+                start = nl + 1;
+            }
+        }
+
+        /** 남은 텍스트를 마지막 청크로 내보낸다 */
+        public void finish() {
+            if (partialLine.length() > 0) {
+                processLine(partialLine, 0, partialLine.length());
+                partialLine.setLength(0);
+            }
+            if (current.length() > contentStart) {
+                ready.add(new ChunkInfo(current.toString(), nextIndex++));
+            }
+            clear();
+        }
+
+        /** 현재 상태. {@link #drain()} 으로 꺼내지 않은 청크는 포함하지 않으므로 drain 후에 호출한다 */
+        public State state() {
+            if (!ready.isEmpty()) {
+                throw new IllegalStateException("drain 되지 않은 청크가 있습니다.");
+            }
+            return new State(nextIndex, current.toString(), contentStart, sentenceBoundary, paragraphBoundary,
+                    pendingSpace, pendingBoundary, partialLine.toString());
+        }
         
-        // 마침표 기준으로 문장 분할 (단, 약어나 숫자 뒤의 마침표는 제외)
-        String[] parts = cleanText.split("(?<=[.!?])\\s+(?=[A-Z가-힣])");
+        private void restore(State state) {
+            nextIndex = state.nextIndex();
+            current.append(state.current());
+            contentStart = state.contentStart();
+            sentenceBoundary = state.sentenceBoundary();
+            paragraphBoundary = state.paragraphBoundary();
+            pendingSpace = state.pendingSpace();
+            pendingBoundary = state.pendingBoundary();
+            partialLine.append(state.partialLine());
+            // 마지막으로 쓴 글자는 항상 공백이 아닌 글자
+            lastChar = current.isEmpty() ? 0 : current.charAt(current.length() - 1);
+        }
         
-        for (String part : parts) {
-            String trimmed = part.trim();
-            if (!trimmed.isEmpty()) {
-                sentences.add(trimmed);
+        /** 지금까지 완성된 청크를 꺼낸다 */
+        public List<ChunkInfo> drain() {
+            List<ChunkInfo> chunks = new ArrayList<>(ready);
+            ready.clear();
+            return chunks;
+        }
+
+        private void processLine(CharSequence seq, int start, int end) {
+            while (start < end && isSpace(seq.charAt(start))) start++;
+            while (end > start && isSpace(seq.charAt(end - 1))) end--;
+
+            if (start == end) {
+                paragraphBreak();
+                return;
             }
+
+            if (isHeading(seq, start, end)) {
+                sectionBreak();
+                appendRange(seq, start, end);
+                markSentenceEnd();
+                whitespace();
+                return;
+            }
+
+            appendRange(seq, start, end);
+            // 줄바꿈은 공백으로 취급
+            whitespace();
+        }
+
+        private void appendRange(CharSequence seq, int start, int end) {
+            for (int i = start; i < end; i++) {
+                char c = seq.charAt(i);
+                if (isSpace(c)) {
+                    whitespace();
+                } else {
+                    append(c);
+                }
+            }
+        }
+
+        private void whitespace() {
+            if (pendingSpace || current.length() == 0) return;
+            pendingSpace = true;
+            if (lastChar == '.' || lastChar == '!' || lastChar == '?') {
+                pendingBoundary = current.length();
+            }
+        }
+
+        private void append(char c) {
+            if (pendingSpace) {
+                if (pendingBoundary >= 0 && isSentenceStart(c)) {
+                    sentenceBoundary = pendingBoundary;
+                }
+                current.append(' ');
+                pendingSpace = false;
+            }
+            pendingBoundary = -1;
+            current.append(c);
+            lastChar = c;
+
+            while (current.length() > maxChunkSize) {
+                overflow();
+            }
+        }
+
+        private void markSentenceEnd() {
+            if (current.length() > contentStart) {
+                sentenceBoundary = current.length();
+            }
+        }
+
+        private void paragraphBreak() {
+            if (current.length() > contentStart) {
+                sentenceBoundary = current.length();
+                paragraphBoundary = current.length();
+            }
+            whitespace();
+            pendingBoundary = -1;
+        }
+
+        /** 절 경계: 겹침 없이 현재 청크를 닫는다 */
+        private void sectionBreak() {
+            if (current.length() > contentStart) {
+                ready.add(new ChunkInfo(current.toString(), nextIndex++));
+            }
+            clear();
+        }
+
+        /**
+         * 청크가 가득 참: 문단 경계(청크 절반 이상일 때) > 문장 경계 > 단어 경계 순으로 자른다.
+         * overlap 이하 길이에서 자르면 청크 전체가 다음 청크 앞에 그대로 겹쳐 들어가므로 그런 문장 경계는 쓰지 않는다.
+         */
+        private void overflow() {
+            int cut;
+            if (paragraphBoundary > contentStart && paragraphBoundary >= maxChunkSize / 2) {
+                cut = paragraphBoundary;
+            } else if (sentenceBoundary > contentStart && sentenceBoundary > overlap) {
+                cut = sentenceBoundary;
+            } else {
+                cut = wordCut();
+            }
+            emitWithOverlap(cut);
+        }
+
+        private int wordCut() {
+            for (int i = Math.min(maxChunkSize, current.length() - 1); i > contentStart; i--) {
+                if (current.charAt(i) == ' ') return i;
+            }
+            return maxChunkSize;
+        }
+
+        private void emitWithOverlap(int cut) {
+            int end = cut;
+            while (end > 0 && current.charAt(end - 1) == ' ') end--;
+            String chunk = current.substring(0, end);
+            ready.add(new ChunkInfo(chunk, nextIndex++));
+
+            int rest = cut;
+            while (rest < current.length() && current.charAt(rest) == ' ') rest++;
+
+            // 겹침: 청크 끝 overlap 글자를 단어 경계에서 시작하도록 맞춘다
+            int from = Math.max(0, chunk.length() - overlap);
+            if (from > 0 && chunk.charAt(from - 1) != ' ') {
+                int space = chunk.indexOf(' ', from);
+                from = space < 0 ? chunk.length() : space + 1;
+            }
+            int tailLength = chunk.length() - from;
+            boolean hasRest = rest < current.length();
+            int prefix = tailLength + (tailLength > 0 && hasRest ? 1 : 0);
+
+            // current = tail + " " + current[rest..]
+            current.delete(0, rest);
+            if (tailLength > 0) {
+                if (hasRest) current.insert(0, ' ');
+                current.insert(0, chunk, from, chunk.length());
+            }
+
+            sentenceBoundary = shift(sentenceBoundary, rest, prefix);
+            paragraphBoundary = shift(paragraphBoundary, rest, prefix);
+            pendingBoundary = shift(pendingBoundary, rest, prefix);
+            contentStart = prefix;
+        }
+
+        private static int shift(int offset, int removed, int prefix) {
+            return offset >= removed ? offset - removed + prefix : -1;
+        }
+
+        private void clear() {
+            current.setLength(0);
+            contentStart = 0;
+            sentenceBoundary = -1;
+            paragraphBoundary = -1;
+            pendingSpace = false;
+            pendingBoundary = -1;
+            lastChar = 0;
         }
-        
-        return sentences;
     }
-    
-    
-    
-    
-    
+
+    /**
+     * 절 제목 줄 판정: 짧고(60자 이하) 마침표로 끝나지 않으며
+     * "Chapter"/"Section"/"Part" 로 시작하거나 "1.2 Title" 처럼 번호 뒤에 대문자/한글 제목이 온다.
+     * 번호는 점이 하나 이상 있는 3자리 이하 숫자 묶음만 인정한다 ("1.", "2.3", "4.1.2").
+     * "1960 The war ..." 처럼 숫자로 시작하는 본문 줄은 제목이 아니다.
+     */
+    static boolean isHeading(CharSequence seq, int start, int end) {
+        if (end - start > MAX_HEADING_LENGTH) return false;
+        char last = seq.charAt(end - 1);
+        if (last == '.' || last == ',' || last == ';') return false;
+
+        if (startsWith(seq, start, end, "Chapter ") || startsWith(seq, start, end, "CHAPTER ")
+                || startsWith(seq, start, end, "Section ") || startsWith(seq, start, end, "SECTION ")
+                || startsWith(seq, start, end, "Part ")) {
+            return true;
+        }
+
+        int i = start;
+        boolean dotted = false;
+        while (i < end && isDigit(seq.charAt(i))) {
+            int from = i;
+            while (i < end && isDigit(seq.charAt(i))) i++;
+            if (i - from > 3) return false;
+            if (i >= end || seq.charAt(i) != '.') break;
+            i++;
+            dotted = true;
+        }
+        if (!dotted || i >= end || seq.charAt(i) != ' ') return false;
+        while (i < end && seq.charAt(i) == ' ') i++;
+        if (i >= end) return false;
+        char first = seq.charAt(i);
+        return Character.isUpperCase(first) || isHangul(first);
+    }
+
+    private static boolean startsWith(CharSequence seq, int start, int end, String prefix) {
+        if (end - start <= prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (seq.charAt(start + i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence seq, char c, int from) {
+        for (int i = from, n = seq.length(); i < n; i++) {
+            if (seq.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static boolean isSentenceStart(char c) {
+        return (c >= 'A' && c <= 'Z') || isHangul(c);
+    }
+
     public static class ChunkInfo {
         private final String text;
         private final int chunkIndex;
-        
+
         public ChunkInfo(String text, int chunkIndex) {
             this.text = text;
             this.chunkIndex = chunkIndex;
         }
-        
+
         public String getText() { return text; }
         public int getChunkIndex() { return chunkIndex; }
     }
-}
\ No newline at end of file
+}
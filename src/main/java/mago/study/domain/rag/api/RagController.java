@@ -0,0 +1,56 @@
+package mago.study.domain.rag.api;
+
+import lombok.RequiredArgsConstructor;
+import mago.study.domain.rag.application.HybridRetriever;
+import mago.study.domain.rag.application.VectorIndexService;
+import mago.study.domain.rag.dto.RetrievalResult;
+import mago.study.domain.rag.dto.VectorHitResponse;
+import mago.study.domain.rag.dto.VectorIndexResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/rag")
+public class RagController {
+
+    private static final int MAX_K = 100;
+
+    private final VectorIndexService vectorIndexService;
+    private final HybridRetriever hybridRetriever;
+
+    @GetMapping("/search")
+    public ResponseEntity<List<VectorHitResponse>> search(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int k
+    ) {
+        List<VectorHitResponse> responses = vectorIndexService.search(query, Math.min(k, MAX_K)).stream()
+                .map(VectorHitResponse::from)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
+
+    /** 채팅 컨텍스트 검색 결과와 단계별 소요 시간 */
+    @GetMapping("/retrieve")
+    public ResponseEntity<RetrievalResult> retrieve(@RequestParam String query) {
+        return ResponseEntity.ok(hybridRetriever.retrieve(query));
+    }
+
+    @GetMapping("/index")
+    public ResponseEntity<VectorIndexResponse> index() {
+        return ResponseEntity.ok(VectorIndexResponse.of(vectorIndexService.stats(), vectorIndexService.isRebuilding()));
+    }
+
+    /** 저장된 청크에서 인덱스를 다시 만든다 (백그라운드) */
+    @PostMapping("/index/rebuild")
+    public ResponseEntity<VectorIndexResponse> rebuild() {
+        vectorIndexService.rebuildAsync();
+        return ResponseEntity.accepted().body(VectorIndexResponse.of(vectorIndexService.stats(), vectorIndexService.isRebuilding()));
+    }
+}
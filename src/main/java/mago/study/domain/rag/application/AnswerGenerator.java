@@ -0,0 +1,26 @@
+package mago.study.domain.rag.application;
+
+import mago.study.domain.rag.dto.AnswerRequest;
+
+import java.io.IOException;
+
+/**
+ * 답변 생성기. 토큰이 만들어지는 대로 sink 로 넘긴다 (호출 스레드에서 블로킹).
+ */
+public interface AnswerGenerator {
+
+    @FunctionalInterface
+    interface TokenSink {
+        /** 전송 실패(클라이언트 종료 등) 시 IOException → 생성 중단 */
+        void accept(String token) throws IOException;
+    }
+
+    void generate(AnswerRequest request, TokenSink sink) throws IOException;
+
+    /** 스트리밍 없이 전체 답변을 만든다. 토큰을 받는 쪽이 없으므로 구현체가 더 빠른 경로를 쓸 수 있다 */
+    default String generate(AnswerRequest request) throws IOException {
+        StringBuilder answer = new StringBuilder();
+        generate(request, answer::append);
+        return answer.toString();
+    }
+}
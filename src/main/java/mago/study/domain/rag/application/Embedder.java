@@ -0,0 +1,15 @@
+package mago.study.domain.rag.application;
+
+/**
+ * 텍스트 → 임베딩 벡터 (L2 정규화된 float[dimension]).
+ * 청크와 질의에 같은 구현을 써야 하므로, 구현이 바뀌면 name() 도 바꿔 저장된 임베딩을 다시 계산하게 한다.
+ */
+public interface Embedder {
+
+    /** 임베딩 모델 식별자 (청크에 함께 저장) */
+    String name();
+
+    int dimension();
+
+    float[] embed(String text);
+}
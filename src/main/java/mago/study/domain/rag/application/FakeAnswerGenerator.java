@@ -0,0 +1,55 @@
+package mago.study.domain.rag.application;
+
+import mago.study.domain.rag.dto.AnswerRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * 로컬 테스트용 생성기: 정해진 문장을 단어 단위로 지연을 두고 흘려 보낸다.
+ * 스트리밍이 아닌 생성(generate(request))은 지연 없이 바로 반환한다.
+ */
+@Component
+@ConditionalOnProperty(name = "rag.generator", havingValue = "fake", matchIfMissing = true)
+public class FakeAnswerGenerator implements AnswerGenerator {
+
+    @Value("${rag.fake.token-delay-ms:30}")
+    private long tokenDelayMillis;
+
+    @Override
+    public void generate(AnswerRequest request, TokenSink sink) throws IOException {
+        String answer = answer(request);
+
+        int start = 0;
+        while (start < answer.length()) {
+            int space = answer.indexOf(' ', start);
+            int end = space < 0 ? answer.length() : space + 1;
+            sink.accept(answer.substring(start, end));
+            start = end;
+            pause();
+        }
+    }
+
+    /** 토큰을 받는 쪽이 없으므로 지연 없이 바로 반환 (지연은 스트리밍 흉내용) */
+    @Override
+    public String generate(AnswerRequest request) {
+        return answer(request);
+    }
+
+    private static String answer(AnswerRequest request) {
+        return request.character() + " 입니다. \"" + request.question() + "\" 에 대한 답변은 아직 준비 중입니다."
+                + " (이전 대화 " + request.history().size() + "건, 참고 자료 " + request.context().size() + "건)";
+    }
+
+    private void pause() throws InterruptedIOException {
+        try {
+            Thread.sleep(tokenDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("답변 생성 중단");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package mago.study.domain.rag.application;
+
+import mago.study.domain.rag.util.Vectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 해시 기반 임베더 (feature hashing). 외부 모델 없이 결정적으로 동작한다.
+ * - 토큰: 문자/숫자 연속 구간 (소문자화), 유니그램 1.0 + 바이그램 0.5
+ * - 토큰 해시로 차원과 부호를 정해 누적한 뒤 L2 정규화
+ * 어휘가 겹치는 정도만 반영하므로 의미 검색 품질은 기대하지 않는다 (로컬/테스트용).
+ */
+@Component
+@ConditionalOnProperty(name = "rag.embedder", havingValue = "hashing", matchIfMissing = true)
+public class HashingEmbedder implements Embedder {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final float BIGRAM_WEIGHT = 0.5f;
+
+    private final int dimension;
+
+    public HashingEmbedder(@Value("${rag.embedding.dimension:256}") int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public String name() {
+        return "hashing-" + dimension;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimension];
+        if (text == null) {
+            return vector;
+        }
+
+        long token = FNV_OFFSET;
+        boolean inToken = false;
+        long previous = 0;
+        boolean hasPrevious = false;
+
+        for (int i = 0; i <= text.length(); ) {
+            int cp = i < text.length() ? text.codePointAt(i) : ' ';
+            i += i < text.length() ? Character.charCount(cp) : 1;
+
+            if (Character.isLetterOrDigit(cp)) {
+                token = (token ^ Character.toLowerCase(cp)) * FNV_PRIME;
+                inToken = true;
+                continue;
+            }
+            if (!inToken) {
+                continue;
+            }
+
+            long hash = mix(token);
+            add(vector, hash, 1f);
+            if (hasPrevious) {
+                add(vector, mix(previous * 31 + hash), BIGRAM_WEIGHT);
+            }
+            previous = hash;
+            hasPrevious = true;
+            token = FNV_OFFSET;
+            inToken = false;
+        }
+
+        Vectors.normalize(vector);
+        return vector;
+    }
+
+    private void add(float[] vector, long hash, float weight) {
+        int index = (int) Long.remainderUnsigned(hash, dimension);
+        vector[index] += hash < 0 ? -weight : weight;
+    }
+
+    // murmur3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
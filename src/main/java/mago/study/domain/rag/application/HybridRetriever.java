@@ -0,0 +1,246 @@
+package mago.study.domain.rag.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.rag.dao.ChunkVectorIndex;
+import mago.study.domain.rag.dto.RetrievalResult;
+import mago.study.domain.rag.dto.RetrievedChunk;
+import mago.study.domain.rag.dto.StageTiming;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 채팅 컨텍스트용 청크 검색 (키워드 + 벡터).
+ * 1) lexical / vector: $text 검색과 벡터 인덱스 검색을 동시에 실행 (각 candidates 건)
+ * 2) fusion : reciprocal rank fusion (k=60) 으로 합산
+ * 3) hydrate: 상위 후보의 본문 조회
+ * 4) dedupe : 같은 문서에서 chunkIndex 가 이웃한(±1) 청크는 순위가 높은 쪽만 남김
+ * 시간 예산(budget-ms)을 넘긴 검색 단계는 버리고 나머지 결과로 진행한다 (degraded).
+ * hydrate 몫(hydrate-reserve-ms)은 예산 안에서 따로 남겨 둔다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HybridRetriever {
+
+    private static final int RRF_K = 60;
+
+    private final PdfChunkRepository pdfChunkRepository;
+    private final VectorIndexService vectorIndexService;
+    private final ExecutorService retrievalExecutor;
+
+    // 최종 컨텍스트 청크 수
+    @Value("${rag.retrieval.top-k:5}")
+    private int topK;
+
+    // 검색 방식별 후보 수
+    @Value("${rag.retrieval.candidates:30}")
+    private int candidates;
+
+    @Value("${rag.retrieval.budget-ms:300}")
+    private long budgetMillis;
+
+    @Value("${rag.retrieval.hydrate-reserve-ms:50}")
+    private long hydrateReserveMillis;
+
+    public RetrievalResult retrieve(String query) {
+        if (query == null || query.isBlank()) {
+            return RetrievalResult.empty();
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        long searchDeadline = deadline - TimeUnit.MILLISECONDS.toNanos(Math.min(hydrateReserveMillis, budgetMillis));
+
+        List<StageTiming> stages = new ArrayList<>(5);
+
+        Stage<List<PdfChunk>> lexical = new Stage<>("lexical", () -> lexicalSearch(query, searchDeadline));
+        Stage<List<ChunkVectorIndex.Hit>> vector = new Stage<>("vector", () -> vectorIndexService.search(query, candidates));
+        List<PdfChunk> lexicalHits = lexical.await(searchDeadline, stages);
+        List<ChunkVectorIndex.Hit> vectorHits = vector.await(searchDeadline, stages);
+        boolean degraded = lexicalHits == null || vectorHits == null;
+
+        // fusion
+        long t = System.nanoTime();
+        Map<ObjectId, Fused> fused = new LinkedHashMap<>();
+        if (lexicalHits != null) {
+            for (int i = 0; i < lexicalHits.size(); i++) {
+                fused.computeIfAbsent(lexicalHits.get(i).getId(), Fused::new).lexical(i + 1);
+            }
+        }
+        if (vectorHits != null) {
+            for (int i = 0; i < vectorHits.size(); i++) {
+                fused.computeIfAbsent(vectorHits.get(i).chunkId(), Fused::new).vector(i + 1);
+            }
+        }
+        List<Fused> ranked = fused.values().stream()
+                .sorted(Comparator.comparingDouble(Fused::score).reversed())
+                .limit(topK * 3L)
+                .toList();
+        stages.add(new StageTiming("fusion", micros(t), StageTiming.Status.OK));
+
+        // hydrate
+        t = System.nanoTime();
+        Map<ObjectId, PdfChunk> bodies = Map.of();
+        long remaining = deadline - t;
+        if (ranked.isEmpty()) {
+            stages.add(new StageTiming("hydrate", 0, StageTiming.Status.SKIPPED));
+        } else if (remaining <= 0) {
+            stages.add(new StageTiming("hydrate", 0, StageTiming.Status.TIMEOUT));
+            degraded = true;
+        } else {
+            try {
+                bodies = hydrate(ranked, remaining);
+                stages.add(new StageTiming("hydrate", micros(t), StageTiming.Status.OK));
+            } catch (RuntimeException e) {
+                log.warn("컨텍스트 청크 조회 실패: {}", e.getMessage());
+                stages.add(new StageTiming("hydrate", micros(t), StageTiming.Status.FAILED));
+                degraded = true;
+            }
+        }
+
+        // dedupe
+        t = System.nanoTime();
+        List<RetrievedChunk> chunks = dedupe(ranked, bodies);
+        stages.add(new StageTiming("dedupe", micros(t), StageTiming.Status.OK));
+
+        RetrievalResult result = new RetrievalResult(chunks, stages, micros(start), degraded);
+        log.debug("컨텍스트 검색: {}건, {}µs, degraded={}, stages={}", chunks.size(), result.totalMicros(), degraded, stages);
+        return result;
+    }
+
+    /* ========================= Stages ========================= */
+
+    private List<PdfChunk> lexicalSearch(String query, long deadline) {
+        long remaining = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        return pdfChunkRepository.searchText(query, null, null, 0, candidates, Duration.ofMillis(remaining), true);
+    }
+
+    private Map<ObjectId, PdfChunk> hydrate(List<Fused> ranked, long remainingNanos) {
+        Duration maxTime = Duration.ofMillis(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos)));
+
+        Map<ObjectId, PdfChunk> bodies = new HashMap<>();
+        for (PdfChunk chunk : pdfChunkRepository.findBodiesByIds(ranked.stream().map(Fused::chunkId).toList(), maxTime)) {
+            bodies.put(chunk.getId(), chunk);
+        }
+        return bodies;
+    }
+
+    /** 순위대로 담되, 같은 문서에서 이미 담은 청크와 이웃(±1)이면 건너뛴다 */
+    private List<RetrievedChunk> dedupe(List<Fused> ranked, Map<ObjectId, PdfChunk> bodies) {
+        List<RetrievedChunk> selected = new ArrayList<>(topK);
+        Map<ObjectId, List<Integer>> taken = new HashMap<>();
+
+        for (Fused candidate : ranked) {
+            if (selected.size() == topK) break;
+            PdfChunk chunk = bodies.get(candidate.chunkId());
+            if (chunk == null) continue;
+
+            List<Integer> indexes = taken.computeIfAbsent(chunk.getPdfDocumentId(), k -> new ArrayList<>());
+            int index = chunk.getChunkIndex() != null ? chunk.getChunkIndex() : -1;
+            if (index >= 0 && indexes.stream().anyMatch(i -> Math.abs(i - index) <= 1)) continue;
+            indexes.add(index);
+
+            selected.add(RetrievedChunk.builder()
+                    .chunkId(chunk.getId().toString())
+                    .pdfDocumentId(chunk.getPdfDocumentId().toString())
+                    .chunkIndex(chunk.getChunkIndex())
+                    .text(chunk.getText())
+                    .score(candidate.score())
+                    .lexicalRank(candidate.lexicalRank)
+                    .vectorRank(candidate.vectorRank)
+                    .build());
+        }
+        return selected;
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000;
+    }
+
+    /**
+     * 검색 단계 1개. 생성 즉시 retrievalExecutor 에서 실행되고, 실행 시간은 작업 안에서 잰다.
+     */
+    private final class Stage<T> {
+        private final String name;
+        private final long submittedAt = System.nanoTime();
+        private volatile long finishedAt;
+        private final Future<T> future;
+
+        private Stage(String name, Callable<T> task) {
+            this.name = name;
+            this.future = retrievalExecutor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    finishedAt = System.nanoTime();
+                }
+            });
+        }
+
+        /** deadline 까지 기다린 결과, 시간 초과나 실패면 null */
+        private T await(long deadline, List<StageTiming> stages) {
+            try {
+                T value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                stages.add(new StageTiming(name, (finishedAt - submittedAt) / 1_000, StageTiming.Status.OK));
+                return value;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                stages.add(new StageTiming(name, micros(submittedAt), StageTiming.Status.TIMEOUT));
+            } catch (ExecutionException e) {
+                log.warn("컨텍스트 검색 단계 실패: {} ({})", name, e.getCause().getMessage());
+                stages.add(new StageTiming(name, micros(submittedAt), StageTiming.Status.FAILED));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                stages.add(new StageTiming(name, micros(submittedAt), StageTiming.Status.TIMEOUT));
+            }
+            return null;
+        }
+    }
+
+    private static final class Fused {
+        private final ObjectId chunkId;
+        private double score;
+        private Integer lexicalRank;
+        private Integer vectorRank;
+
+        private Fused(ObjectId chunkId) {
+            this.chunkId = chunkId;
+        }
+
+        private void lexical(int rank) {
+            lexicalRank = rank;
+            score += 1.0 / (RRF_K + rank);
+        }
+
+        private void vector(int rank) {
+            vectorRank = rank;
+            score += 1.0 / (RRF_K + rank);
+        }
+
+        private ObjectId chunkId() {
+            return chunkId;
+        }
+
+        private double score() {
+            return score;
+        }
+    }
+}
@@ -1,16 +1,62 @@
 package mago.study.domain.rag.application;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.message.domain.ConversationWindow;
 import mago.study.domain.message.dto.req.MessageReqDto;
-import mago.study.domain.message.dto.res.MessageGetDto;
+import mago.study.domain.rag.dto.AnswerRequest;
+import mago.study.domain.rag.dto.RetrievalResult;
+import mago.study.global.exception.custom.BusinessException;
+import mago.study.global.exception.enums.ErrorCode;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RagService {
 
-    public MessageGetDto generateAnswer(String character, MessageReqDto messageReqDto) {
-        //TODO RAG 연동
-        return MessageGetDto.mock();
+    private final AnswerGenerator answerGenerator;
+    private final HybridRetriever hybridRetriever;
+
+    /**
+     * 답변 전체를 생성해 반환한다 (스트리밍 없이).
+     */
+    public String generateAnswer(String character, MessageReqDto messageReqDto, List<ConversationWindow.Turn> history) {
+        try {
+            return answerGenerator.generate(answerRequest(character, messageReqDto, history));
+        } catch (IOException e) {
+            // 받는 쪽이 없어 전송 실패는 없고, 생성 중단(인터럽트)만 온다
+            throw new BusinessException(e.getMessage(), "answer", ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 답변을 토큰 단위로 생성해 sink 로 흘려 보내고 전체 답변을 반환한다.
+     */
+    public String streamAnswer(String character, MessageReqDto messageReqDto, List<ConversationWindow.Turn> history,
+                               AnswerGenerator.TokenSink sink) throws IOException {
+        AnswerRequest request = answerRequest(character, messageReqDto, history);
+
+        StringBuilder answer = new StringBuilder();
+        answerGenerator.generate(request, token -> {
+            answer.append(token);
+            sink.accept(token);
+        });
+        return answer.toString();
+    }
+
+    private AnswerRequest answerRequest(String character, MessageReqDto messageReqDto, List<ConversationWindow.Turn> history) {
+        RetrievalResult context = hybridRetriever.retrieve(messageReqDto.content());
+        log.debug("RAG 컨텍스트 {}건 ({}µs, degraded={}), 이전 대화 {}건",
+                context.chunks().size(), context.totalMicros(), context.degraded(), history.size());
+        return AnswerRequest.builder()
+                .character(character)
+                .question(messageReqDto.content())
+                .history(history)
+                .context(context.texts())
+                .build();
     }
 }
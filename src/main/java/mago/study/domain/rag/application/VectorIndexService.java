@@ -0,0 +1,246 @@
+package mago.study.domain.rag.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.rag.dao.ChunkVectorIndex;
+import mago.study.domain.rag.util.Vectors;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * PdfChunk 임베딩 벡터 인덱스 관리.
+ * - 인제스트: 청크 저장 전 embed(), 저장 후 addChunks() 로 바로 인덱스에 반영
+ * - 재빌드: 저장된 청크에서 새 인덱스 파일을 만들어 교체 (임베딩이 없거나 다른 임베더로 만든 청크는 다시 계산해 저장)
+ * - 재빌드 중 들어온 문서 변경은 기록해 두었다가 교체 직전에 새 인덱스에 다시 반영
+ * 인덱스는 저장된 청크에서 언제든 다시 만들 수 있으므로 기동 시마다 새로 빌드한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VectorIndexService {
+
+    private final Embedder embedder;
+    private final PdfChunkRepository pdfChunkRepository;
+
+    @Value("${rag.index.dir:${java.io.tmpdir}/study-vector-index}")
+    private String indexDir;
+
+    // IVF 리스트 수 (0 이하이면 sqrt(청크 수))
+    @Value("${rag.index.lists:0}")
+    private int listCount;
+
+    // 검색 시 스캔하는 리스트 수
+    @Value("${rag.index.probes:8}")
+    private int probes;
+
+    // 이 수 이상 모이면 리스트를 학습 (그 전에는 전체 스캔)
+    @Value("${rag.index.min-train-size:2000}")
+    private int minTrainSize;
+
+    @Value("${rag.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private volatile ChunkVectorIndex index;
+
+    // 재빌드 중에 추가/삭제된 문서 (재빌드 중이 아니면 null), mutationLock 으로 보호
+    private final Object mutationLock = new Object();
+    private Set<ObjectId> pendingDocuments;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("vector-index-rebuild").factory());
+
+    @PostConstruct
+    void init() throws IOException {
+        Path dir = Path.of(indexDir);
+        Files.createDirectories(dir);
+        // 이전 실행이 남긴 인덱스 파일 정리
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".idx")).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        index = newIndex();
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        rebuildExecutor.shutdownNow();
+        ChunkVectorIndex current = index;
+        current.close();
+        Files.deleteIfExists(current.path());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAsync();
+        }
+    }
+
+    /** 청크 텍스트 임베딩을 계산해 청크에 채운다 (저장 전 호출) */
+    public void embed(PdfChunk chunk) {
+        chunk.embed(embedder.name(), Vectors.encode(embedder.embed(chunk.getText())));
+    }
+
+    /** 저장된 청크를 인덱스에 추가 */
+    public void addChunks(List<PdfChunk> chunks) {
+        synchronized (mutationLock) {
+            for (PdfChunk chunk : chunks) {
+                if (chunk.getId() == null || !embedder.name().equals(chunk.getEmbeddingModel())) continue;
+                add(index, chunk);
+                if (pendingDocuments != null) pendingDocuments.add(chunk.getPdfDocumentId());
+            }
+        }
+        rebuildIfNeeded();
+    }
+
+    /** 문서 청크를 인덱스에서 제거 */
+    public void removeDocument(ObjectId pdfDocumentId) {
+        synchronized (mutationLock) {
+            index.removeDocument(pdfDocumentId);
+            if (pendingDocuments != null) pendingDocuments.add(pdfDocumentId);
+        }
+    }
+
+    /** 문서 청크를 pdf_chunks 기준으로 다시 반영 (일부 청크만 지운 경우 등) */
+    public void reindexDocument(ObjectId pdfDocumentId) {
+        synchronized (mutationLock) {
+            reindex(index, pdfDocumentId);
+            if (pendingDocuments != null) pendingDocuments.add(pdfDocumentId);
+        }
+    }
+
+    /** 질의와 유사한 청크 상위 k 개 */
+    public List<ChunkVectorIndex.Hit> search(String query, int k) {
+        float[] vector = embedder.embed(query);
+        ChunkVectorIndex current;
+        List<ChunkVectorIndex.Hit> hits;
+        // 재빌드로 교체되어 닫힌 인덱스를 읽었으면(빈 결과) 새 인덱스로 다시 검색
+        do {
+            current = index;
+            hits = current.search(vector, k, probes);
+        } while (hits.isEmpty() && current != index);
+        return hits;
+    }
+
+    public ChunkVectorIndex.Stats stats() {
+        return index.stats();
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /** 백그라운드 재빌드 시작. 이미 진행 중이면 false */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("벡터 인덱스 재빌드 실패", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    /* ========================= Rebuild ========================= */
+
+    private void rebuild() throws IOException {
+        long start = System.nanoTime();
+        synchronized (mutationLock) {
+            pendingDocuments = new LinkedHashSet<>();
+        }
+
+        ChunkVectorIndex next = newIndex();
+        try {
+            int backfilled = pdfChunkRepository.backfillEmbeddings(embedder.name(), text -> Vectors.encode(embedder.embed(text)));
+
+            pdfChunkRepository.streamEmbeddings(embedder.name(), null, chunk -> add(next, chunk));
+
+            int lists = listCount > 0 ? listCount : (int) Math.sqrt(next.size());
+            if (next.size() >= minTrainSize) {
+                next.train(lists, 64, 10, 42L);
+            }
+
+            ChunkVectorIndex previous;
+            synchronized (mutationLock) {
+                for (ObjectId documentId : pendingDocuments) {
+                    reindex(next, documentId);
+                }
+                pendingDocuments = null;
+                previous = index;
+                index = next;
+            }
+            previous.close();
+            Files.deleteIfExists(previous.path());
+
+            log.info("벡터 인덱스 재빌드 완료: {} chunks, {} lists, 임베딩 재계산 {}건 ({}ms)",
+                    next.size(), next.stats().lists(), backfilled, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException | IOException e) {
+            synchronized (mutationLock) {
+                pendingDocuments = null;
+            }
+            next.close();
+            Files.deleteIfExists(next.path());
+            throw e;
+        }
+    }
+
+    /* ========================= Helpers ========================= */
+
+    private ChunkVectorIndex newIndex() throws IOException {
+        return ChunkVectorIndex.create(Path.of(indexDir, "chunks-" + System.nanoTime() + ".idx"), embedder.dimension());
+    }
+
+    private void reindex(ChunkVectorIndex target, ObjectId pdfDocumentId) {
+        target.removeDocument(pdfDocumentId);
+        pdfChunkRepository.streamEmbeddings(embedder.name(), pdfDocumentId, chunk -> add(target, chunk));
+    }
+
+    private void add(ChunkVectorIndex target, PdfChunk chunk) {
+        if (chunk.getEmbedding() == null || chunk.getEmbedding().length != target.dimension() * Float.BYTES) {
+            return;
+        }
+        try {
+            target.add(chunk.getId(), chunk.getPdfDocumentId(), Vectors.decode(chunk.getEmbedding()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("벡터 인덱스 쓰기 실패", e);
+        }
+    }
+
+    /** 삭제가 쌓였거나, 학습 이후 크기가 크게 늘었으면 백그라운드 재빌드 */
+    private void rebuildIfNeeded() {
+        ChunkVectorIndex.Stats stats = index.stats();
+        boolean tooManyDeleted = stats.deleted() > Math.max(minTrainSize, stats.size());
+        boolean outgrown = stats.trainedSize() == 0
+                ? stats.size() >= minTrainSize
+                : stats.size() > stats.trainedSize() * 4L;
+        if (tooManyDeleted || outgrown) {
+            rebuildAsync();
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package mago.study.domain.rag.dao;
+
+import mago.study.domain.rag.util.Vectors;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 청크 임베딩 IVF 인덱스 (벡터는 메모리 매핑 파일, 힙에는 슬롯 번호만).
+ * - 레코드: [chunkId 12B][pdfDocumentId 12B][float × dimension] 를 슬롯 순서로 append, 세그먼트 단위로 매핑
+ * - 리스트: 슬롯을 가장 가까운 centroid 에 배정하고, 검색은 질의와 가까운 probes 개 리스트만 스캔
+ * - 학습 전(centroid 없음)에는 리스트 1개 = 전체 스캔
+ * 삭제는 슬롯에 표시만 하고 공간은 재빌드 때 회수한다. 벡터는 정규화돼 있다고 보고 내적을 유사도로 쓴다.
+ * 검색은 여러 스레드에서 동시에, 추가/삭제/학습은 배타적으로 수행된다.
+ * 닫힌 뒤(재빌드로 교체된 인덱스를 늦게 읽은 검색 등)에는 검색은 빈 결과, 추가는 IllegalStateException.
+ */
+public class ChunkVectorIndex implements AutoCloseable {
+
+    public record Hit(ObjectId chunkId, ObjectId pdfDocumentId, float score) {}
+
+    public record Stats(int size, int deleted, int lists, int trainedSize, int dimension, long fileBytes) {}
+
+    private static final int ID_BYTES = 12;
+    private static final long SEGMENT_BYTES = 64L << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int dimension;
+    private final int recordBytes;
+    private final int recordsPerSegment;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    // 세그먼트별 float 뷰 (벡터 일괄 읽기용)
+    private final List<FloatBuffer> floatSegments = new ArrayList<>();
+
+    private final Map<ObjectId, Integer> chunkSlots = new HashMap<>();
+    private final Map<ObjectId, IntList> documentSlots = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int slots;
+
+    // null 이면 학습 전
+    private float[][] centroids;
+    private IntList[] lists = {new IntList()};
+    private int trainedSize;
+
+    // close() 이후 true (세그먼트 매핑이 해제돼 슬롯을 읽을 수 없다), lock 으로 보호
+    private boolean closed;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ChunkVectorIndex(Path path, FileChannel channel, int dimension) {
+        this.path = path;
+        this.channel = channel;
+        this.dimension = dimension;
+        this.recordBytes = 2 * ID_BYTES + dimension * Float.BYTES;
+        this.recordsPerSegment = (int) Math.max(1, SEGMENT_BYTES / recordBytes);
+    }
+
+    /** 빈 인덱스 파일을 만든다 (같은 경로의 파일은 덮어쓴다) */
+    public static ChunkVectorIndex create(Path path, int dimension) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new ChunkVectorIndex(path, channel, dimension);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /** 청크 벡터 추가 (같은 청크가 있으면 교체) */
+    public void add(ObjectId chunkId, ObjectId pdfDocumentId, float[] vector) throws IOException {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("dimension " + vector.length + " != " + dimension);
+        }
+        lock.writeLock().lock();
+        try {
+            if (closed) throw new IllegalStateException("vector index closed: " + path);
+            Integer old = chunkSlots.get(chunkId);
+            if (old != null) deleted.set(old);
+
+            int slot = slots;
+            MappedByteBuffer segment = segment(slot);
+            int offset = (slot % recordsPerSegment) * recordBytes;
+            segment.put(offset, chunkId.toByteArray());
+            segment.put(offset + ID_BYTES, pdfDocumentId.toByteArray());
+            floatSegments.get(slot / recordsPerSegment).put((offset + 2 * ID_BYTES) / Float.BYTES, vector);
+            slots++;
+
+            chunkSlots.put(chunkId, slot);
+            documentSlots.computeIfAbsent(pdfDocumentId, k -> new IntList()).add(slot);
+            lists[nearestList(vector)].add(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 문서의 모든 청크 삭제, 삭제한 수 반환 */
+    public int removeDocument(ObjectId pdfDocumentId) {
+        lock.writeLock().lock();
+        try {
+            if (closed) return 0;
+            IntList removed = documentSlots.remove(pdfDocumentId);
+            if (removed == null) return 0;
+            int count = 0;
+            for (int i = 0; i < removed.size; i++) {
+                int slot = removed.values[i];
+                if (deleted.get(slot)) continue;
+                deleted.set(slot);
+                chunkSlots.remove(chunkId(slot));
+                count++;
+            }
+            return count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * spherical k-means 로 centroid 를 학습하고 살아 있는 슬롯을 리스트에 다시 배정한다.
+     * 표본은 listCount × samplesPerList 개까지 사용한다.
+     */
+    public void train(int listCount, int samplesPerList, int iterations, long seed) {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            int[] live = liveSlots();
+            if (live.length == 0) {
+                centroids = null;
+                lists = new IntList[]{new IntList()};
+                trainedSize = 0;
+                return;
+            }
+            int k = Math.max(1, Math.min(listCount, live.length));
+            Random random = new Random(seed);
+
+            int[] sample = sample(live, Math.min(live.length, k * samplesPerList), random);
+            float[][] vectors = new float[sample.length][];
+            for (int i = 0; i < sample.length; i++) vectors[i] = vector(sample[i]);
+
+            float[][] next = new float[k][];
+            for (int c = 0; c < k; c++) next[c] = vectors[c].clone();
+
+            int[] assignment = new int[vectors.length];
+            for (int iter = 0; iter < iterations; iter++) {
+                for (int i = 0; i < vectors.length; i++) assignment[i] = nearest(next, vectors[i]);
+
+                float[][] sums = new float[k][dimension];
+                int[] counts = new int[k];
+                for (int i = 0; i < vectors.length; i++) {
+                    float[] sum = sums[assignment[i]];
+                    for (int d = 0; d < dimension; d++) sum[d] += vectors[i][d];
+                    counts[assignment[i]]++;
+                }
+                for (int c = 0; c < k; c++) {
+                    if (counts[c] > 0) {
+                        Vectors.normalize(sums[c]);
+                        next[c] = sums[c];
+                    } else {
+                        // 빈 클러스터는 임의의 표본으로 다시 시작
+                        next[c] = vectors[random.nextInt(vectors.length)].clone();
+                    }
+                }
+            }
+
+            IntList[] assigned = new IntList[k];
+            for (int c = 0; c < k; c++) assigned[c] = new IntList();
+            for (int slot : live) assigned[nearest(next, vector(slot))].add(slot);
+
+            centroids = next;
+            lists = assigned;
+            trainedSize = live.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 유사도 상위 k 개 (점수 내림차순) */
+    public List<Hit> search(float[] query, int k, int probes) {
+        lock.readLock().lock();
+        try {
+            if (closed || k <= 0 || slots == 0) return List.of();
+
+            float[] scratch = new float[dimension];
+            PriorityQueue<ScoredSlot> top = new PriorityQueue<>(k + 1, Comparator.comparingDouble(ScoredSlot::score));
+            for (int list : probeLists(query, probes)) {
+                IntList members = lists[list];
+                for (int i = 0; i < members.size; i++) {
+                    int slot = members.values[i];
+                    if (deleted.get(slot)) continue;
+                    float score = Vectors.dot(query, read(slot, scratch));
+                    if (top.size() < k) {
+                        top.add(new ScoredSlot(slot, score));
+                    } else if (score > top.peek().score()) {
+                        top.poll();
+                        top.add(new ScoredSlot(slot, score));
+                    }
+                }
+            }
+
+            Hit[] hits = new Hit[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                ScoredSlot entry = top.poll();
+                hits[i] = new Hit(chunkId(entry.slot()), documentId(entry.slot()), entry.score());
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return chunkSlots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(chunkSlots.size(), slots - chunkSlots.size(), lists.length, trainedSize, dimension, (long) slots * recordBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 쓰기 잠금을 잡으므로 진행 중인 검색이 끝난 뒤에 닫힌다
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            segments.clear();
+            floatSegments.clear();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ========================= Internals ========================= */
+
+    private MappedByteBuffer segment(int slot) throws IOException {
+        int index = slot / recordsPerSegment;
+        while (segments.size() <= index) {
+            long size = (long) recordsPerSegment * recordBytes;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, segments.size() * size, size);
+            mapped.order(ByteOrder.nativeOrder());
+            segments.add(mapped);
+            floatSegments.add(mapped.asFloatBuffer());
+        }
+        return segments.get(index);
+    }
+
+    /** 슬롯 벡터를 dst 로 읽는다 (레코드 크기가 4의 배수라 float 뷰 인덱스로 바로 접근) */
+    private float[] read(int slot, float[] dst) {
+        int base = ((slot % recordsPerSegment) * recordBytes + 2 * ID_BYTES) / Float.BYTES;
+        floatSegments.get(slot / recordsPerSegment).get(base, dst);
+        return dst;
+    }
+
+    private float[] vector(int slot) {
+        return read(slot, new float[dimension]);
+    }
+
+    private ObjectId chunkId(int slot) {
+        return readId(slot, 0);
+    }
+
+    private ObjectId documentId(int slot) {
+        return readId(slot, ID_BYTES);
+    }
+
+    private ObjectId readId(int slot, int field) {
+        byte[] bytes = new byte[ID_BYTES];
+        segments.get(slot / recordsPerSegment).get((slot % recordsPerSegment) * recordBytes + field, bytes);
+        return new ObjectId(bytes);
+    }
+
+    private int nearestList(float[] vector) {
+        return centroids == null ? 0 : nearest(centroids, vector);
+    }
+
+    private int[] probeLists(float[] query, int probes) {
+        if (centroids == null || probes >= centroids.length) {
+            int[] all = new int[lists.length];
+            for (int i = 0; i < all.length; i++) all[i] = i;
+            return all;
+        }
+        Integer[] order = new Integer[centroids.length];
+        float[] scores = new float[centroids.length];
+        for (int c = 0; c < centroids.length; c++) {
+            order[c] = c;
+            scores[c] = Vectors.dot(centroids[c], query);
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+        int[] result = new int[Math.max(1, probes)];
+        for (int i = 0; i < result.length; i++) result[i] = order[i];
+        return result;
+    }
+
+    private int[] liveSlots() {
+        int[] live = new int[chunkSlots.size()];
+        int n = 0;
+        for (int slot = deleted.nextClearBit(0); slot < slots; slot = deleted.nextClearBit(slot + 1)) live[n++] = slot;
+        return live;
+    }
+
+    private static int[] sample(int[] values, int count, Random random) {
+        int[] copy = values.clone();
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(copy.length - i);
+            int tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return Arrays.copyOf(copy, count);
+    }
+
+    private static int nearest(float[][] centroids, float[] vector) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int c = 0; c < centroids.length; c++) {
+            float score = Vectors.dot(centroids[c], vector);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private record ScoredSlot(int slot, float score) {}
+
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package mago.study.domain.rag.dto;
+
+import lombok.Builder;
+import mago.study.domain.message.domain.ConversationWindow;
+
+import java.util.List;
+
+@Builder
+public record AnswerRequest(
+        String character,
+        String question,
+        // 토큰 예산 안의 최근 대화 (시간순, 현재 질문 제외)
+        List<ConversationWindow.Turn> history,
+        // 검색된 참고 청크 본문 (관련도 순)
+        List<String> context
+) {
+}
@@ -0,0 +1,21 @@
+package mago.study.domain.rag.dto;
+
+import java.util.List;
+
+/**
+ * 검색 결과. degraded 면 시간 예산 초과나 실패로 일부 단계 결과 없이 만든 결과.
+ */
+public record RetrievalResult(
+        List<RetrievedChunk> chunks,
+        List<StageTiming> stages,
+        long totalMicros,
+        boolean degraded
+) {
+    public static RetrievalResult empty() {
+        return new RetrievalResult(List.of(), List.of(), 0, false);
+    }
+
+    public List<String> texts() {
+        return chunks.stream().map(RetrievedChunk::text).toList();
+    }
+}
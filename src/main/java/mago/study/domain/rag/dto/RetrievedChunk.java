@@ -0,0 +1,17 @@
+package mago.study.domain.rag.dto;
+
+import lombok.Builder;
+
+@Builder
+public record RetrievedChunk(
+        String chunkId,
+        String pdfDocumentId,
+        Integer chunkIndex,
+        String text,
+        // RRF 점수 (Σ 1 / (k + 순위))
+        double score,
+        // 각 검색 결과에서의 순위 (1부터, 없으면 null)
+        Integer lexicalRank,
+        Integer vectorRank
+) {
+}
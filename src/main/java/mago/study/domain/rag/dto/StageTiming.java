@@ -0,0 +1,14 @@
+package mago.study.domain.rag.dto;
+
+public record StageTiming(
+        String stage,
+        long micros,
+        Status status
+) {
+    public enum Status {
+        OK,
+        TIMEOUT,
+        FAILED,
+        SKIPPED
+    }
+}
@@ -0,0 +1,20 @@
+package mago.study.domain.rag.dto;
+
+import lombok.Builder;
+import mago.study.domain.rag.dao.ChunkVectorIndex;
+
+@Builder
+public record VectorHitResponse(
+        String chunkId,
+        String pdfDocumentId,
+        // 질의 임베딩과의 코사인 유사도
+        float score
+) {
+    public static VectorHitResponse from(ChunkVectorIndex.Hit hit) {
+        return VectorHitResponse.builder()
+                .chunkId(hit.chunkId().toString())
+                .pdfDocumentId(hit.pdfDocumentId().toString())
+                .score(hit.score())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package mago.study.domain.rag.dto;
+
+import lombok.Builder;
+import mago.study.domain.rag.dao.ChunkVectorIndex;
+
+@Builder
+public record VectorIndexResponse(
+        int size,
+        int deleted,
+        int lists,
+        int trainedSize,
+        int dimension,
+        long fileBytes,
+        boolean rebuilding
+) {
+    public static VectorIndexResponse of(ChunkVectorIndex.Stats stats, boolean rebuilding) {
+        return VectorIndexResponse.builder()
+                .size(stats.size())
+                .deleted(stats.deleted())
+                .lists(stats.lists())
+                .trainedSize(stats.trainedSize())
+                .dimension(stats.dimension())
+                .fileBytes(stats.fileBytes())
+                .rebuilding(rebuilding)
+                .build();
+    }
+}
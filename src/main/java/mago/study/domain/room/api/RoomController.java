@@ -1,13 +1,17 @@
 package mago.study.domain.room.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import mago.study.domain.room.application.RoomService;
 import mago.study.domain.room.dto.RoomAddDto;
 import mago.study.domain.room.dto.RoomCreateRes;
 import mago.study.domain.room.dto.RoomGetDto;
+import mago.study.domain.room.dto.RoomSlice;
+import mago.study.global.util.NdjsonBody;
 import org.bson.types.ObjectId;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,6 +21,7 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<RoomCreateRes> create(@RequestBody RoomAddDto roomAddDto) {
@@ -30,6 +35,21 @@ public class RoomController {
         return ResponseEntity.ok(roomList);
     }
 
+    @GetMapping(produces = NdjsonBody.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonBody.MEDIA_TYPE)
+                .body(NdjsonBody.of(objectMapper, roomService::streamRooms));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<RoomSlice> getRooms(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(roomService.getRooms(before, limit));
+    }
+
     @GetMapping("/{roomId}")
     public ResponseEntity<RoomGetDto> getRoom(
             @PathVariable ObjectId roomId
@@ -0,0 +1,212 @@
+package mago.study.domain.room.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.message.domain.MessageDocument;
+import mago.study.domain.room.domain.RoomDocument;
+import mago.study.global.cache.ChatCache;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 방 messageCount 유지. 읽고 더해서 쓰지 않고 $inc 로만 갱신하므로 같은 방에 동시에 보내도 유실이 없다.
+ * - flush-interval-ms 가 0 이면 메시지마다 findAndModify($inc) 하고, 반환된 문서로 방 캐시를 갱신
+ * - 0보다 크면 방별 LongAdder 에 모았다가 주기적으로 한 번의 bulk $inc 로 반영
+ *   (같은 방 동시 전송자는 서로 다른 셀에 더하므로 경합이 없다, 조회 값 = 저장된 값 + 미반영 값)
+ * flush 에 실패한 몫은 다시 더해 두고 다음 주기에 재시도한다. 종료 시 남은 몫을 반영한다.
+ * 기동 시 messages 기준으로 messageCount 를 맞춘다 (카운터 도입 전에 만든 방은 0 으로 남아 있다).
+ */
+@Slf4j
+@Component
+public class RoomMessageCounter {
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatCache chatCache;
+    private final long flushIntervalMillis;
+    private final boolean backfillOnStartup;
+
+    // 방별 미반영 증가분. 재사용 중인 adder 를 지우면 증가분이 사라질 수 있어 초기화/삭제 때만 뺀다
+    private final Map<ObjectId, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public RoomMessageCounter(
+            MongoTemplate mongoTemplate,
+            ChatCache chatCache,
+            @Value("${chat.message-count.flush-interval-ms:0}") long flushIntervalMillis,
+            @Value("${chat.message-count.backfill-on-startup:true}") boolean backfillOnStartup
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.chatCache = chatCache;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @PostConstruct
+    void start() {
+        if (backfillOnStartup) {
+            try {
+                int fixed = backfill();
+                if (fixed > 0) log.info("방 메시지 수 보정: {}개 방", fixed);
+            } catch (RuntimeException e) {
+                log.warn("방 메시지 수 보정 실패 (다음 기동 때 재시도): {}", e.getMessage());
+            }
+        }
+        if (!coalescing()) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("room-count-flush").factory());
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("방 메시지 수 반영 실패 (다음 주기에 재시도): {}", e.getMessage());
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flush();
+        }
+    }
+
+    public void increment(ObjectId roomId) {
+        if (coalescing()) {
+            pending.computeIfAbsent(roomId, id -> new LongAdder()).increment();
+            return;
+        }
+        RoomDocument updated = mongoTemplate.findAndModify(byId(roomId), new Update().inc("messageCount", 1L),
+                FindAndModifyOptions.options().returnNew(true), RoomDocument.class);
+        if (updated != null) {
+            chatCache.refreshRoom(updated);
+        }
+    }
+
+    /** 아직 DB 에 반영되지 않은 증가분 */
+    public long unflushed(ObjectId roomId) {
+        LongAdder adder = pending.get(roomId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * 방 초기화: 미반영분을 버리고 0 으로.
+     * flush 와 같은 잠금을 잡으므로, 이미 증가분을 꺼낸 flush 의 $inc 가 0 으로 만든 뒤에 얹히지 않는다.
+     */
+    public synchronized void reset(ObjectId roomId) {
+        pending.remove(roomId);
+        mongoTemplate.updateFirst(byId(roomId), new Update().set("messageCount", 0L), RoomDocument.class);
+    }
+
+    /** 방 삭제 */
+    public void forget(ObjectId roomId) {
+        pending.remove(roomId);
+    }
+
+    /**
+     * 모아 둔 증가분을 bulk $inc 로 반영하고, 반영한 방은 방 캐시에서 내린다. 반영한 방 수 반환.
+     */
+    public synchronized int flush() {
+        Map<ObjectId, Long> deltas = new LinkedHashMap<>();
+        for (Map.Entry<ObjectId, LongAdder> entry : pending.entrySet()) {
+            // 셀마다 getAndSet 이라 동시 증가분은 이번 또는 다음 flush 중 한 번만 잡힌다
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) deltas.put(entry.getKey(), delta);
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        List<ObjectId> roomIds = new ArrayList<>(deltas.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomDocument.class);
+        deltas.forEach((roomId, delta) -> bulk.updateOne(byId(roomId), new Update().inc("messageCount", delta)));
+        int applied = roomIds.size();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // UNORDERED 라 나머지는 반영됐다. 실패한 갱신(인덱스)만 다시 더한다
+            for (BulkWriteError error : e.getErrors()) {
+                ObjectId roomId = roomIds.get(error.getIndex());
+                requeue(roomId, deltas.remove(roomId));
+            }
+            applied = deltas.size();
+            log.warn("방 메시지 수 일부 반영 실패 ({}/{}개 방, 다음 주기에 재시도): {}",
+                    roomIds.size() - applied, roomIds.size(), e.getMessage());
+        } catch (RuntimeException e) {
+            // 반영 여부를 알 수 없으면 모두 다시 더한다
+            deltas.forEach(this::requeue);
+            throw e;
+        }
+
+        // 반영 직후 ~ 캐시 제거 사이의 조회는 잠시 반영분만큼 적게 보일 수 있다
+        deltas.keySet().forEach(chatCache::evictRoomDocument);
+        return applied;
+    }
+
+    /**
+     * messages 의 방별 건수로 messageCount 를 맞추고, 고친 방 수를 반환한다.
+     * 읽은 값 그대로일 때만 바꾸므로 그 사이 다른 인스턴스가 $inc 한 방은 건너뛴다 (다음 기동 때 다시 맞춘다).
+     */
+    public int backfill() {
+        Map<ObjectId, Long> actual = new HashMap<>();
+        Aggregation countByRoom = Aggregation.newAggregation(Aggregation.group("roomId").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(countByRoom, MessageDocument.class, Document.class)) {
+            actual.put(row.getObjectId("_id"), ((Number) row.get("count")).longValue());
+        }
+
+        Query rooms = new Query();
+        rooms.fields().include("id", "messageCount");
+        BulkOperations bulk = null;
+        try (Stream<RoomDocument> stream = mongoTemplate.stream(rooms, RoomDocument.class)) {
+            for (RoomDocument room : (Iterable<RoomDocument>) stream::iterator) {
+                long count = actual.getOrDefault(room.getId(), 0L);
+                if (room.getMessageCount() != null && room.getMessageCount() == count) continue;
+                if (bulk == null) bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomDocument.class);
+                bulk.updateOne(byId(room.getId()).addCriteria(Criteria.where("messageCount").is(room.getMessageCount())),
+                        new Update().set("messageCount", count));
+            }
+        }
+        if (bulk == null) {
+            return 0;
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    private void requeue(ObjectId roomId, long delta) {
+        pending.computeIfAbsent(roomId, id -> new LongAdder()).add(delta);
+    }
+
+    private boolean coalescing() {
+        return flushIntervalMillis > 0;
+    }
+
+    private static Query byId(ObjectId roomId) {
+        return Query.query(Criteria.where("id").is(roomId));
+    }
+}
@@ -8,18 +8,37 @@ import mago.study.domain.room.domain.RoomDocument;
 import mago.study.domain.room.dto.RoomAddDto;
 import mago.study.domain.room.dto.RoomCreateRes;
 import mago.study.domain.room.dto.RoomGetDto;
+import mago.study.domain.room.dto.RoomSlice;
+import mago.study.global.cache.ChatCache;
 import mago.study.global.exception.custom.BusinessException;
 import mago.study.global.exception.enums.ErrorCode;
 import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class RoomService {
+    private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final RoomRepository roomRepository;
     private final MessageRepository messageRepository;
+    private final ChatCache chatCache;
+    private final RoomMessageCounter roomMessageCounter;
+    private final MongoTemplate mongoTemplate;
+
+    // 목록 한 페이지 최대 건수
+    @Value("${api.page.max-limit:100}")
+    private int maxPageLimit;
 
     public RoomCreateRes createRoom(RoomAddDto roomAddDto) {
         RoomDocument roomDocument = roomRepository.save(RoomDocument.of(roomAddDto));
@@ -29,24 +48,69 @@ public class RoomService {
     public List<RoomGetDto> getAll() {
         List<RoomDocument> all = roomRepository.findAll();
         return all.stream()
-                .map(RoomGetDto::from)
+                .map(this::toRoomGetDto)
+                .toList();
+    }
+
+    /**
+     * 방 목록 (최신순, _id 커서). before 가 있으면 그 방 이전(_id lt)만.
+     */
+    public RoomSlice getRooms(String before, int limit) {
+        limit = Math.max(1, Math.min(limit, maxPageLimit));
+
+        // hasMore 판단용으로 +1
+        Query query = new Query().with(ID_DESC).limit(limit + 1);
+        if (before != null && !before.isBlank()) {
+            if (!ObjectId.isValid(before)) {
+                throw new BusinessException(before, "before", ErrorCode.BAD_REQUEST);
+            }
+            query.addCriteria(Criteria.where("id").lt(new ObjectId(before)));
+        }
+
+        List<RoomDocument> found = mongoTemplate.find(query, RoomDocument.class);
+        boolean hasMore = found.size() > limit;
+        List<RoomGetDto> rooms = found.stream()
+                .limit(limit)
+                .map(this::toRoomGetDto)
                 .toList();
+
+        String nextCursor = rooms.isEmpty() ? null : rooms.getLast().roomId();
+        return RoomSlice.of(rooms, nextCursor, hasMore);
+    }
+
+    /**
+     * 전체 방을 커서로 읽으면서 하나씩 sink 로 넘긴다 (NDJSON 응답용).
+     */
+    public void streamRooms(Consumer<RoomGetDto> sink) {
+        Query query = new Query().with(ID_DESC).cursorBatchSize(STREAM_BATCH_SIZE);
+        try (Stream<RoomDocument> rooms = mongoTemplate.stream(query, RoomDocument.class)) {
+            rooms.forEach(room -> sink.accept(toRoomGetDto(room)));
+        }
     }
 
     public RoomGetDto getRoom(ObjectId roomId) {
-        RoomDocument room = roomRepository.findById(roomId).orElseThrow(
-                () -> new BusinessException(roomId, "roomId", ErrorCode.ROOM_NOT_FOUND)
-        );
+        RoomDocument room = chatCache.room(roomId, id -> roomRepository.findById(id).orElse(null));
+        if (room == null) {
+            throw new BusinessException(roomId, "roomId", ErrorCode.ROOM_NOT_FOUND);
+        }
 
-        return RoomGetDto.from(room);
+        return RoomGetDto.from(room, roomMessageCounter.unflushed(roomId));
     }
 
     public void resetRoom(ObjectId roomId) {
         messageRepository.deleteAllByRoomId(roomId);
+        roomMessageCounter.reset(roomId);
+        chatCache.evictRoom(roomId);
     }
 
     public void deleteRoom(ObjectId roomId) {
         roomRepository.deleteById(roomId);
         messageRepository.deleteAllByRoomId(roomId);
+        roomMessageCounter.forget(roomId);
+        chatCache.evictRoom(roomId);
+    }
+
+    private RoomGetDto toRoomGetDto(RoomDocument room) {
+        return RoomGetDto.from(room, roomMessageCounter.unflushed(room.getId()));
     }
 }
@@ -16,11 +16,17 @@ public record RoomGetDto(
 ) {
 
     public static RoomGetDto from(RoomDocument roomDocument){
+        return from(roomDocument, 0);
+    }
+
+    /** unflushed: 아직 DB 에 반영되지 않은 메시지 수 */
+    public static RoomGetDto from(RoomDocument roomDocument, long unflushed){
+        long stored = roomDocument.getMessageCount() != null ? roomDocument.getMessageCount() : 0;
         return RoomGetDto.builder()
                 .roomId(roomDocument.getId().toHexString())
                 .character(roomDocument.getCharacter())
                 .createdAt(roomDocument.getCreateAt())
-                .messageCount(roomDocument.getMessageCount())
+                .messageCount(stored + unflushed)
                 .build();
     }
 }
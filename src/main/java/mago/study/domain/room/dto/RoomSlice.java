@@ -0,0 +1,20 @@
+package mago.study.domain.room.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record RoomSlice(
+        List<RoomGetDto> rooms,
+        String nextCursor,
+        boolean hasMore
+) {
+    public static RoomSlice of(List<RoomGetDto> rooms, String nextCursor, boolean hasMore) {
+        return RoomSlice.builder()
+                .rooms(rooms)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package mago.study.domain.tweet.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV 임포트 메트릭 (/actuator/prometheus).
+ * - csv.import.rows: 스테이지(read/clean/write)별 처리 행 수 (초당 처리량은 rate() 로 본다)
+ * - csv.import.clean: 배치 정제 시간
+ * - csv.import.flush: 배치 저장 시간 (insertMany 개별 지연은 mongodb.driver.commands)
+ * - csv.import.run: 임포트 1회 전체 시간
+ * 스테이지 스레드가 배치마다 호출하므로 미터는 미리 만들어 두고 nanoTime 차이만 기록한다.
+ */
+@Component
+class CsvImportMetrics {
+
+    private final Counter rowsRead;
+    private final Counter rowsCleaned;
+    private final Counter rowsWritten;
+    private final Timer clean;
+    private final Timer flush;
+    private final Timer run;
+
+    CsvImportMetrics(MeterRegistry registry) {
+        this.rowsRead = rows(registry, "read");
+        this.rowsCleaned = rows(registry, "clean");
+        this.rowsWritten = rows(registry, "write");
+        this.clean = Timer.builder("csv.import.clean")
+                .description("CSV 배치 정제 시간")
+                .register(registry);
+        this.flush = Timer.builder("csv.import.flush")
+                .description("CSV 배치 저장 시간")
+                .register(registry);
+        this.run = Timer.builder("csv.import.run")
+                .description("CSV 임포트 전체 시간")
+                .register(registry);
+    }
+
+    private static Counter rows(MeterRegistry registry, String stage) {
+        return Counter.builder("csv.import.rows")
+                .description("CSV 임포트 스테이지별 처리 행 수")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    void read(int rows) {
+        rowsRead.increment(rows);
+    }
+
+    void cleaned(int rows, long nanos) {
+        rowsCleaned.increment(rows);
+        clean.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void flushed(int savedRows, long nanos) {
+        rowsWritten.increment(savedRows);
+        flush.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void finished(long nanos) {
+        run.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,370 @@
+package mago.study.domain.tweet.application;
+
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.tweet.domain.TweetText;
+import mago.study.domain.tweet.dto.FileResult;
+import mago.study.domain.tweet.dto.ImportOptions;
+import mago.study.domain.tweet.dto.StageStats;
+import mago.study.global.util.CompiledTextCleaner;
+import mago.study.global.util.TextCleaner;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CSV 임포트 파이프라인 (1회 실행용, 재사용하지 않는다).
+ * - read : 파일당 리더 1개가 CSV를 파싱해 원문 배치를 정제 큐에 적재
+ * - clean: 정제 워커 풀이 TextCleaner 적용 후 저장 큐에 적재
+ * - write: 저장 스레드가 배치 단위로 저장
+ * 큐는 모두 bounded 이므로 뒤 스테이지가 밀리면 앞 스테이지가 put 에서 대기한다(backpressure).
+ * 가상 스레드 모드에서도 read/write 스테이지의 동시 실행 수는 스테이지 크기 그대로이고,
+ * CPU 작업인 clean 스테이지는 항상 플랫폼 스레드에서 실행한다.
+ * 스테이지 스레드가 Error 로 죽으면 나머지 스테이지 작업을 모두 취소하고(대기 중인 put/take 도 인터럽트)
+ * run 은 IllegalStateException 으로 끝난다. 죽은 스테이지 때문에 다른 스테이지가 큐에서 계속 기다리지 않는다.
+ */
+@Slf4j
+class CsvImportPipeline {
+
+    /** 파일 경로 → Reader */
+    @FunctionalInterface
+    interface ReaderOpener {
+        BufferedReader open(String path) throws Exception;
+    }
+
+    /** 배치 저장 후 저장된 건수 반환 (배치 크기보다 작으면 나머지는 에러로 집계) */
+    @FunctionalInterface
+    interface BatchWriter {
+        int write(List<TweetText> batch);
+    }
+
+    private static final RawBatch RAW_END = new RawBatch(null, List.of());
+    private static final CleanBatch CLEAN_END = new CleanBatch(null, List.of());
+
+    private final ImportOptions options;
+    private final CSVFormat format;
+    private final String textColumn;
+    private final ReaderOpener opener;
+    private final BatchWriter writer;
+    private final CsvImportMetrics metrics;
+
+    private final CompiledTextCleaner cleaner;
+
+    private final BlockingQueue<RawBatch> cleanQueue;
+    private final BlockingQueue<CleanBatch> writeQueue;
+
+    private final StageCounter readStage = new StageCounter();
+    private final StageCounter cleanStage = new StageCounter();
+    private final StageCounter writeStage = new StageCounter();
+
+    // fail-fast 모드에서 실패가 발생하면 남은 작업을 건너뛴다
+    private volatile boolean aborted;
+
+    // 스테이지 스레드를 죽인 Error (있으면 모든 스테이지 작업을 취소한다)
+    private volatile Throwable failure;
+    private final List<Future<?>> tasks = new CopyOnWriteArrayList<>();
+
+    private int readerThreads;
+
+    CsvImportPipeline(ImportOptions options, CSVFormat format, String textColumn, ReaderOpener opener, BatchWriter writer,
+                      CsvImportMetrics metrics) {
+        this.options = options;
+        this.format = format;
+        this.textColumn = textColumn;
+        this.opener = opener;
+        this.writer = writer;
+        this.metrics = metrics;
+        this.cleaner = TextCleaner.compile(options.removeHashtag(), options.removeMention(), options.removeEmoji());
+        this.cleanQueue = new ArrayBlockingQueue<>(options.queueCapacity());
+        this.writeQueue = new ArrayBlockingQueue<>(options.queueCapacity());
+    }
+
+    /**
+     * 모든 파일을 파이프라인으로 처리하고 입력 순서대로 파일별 결과를 반환한다.
+     */
+    List<FileResult> run(List<String> paths) throws InterruptedException {
+        List<FileProgress> files = new ArrayList<>(paths.size());
+        for (String path : paths) files.add(new FileProgress(path));
+
+        readerThreads = Math.max(1, Math.min(paths.size(), options.readerThreads()));
+        ExecutorService readers = Executors.newFixedThreadPool(readerThreads, ioThreads("csv-read-"));
+        ExecutorService cleaners = Executors.newFixedThreadPool(options.cleanWorkers(), Thread.ofPlatform().name("csv-clean-", 0).factory());
+        ExecutorService writers = Executors.newFixedThreadPool(options.writerThreads(), ioThreads("csv-write-"));
+
+        try {
+            List<Future<?>> cleanTasks = new ArrayList<>(options.cleanWorkers());
+            for (int i = 0; i < options.cleanWorkers(); i++) cleanTasks.add(submit(cleaners, this::cleanLoop));
+
+            List<Future<?>> writeTasks = new ArrayList<>(options.writerThreads());
+            for (int i = 0; i < options.writerThreads(); i++) writeTasks.add(submit(writers, this::writeLoop));
+
+            List<Future<?>> readTasks = new ArrayList<>(files.size());
+            for (FileProgress file : files) readTasks.add(submit(readers, () -> readFile(file)));
+
+            // 스테이지 종료 순서: 리더 완료 → 정제 종료 신호 → 저장 종료 신호
+            awaitAll(readTasks);
+            putEnd(cleanQueue, RAW_END, options.cleanWorkers());
+            awaitAll(cleanTasks);
+            putEnd(writeQueue, CLEAN_END, options.writerThreads());
+            awaitAll(writeTasks);
+        } finally {
+            readers.shutdownNow();
+            cleaners.shutdownNow();
+            writers.shutdownNow();
+        }
+
+        List<FileResult> results = new ArrayList<>(files.size());
+        for (FileProgress file : files) results.add(file.toResult());
+        return results;
+    }
+
+    /**
+     * 파이프라인 실행 후 스테이지별 처리량.
+     */
+    List<StageStats> stageStats(long elapsedNanos) {
+        return List.of(
+                readStage.toStats("read", readerThreads, elapsedNanos),
+                cleanStage.toStats("clean", options.cleanWorkers(), elapsedNanos),
+                writeStage.toStats("write", options.writerThreads(), elapsedNanos)
+        );
+    }
+
+    /* ========================= Stages ========================= */
+
+    private void readFile(FileProgress file) {
+        long start = System.nanoTime();
+        long blocked = 0;
+
+        try (BufferedReader br = opener.open(file.path);
+             CSVParser parser = new CSVParser(br, format)) {
+
+            List<String> batch = new ArrayList<>(options.batchSize());
+
+            for (CSVRecord record : parser) {
+                if (aborted) break;
+                file.rowsRead.incrementAndGet();
+
+                // 필수 컬럼이 없으면 에러로 집계하고 스킵
+                if (!record.isMapped(textColumn)) {
+                    file.errors.incrementAndGet();
+                    continue;
+                }
+
+                batch.add(record.get(textColumn));
+                if (batch.size() >= options.batchSize()) {
+                    blocked += put(cleanQueue, new RawBatch(file, batch));
+                    readStage.rows.add(batch.size());
+                    metrics.read(batch.size());
+                    batch = new ArrayList<>(options.batchSize());
+                }
+            }
+
+            // 남은 레코드 처리
+            if (!batch.isEmpty()) {
+                blocked += put(cleanQueue, new RawBatch(file, batch));
+                readStage.rows.add(batch.size());
+                metrics.read(batch.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            file.fail(e);
+        } catch (Exception e) {
+            log.warn("CSV 읽기 실패: {}", file.path, e);
+            file.fail(e);
+            if (options.failFast()) aborted = true;
+        } catch (Error e) {
+            file.fail(e);
+            abort(e);
+            throw e;
+        } finally {
+            readStage.record(System.nanoTime() - start - blocked, blocked);
+        }
+    }
+
+    private void cleanLoop() {
+        try {
+            while (true) {
+                RawBatch raw = cleanQueue.take();
+                if (raw == RAW_END) return;
+                if (aborted) continue;
+
+                long start = System.nanoTime();
+                List<TweetText> docs = new ArrayList<>(raw.texts.size());
+                int skipped = 0;
+                for (String text : raw.texts) {
+                    String cleaned = cleaner.clean(text);
+                    // 정제 후 비어 있으면 스킵
+                    if (cleaned == null) {
+                        skipped++;
+                        continue;
+                    }
+                    docs.add(TweetText.builder().text(cleaned).build());
+                }
+                raw.file.rowsSkippedEmpty.addAndGet(skipped);
+                cleanStage.rows.add(raw.texts.size());
+                long busy = System.nanoTime() - start;
+                metrics.cleaned(raw.texts.size(), busy);
+
+                long blocked = docs.isEmpty() ? 0 : put(writeQueue, new CleanBatch(raw.file, docs));
+                cleanStage.record(busy, blocked);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Error e) {
+            abort(e);
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                CleanBatch batch = writeQueue.take();
+                if (batch == CLEAN_END) return;
+                if (aborted) continue;
+
+                long start = System.nanoTime();
+                int saved = 0;
+                try {
+                    saved = writer.write(batch.docs);
+                    batch.file.rowsSaved.addAndGet(saved);
+                    if (saved < batch.docs.size()) batch.file.errors.addAndGet(batch.docs.size() - saved);
+                    writeStage.rows.add(saved);
+                } catch (Exception e) {
+                    log.warn("배치 저장 실패: {} ({} rows)", batch.file.path, batch.docs.size(), e);
+                    // 배치 전체가 저장되지 않았으므로 행 수만큼 에러로 집계
+                    batch.file.fail(e, batch.docs.size());
+                    if (options.failFast()) aborted = true;
+                } finally {
+                    long busy = System.nanoTime() - start;
+                    writeStage.record(busy, 0);
+                    metrics.flushed(saved, busy);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Error e) {
+            abort(e);
+            throw e;
+        }
+    }
+
+    /* ========================= Helpers ========================= */
+
+    /** 스테이지 작업 등록. 이미 중단된 뒤에 등록된 작업은 바로 취소한다 */
+    private Future<?> submit(ExecutorService executor, Runnable task) {
+        Future<?> future = executor.submit(task);
+        tasks.add(future);
+        if (failure != null) future.cancel(true);
+        return future;
+    }
+
+    /** Error 로 죽는 스테이지가 호출: 시작 전 작업은 취소하고, 실행 중인 작업은 인터럽트해 큐 대기에서 빠져나오게 한다 */
+    private void abort(Error e) {
+        log.error("CSV 임포트 스테이지 비정상 종료", e);
+        if (failure == null) failure = e;
+        aborted = true;
+        for (Future<?> task : tasks) task.cancel(true);
+    }
+
+    /** 종료 신호 count 개 적재. 중단되면 받을 스테이지가 없을 수 있으므로 기다리지 않고 돌아온다 */
+    private <T> void putEnd(BlockingQueue<T> queue, T end, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            while (!queue.offer(end, 100, TimeUnit.MILLISECONDS)) {
+                if (failure != null) return;
+            }
+        }
+    }
+
+    private ThreadFactory ioThreads(String prefix) {
+        return options.virtualThreads()
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).factory();
+    }
+
+    /** put 후 대기한 시간(ns) 반환 */
+    private static <T> long put(BlockingQueue<T> queue, T item) throws InterruptedException {
+        if (queue.offer(item)) return 0;
+        long start = System.nanoTime();
+        queue.put(item);
+        return System.nanoTime() - start;
+    }
+
+    private void awaitAll(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException | CancellationException e) {
+                // 스테이지 루프는 Exception 을 자체 처리하므로 여기까지 오면 Error 로 죽은 스테이지가 있다
+                throw new IllegalStateException("CSV 임포트 스테이지 비정상 종료", failure != null ? failure : e.getCause());
+            }
+        }
+    }
+
+    private record RawBatch(FileProgress file, List<String> texts) {}
+
+    private record CleanBatch(FileProgress file, List<TweetText> docs) {}
+
+    /**
+     * 파일별 집계. 여러 스테이지 스레드가 동시에 갱신하므로 원자 카운터 사용.
+     */
+    private static final class FileProgress {
+        private final String path;
+        private final AtomicInteger rowsRead = new AtomicInteger();
+        private final AtomicInteger rowsSaved = new AtomicInteger();
+        private final AtomicInteger rowsSkippedEmpty = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private volatile String errorMessage;
+
+        private FileProgress(String path) {
+            this.path = path;
+        }
+
+        /** 파일 단위 실패 (열기/읽기) */
+        private void fail(Throwable e) {
+            fail(e, 1);
+        }
+
+        /** rows 건이 실패. 첫 실패의 메시지를 남긴다 */
+        private synchronized void fail(Throwable e, int rows) {
+            errors.addAndGet(rows);
+            if (errorMessage == null) errorMessage = String.valueOf(e.getMessage());
+        }
+
+        private FileResult toResult() {
+            return new FileResult(path, rowsRead.get(), rowsSaved.get(), rowsSkippedEmpty.get(), errors.get(), errorMessage);
+        }
+    }
+
+    private static final class StageCounter {
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+
+        private void record(long busy, long blocked) {
+            busyNanos.add(busy);
+            blockedNanos.add(blocked);
+        }
+
+        private StageStats toStats(String stage, int threads, long elapsedNanos) {
+            long n = rows.sum();
+            double rowsPerSec = elapsedNanos > 0 ? n * 1_000_000_000.0 / elapsedNanos : 0.0;
+            return new StageStats(stage, threads, n, busyNanos.sum() / 1_000_000, blockedNanos.sum() / 1_000_000, rowsPerSec);
+        }
+    }
+}
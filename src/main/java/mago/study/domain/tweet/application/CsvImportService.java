@@ -1,16 +1,14 @@
 package mago.study.domain.tweet.application;
 
 import lombok.RequiredArgsConstructor;
-import mago.study.domain.tweet.dao.TweetTextRepository;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.tweet.dao.TweetBulkWriter;
 import mago.study.domain.tweet.domain.TweetText;
 import mago.study.domain.tweet.dto.FileResult;
 import mago.study.domain.tweet.dto.ImportResult;
 import mago.study.domain.tweet.dto.ImportOptions;
-import mago.study.domain.tweet.dto.ImportCounters;
-import mago.study.global.util.TextCleaner;
+import mago.study.domain.tweet.dto.StageStats;
 import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import mago.study.global.exception.custom.BusinessException;
 import mago.study.global.exception.enums.ErrorCode;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,15 +20,16 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CsvImportService {
 
-    private final TweetTextRepository repo;
+    private final TweetBulkWriter bulkWriter;
     private final ResourceLoader resourceLoader;
+    private final CsvImportMetrics metrics;
 
     // 콤마 한 줄이든(yml) 리스트든 상관없이 List로 주입 (양쪽 공백 무시)
     @Value("#{'${tweet-import.file-paths}'.split('\\s*,\\s*')}")
@@ -51,68 +50,70 @@ public class CsvImportService {
     @Value("${tweet-import.fail-fast:false}")
     private boolean defaultFailFast;
 
+    // 파이프라인 스테이지 크기 (clean-workers 가 0 이하이면 CPU 코어 수)
+    @Value("${tweet-import.reader-threads:4}")
+    private int defaultReaderThreads;
+
+    @Value("${tweet-import.clean-workers:0}")
+    private int defaultCleanWorkers;
+
+    @Value("${tweet-import.writer-threads:2}")
+    private int defaultWriterThreads;
+
+    @Value("${tweet-import.queue-capacity:16}")
+    private int defaultQueueCapacity;
+
+    // 가상 스레드 모드 (read/write 스테이지)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     // CSV 헤더 컬럼명
     private static final String COL_TEXT = "Tweet Text";
 
     /**
      * 설정 파일(application.yml)의 기본 옵션을 사용하여
      * 지정된 모든 CSV 파일을 읽고, 정제 후 MongoDB에 저장한다.
+     * 파일 읽기/정제/저장은 {@link CsvImportPipeline} 스테이지에서 병렬로 수행된다.
      */
     public ImportResult importByRequest() {
         ImportOptions options = optionsFromDefaults();
-        List<FileResult> results = new ArrayList<>(defaultFilePaths.size());
-
-        for (String path : defaultFilePaths) {
-            try {
-                results.add(processOneFile(path, options));
-            } catch (Exception e) {
-                if (options.failFast()) {
-                    throw new BusinessException(path, "file", ErrorCode.INTERNAL_SERVER_ERROR);
+        TweetBulkWriter.Stats writeStats = new TweetBulkWriter.Stats();
+        CsvImportPipeline pipeline = new CsvImportPipeline(options, csvFormat(), COL_TEXT, this::openReader,
+                batch -> flushBuffer(batch, writeStats), metrics);
+
+        long start = System.nanoTime();
+        List<FileResult> results;
+        try {
+            results = pipeline.run(defaultFilePaths);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+        long elapsed = System.nanoTime() - start;
+        metrics.finished(elapsed);
+
+        if (options.failFast()) {
+            for (FileResult r : results) {
+                if (r.errorMessage() != null) {
+                    throw new BusinessException(r.path(), "file", ErrorCode.INTERNAL_SERVER_ERROR);
                 }
-                // 실패를 결과 집계에 포함
-                ImportCounters c = new ImportCounters(0, 0, 0, 0);
-                results.add(new FileResult(path, c.rowsRead(), c.rowsSaved(), c.rowsSkippedEmpty(), c.errors() + 1, e.getMessage()));
             }
         }
 
+        List<StageStats> stages = pipeline.stageStats(elapsed);
+        log.info("CSV 임포트 완료: {}ms, stages={}, write={}", elapsed / 1_000_000, stages, writeStats.snapshot());
+
         // 결과에도 사용한 옵션을 그대로 표기
         return ImportResult
                 .empty(options.batchSize(), options.removeHashtag(), options.removeMention(), options.removeEmoji())
-                .withFiles(results);
+                .withFiles(results)
+                .withStages(elapsed / 1_000_000, stages)
+                .withWriteStats(writeStats.snapshot());
     }
 
 
     /* ========================= Core ========================= */
 
-    /**
-     * 단일 CSV 파일을 처리한다.
-     * - CSV 파싱
-     * - 텍스트 정제
-     * - 배치 단위 저장
-     */
-    private FileResult processOneFile(String path, ImportOptions options) throws Exception {
-        CSVFormat format = csvFormat();
-        ImportCounters counters = new ImportCounters(0, 0, 0, 0);
-
-        try (BufferedReader br = openReader(path);
-             CSVParser parser = new CSVParser(br, format)) {
-
-            List<TweetText> buffer = new ArrayList<>(options.batchSize());
-
-            for (CSVRecord record : parser) {
-                counters = processRecord(record, buffer, counters, options);
-                if (buffer.size() >= options.batchSize()) {
-                    counters = counters.withRowsSaved(counters.rowsSaved() + flushBuffer(buffer));
-                }
-            }
-
-            // 남은 레코드 처리
-            if (!buffer.isEmpty()) counters = counters.withRowsSaved(counters.rowsSaved() + flushBuffer(buffer));
-        }
-
-        return new FileResult(path, counters.rowsRead(), counters.rowsSaved(), counters.rowsSkippedEmpty(), counters.errors(), null);
-    }
-
     private CSVFormat csvFormat() {
         return CSVFormat.DEFAULT.builder()
                 .setHeader()
@@ -133,42 +134,18 @@ public class CsvImportService {
     }
 
     /**
-     * CSV 레코드 하나를 처리하여 버퍼에 적재한다.
-     */
-    private ImportCounters processRecord(CSVRecord record, List<TweetText> buffer, ImportCounters counters, ImportOptions options) {
-        ImportCounters updated = counters.withRowsRead(counters.rowsRead() + 1);
-
-        // 필수 컬럼이 없으면 에러로 집계하고 스킵
-        if (!record.isMapped(COL_TEXT)) {
-            return updated.withErrors(updated.errors() + 1);
-        }
-
-        String raw = record.get(COL_TEXT);
-        String cleaned = TextCleaner.clean(raw, options.removeHashtag(), options.removeMention(), options.removeEmoji());
-
-        // 정제 후 비어 있으면 스킵
-        if (cleaned == null) {
-            return updated.withRowsSkippedEmpty(updated.rowsSkippedEmpty() + 1);
-        }
-
-        buffer.add(TweetText.builder().text(cleaned).build());
-        return updated;
-    }
-
-    /**
-     * 버퍼를 저장소에 한 번에 저장하고 비운다.
+     * 배치를 unordered 벌크 insert 로 저장한다. (저장 스테이지 스레드에서 호출)
      */
-    private int flushBuffer(List<TweetText> buffer) {
-        repo.saveAll(buffer);
-        int saved = buffer.size();
-        buffer.clear();
-        return saved;
+    private int flushBuffer(List<TweetText> batch, TweetBulkWriter.Stats stats) {
+        return bulkWriter.insert(batch, stats);
     }
 
     /**
      * 기본 설정값을 구조화된 옵션으로 변환한다.
      */
     private ImportOptions optionsFromDefaults() {
-        return new ImportOptions(defaultBatchSize, defaultRemoveHashtag, defaultRemoveMention, defaultRemoveEmoji, defaultFailFast);
+        int cleanWorkers = defaultCleanWorkers > 0 ? defaultCleanWorkers : Runtime.getRuntime().availableProcessors();
+        return new ImportOptions(defaultBatchSize, defaultRemoveHashtag, defaultRemoveMention, defaultRemoveEmoji, defaultFailFast,
+                defaultReaderThreads, cleanWorkers, defaultWriterThreads, defaultQueueCapacity, virtualThreads);
     }
 }
\ No newline at end of file
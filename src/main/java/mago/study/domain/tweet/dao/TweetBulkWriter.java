@@ -0,0 +1,150 @@
+package mago.study.domain.tweet.dao;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mago.study.domain.tweet.domain.TweetText;
+import mago.study.domain.tweet.dto.BulkWriteStats;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 임포트 전용 TweetText 벌크 writer.
+ * - 엔티티 매핑/save 시맨틱 없이 Document 를 바로 만들어 unordered insertMany 수행
+ * - batch-size 건수 외에 max-batch-bytes 로도 배치를 나눈다
+ * - 실패 문서는 예외 대신 저장 건수에서 빠진 채로 반환된다 (호출 측이 에러로 집계). 하나도 저장하지 못하면 예외
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TweetBulkWriter {
+
+    // BSON 문서 헤더 + _id(ObjectId) + text 필드 키/길이 정도의 고정 오버헤드
+    private static final int DOC_OVERHEAD_BYTES = 48;
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${tweet-import.max-batch-bytes:4194304}")
+    private long maxBatchBytes;
+
+    /**
+     * 배치를 바이트 한도에 맞게 나눠 insertMany 한다.
+     * 하위 배치가 타임아웃/네트워크 오류 등으로 통째로 실패하면 그 문서만 실패로 세고 나머지 하위 배치는 계속 저장한다.
+     * 하나도 저장하지 못했으면 (DB 장애 등) 마지막 예외를 던진다.
+     *
+     * @param batch 저장할 트윗 (건수 한도는 호출 측 batch-size)
+     * @param stats 배치 지연 집계 대상
+     * @return 실제 저장된 문서 수
+     */
+    public int insert(List<TweetText> batch, Stats stats) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(TweetText.class));
+
+        int inserted = 0;
+        MongoException failure = null;
+        for (SubBatch sub : split(batch)) {
+            try {
+                inserted += insertMany(collection, sub.docs(), sub.bytes(), stats);
+            } catch (MongoException e) {
+                failure = e;
+                log.warn("벌크 insert 실패: {} docs ({})", sub.docs().size(), e.getMessage());
+            }
+        }
+
+        if (failure != null && inserted == 0) throw failure;
+        return inserted;
+    }
+
+    /** max-batch-bytes 한도로 나눈 하위 배치 */
+    private List<SubBatch> split(List<TweetText> batch) {
+        List<SubBatch> subBatches = new ArrayList<>();
+        List<Document> docs = new ArrayList<>(batch.size());
+        long bytes = 0;
+
+        for (TweetText tweet : batch) {
+            long size = DOC_OVERHEAD_BYTES + utf8Length(tweet.getText());
+            if (!docs.isEmpty() && bytes + size > maxBatchBytes) {
+                subBatches.add(new SubBatch(docs, bytes));
+                docs = new ArrayList<>(batch.size());
+                bytes = 0;
+            }
+            docs.add(new Document("text", tweet.getText()));
+            bytes += size;
+        }
+
+        if (!docs.isEmpty()) subBatches.add(new SubBatch(docs, bytes));
+        return subBatches;
+    }
+
+    private int insertMany(MongoCollection<Document> collection, List<Document> docs, long bytes, Stats stats) {
+        long start = System.nanoTime();
+        int inserted = 0;
+        try {
+            collection.insertMany(docs, UNORDERED);
+            inserted = docs.size();
+        } catch (MongoBulkWriteException e) {
+            // unordered 이므로 실패한 문서만 빠지고 나머지는 저장됨
+            inserted = e.getWriteResult().getInsertedCount();
+            log.warn("벌크 insert 일부 실패: {}/{} docs, first={}", docs.size() - inserted, docs.size(),
+                    e.getWriteErrors().isEmpty() ? null : e.getWriteErrors().get(0).getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            stats.record(elapsed, inserted, docs.size() - inserted, bytes);
+            log.debug("벌크 insert: {} docs, {} bytes, {}ms", docs.size(), bytes, elapsed / 1_000_000.0);
+        }
+        return inserted;
+    }
+
+    private static long utf8Length(String s) {
+        if (s == null) return 0;
+        long n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) n += 1;
+            else if (c < 0x800) n += 2;
+            else if (Character.isHighSurrogate(c)) { n += 4; i++; }
+            else n += 3;
+        }
+        return n;
+    }
+
+    private record SubBatch(List<Document> docs, long bytes) {}
+
+    /**
+     * 임포트 1회 동안의 배치 지연 집계. 여러 writer 스레드가 동시에 기록한다.
+     */
+    public static final class Stats {
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder inserted = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos, int insertedDocs, int failedDocs, long batchBytes) {
+            batches.increment();
+            inserted.add(insertedDocs);
+            failed.add(failedDocs);
+            bytes.add(batchBytes);
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public BulkWriteStats snapshot() {
+            long n = batches.sum();
+            double avg = n > 0 ? totalNanos.sum() / 1_000_000.0 / n : 0.0;
+            return new BulkWriteStats(n, inserted.sum(), failed.sum(), bytes.sum(), avg, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
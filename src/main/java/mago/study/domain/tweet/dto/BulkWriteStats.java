@@ -0,0 +1,24 @@
+package mago.study.domain.tweet.dto;
+
+/**
+ * 벌크 insert 배치 지연 집계 (record).
+ *
+ * @param batches      실행한 insertMany 횟수
+ * @param docsInserted 저장된 문서 수
+ * @param docsFailed   저장 실패 문서 수
+ * @param bytes        추정 전송 바이트 합
+ * @param avgMillis    배치당 평균 지연
+ * @param maxMillis    배치당 최대 지연
+ */
+public record BulkWriteStats(
+        long batches,
+        long docsInserted,
+        long docsFailed,
+        long bytes,
+        double avgMillis,
+        double maxMillis
+) {
+    public static BulkWriteStats empty() {
+        return new BulkWriteStats(0, 0, 0, 0, 0.0, 0.0);
+    }
+}
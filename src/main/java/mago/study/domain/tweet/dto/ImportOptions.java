@@ -2,13 +2,20 @@ package mago.study.domain.tweet.dto;
 
 /**
  * CSV 정제/저장 동작에 필요한 옵션 묶음 (record).
+ * readerThreads/cleanWorkers/writerThreads/queueCapacity 는 파이프라인 스테이지 크기.
+ * virtualThreads 면 I/O 스테이지(read/write)를 가상 스레드로 실행한다.
  */
 public record ImportOptions(
         int batchSize,
         boolean removeHashtag,
         boolean removeMention,
         boolean removeEmoji,
-        boolean failFast
+        boolean failFast,
+        int readerThreads,
+        int cleanWorkers,
+        int writerThreads,
+        int queueCapacity,
+        boolean virtualThreads
 ) {}
 
 
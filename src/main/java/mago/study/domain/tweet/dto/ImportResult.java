@@ -11,10 +11,13 @@ public record ImportResult(
         Boolean removeHashtag,
         Boolean removeMention,
         Boolean removeEmoji,
-        List<FileResult> filesProcessed
+        List<FileResult> filesProcessed,
+        long elapsedMillis,
+        List<StageStats> stages,
+        BulkWriteStats writeStats
 ) {
     public static ImportResult empty(Integer batchSize, Boolean removeHashtag, Boolean removeMention, Boolean removeEmoji) {
-        return new ImportResult(0, 0, 0, 0, batchSize, removeHashtag, removeMention, removeEmoji, List.of());
+        return new ImportResult(0, 0, 0, 0, batchSize, removeHashtag, removeMention, removeEmoji, List.of(), 0L, List.of(), BulkWriteStats.empty());
     }
 
     public ImportResult withFiles(List<FileResult> files) {
@@ -22,6 +25,14 @@ public record ImportResult(
         int saved = files.stream().mapToInt(FileResult::rowsSaved).sum();
         int skipped = files.stream().mapToInt(FileResult::rowsSkippedEmpty).sum();
         int err = files.stream().mapToInt(FileResult::errors).sum();
-        return new ImportResult(read, saved, skipped, err, batchSize, removeHashtag, removeMention, removeEmoji, files);
+        return new ImportResult(read, saved, skipped, err, batchSize, removeHashtag, removeMention, removeEmoji, files, elapsedMillis, stages, writeStats);
     }
-}
\ No newline at end of file
+
+    public ImportResult withStages(long elapsedMillis, List<StageStats> stages) {
+        return new ImportResult(rowsRead, rowsSaved, rowsSkippedEmpty, errors, batchSize, removeHashtag, removeMention, removeEmoji, filesProcessed, elapsedMillis, stages, writeStats);
+    }
+
+    public ImportResult withWriteStats(BulkWriteStats writeStats) {
+        return new ImportResult(rowsRead, rowsSaved, rowsSkippedEmpty, errors, batchSize, removeHashtag, removeMention, removeEmoji, filesProcessed, elapsedMillis, stages, writeStats);
+    }
+}
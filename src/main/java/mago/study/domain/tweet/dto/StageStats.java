@@ -0,0 +1,21 @@
+package mago.study.domain.tweet.dto;
+
+/**
+ * 파이프라인 스테이지별 처리량 집계 (record).
+ *
+ * @param stage       스테이지 이름(read/clean/write)
+ * @param threads     스테이지 스레드 수
+ * @param rows        스테이지가 처리한 행 수
+ * @param busyMillis  스레드들이 실제 작업에 쓴 시간 합
+ * @param blockedMillis 다음 스테이지 큐가 가득 차 대기한 시간 합(backpressure)
+ * @param rowsPerSec  전체 경과 시간 기준 처리량
+ */
+public record StageStats(
+        String stage,
+        int threads,
+        long rows,
+        long busyMillis,
+        long blockedMillis,
+        double rowsPerSec
+) {
+}
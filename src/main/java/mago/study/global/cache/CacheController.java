@@ -0,0 +1,22 @@
+package mago.study.global.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final ChatCache chatCache;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStatsRes>> stats() {
+        return ResponseEntity.ok(chatCache.stats());
+    }
+}
@@ -0,0 +1,25 @@
+package mago.study.global.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Builder;
+
+@Builder
+public record CacheStatsRes(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions
+) {
+    public static CacheStatsRes of(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsRes.builder()
+                .size(cache.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .build();
+    }
+}
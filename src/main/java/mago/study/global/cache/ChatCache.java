@@ -0,0 +1,123 @@
+package mago.study.global.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import mago.study.domain.message.domain.ConversationWindow;
+import mago.study.domain.message.dto.res.MessageSlice;
+import mago.study.domain.room.domain.RoomDocument;
+import mago.study.domain.user.domain.Role;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 채팅 조회용 로컬 캐시 (크기 + TTL 제한).
+ * - rooms      : roomId → RoomDocument
+ * - newestPage : roomId → 최신 메시지 페이지 (history-page-size 건, 커서 없는 첫 페이지 요청용)
+ * - contexts   : roomId → 최근 대화 창 (메시지 저장 시 무효화하지 않고 이어 붙인다)
+ * 값 로딩은 키 단위로 원자적으로 수행되므로, 쓰기 후 invalidate 하면 로딩 중이던 이전 값도 남지 않는다.
+ * 적중률/제거 수는 cache.* 메트릭(cache 태그 = chat.rooms 등)으로 /actuator/prometheus 에 노출된다.
+ */
+@Component
+public class ChatCache {
+
+    private final Cache<ObjectId, RoomDocument> rooms;
+    private final Cache<ObjectId, MessageSlice> newestPages;
+    private final Cache<ObjectId, ConversationWindow> contexts;
+    private final int historyPageSize;
+
+    public ChatCache(
+            @Value("${chat.cache.room-max-size:10000}") long roomMaxSize,
+            @Value("${chat.cache.room-ttl-seconds:600}") long roomTtlSeconds,
+            @Value("${chat.cache.history-max-size:10000}") long historyMaxSize,
+            @Value("${chat.cache.history-ttl-seconds:30}") long historyTtlSeconds,
+            @Value("${chat.cache.history-page-size:50}") int historyPageSize,
+            @Value("${chat.cache.context-max-size:10000}") long contextMaxSize,
+            @Value("${chat.cache.context-idle-seconds:1800}") long contextIdleSeconds,
+            MeterRegistry registry
+    ) {
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(roomMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(roomTtlSeconds))
+                .recordStats()
+                .build();
+        this.newestPages = Caffeine.newBuilder()
+                .maximumSize(historyMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(historyTtlSeconds))
+                .recordStats()
+                .build();
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(contextMaxSize)
+                .expireAfterAccess(Duration.ofSeconds(contextIdleSeconds))
+                .recordStats()
+                .build();
+        this.historyPageSize = historyPageSize;
+
+        CaffeineCacheMetrics.monitor(registry, rooms, "chat.rooms");
+        CaffeineCacheMetrics.monitor(registry, newestPages, "chat.newestPages");
+        CaffeineCacheMetrics.monitor(registry, contexts, "chat.contexts");
+    }
+
+    /** 캐시된 방 또는 loader 결과 (loader 가 null 이면 캐시하지 않고 null) */
+    public RoomDocument room(ObjectId roomId, Function<ObjectId, RoomDocument> loader) {
+        return rooms.get(roomId, loader);
+    }
+
+    /** 캐시된 방 문서를 더 최신(messageCount 가 크거나 같은) 문서로 교체 */
+    public void refreshRoom(RoomDocument updated) {
+        rooms.asMap().computeIfPresent(updated.getId(), (id, cached) ->
+                cached.getMessageCount() == null || updated.getMessageCount() >= cached.getMessageCount() ? updated : cached);
+    }
+
+    /** 방 문서만 내린다 (메시지/대화 캐시는 유지) */
+    public void evictRoomDocument(ObjectId roomId) {
+        rooms.invalidate(roomId);
+    }
+
+    /** 최신 페이지 캐시가 담는 메시지 수. 이보다 큰 limit 요청은 캐시를 거치지 않는다 */
+    public int historyPageSize() {
+        return historyPageSize;
+    }
+
+    public MessageSlice newestPage(ObjectId roomId, Function<ObjectId, MessageSlice> loader) {
+        return newestPages.get(roomId, loader);
+    }
+
+    public ConversationWindow context(ObjectId roomId, Function<ObjectId, ConversationWindow> loader) {
+        return contexts.get(roomId, loader);
+    }
+
+    /** 캐시된 대화 창에만 이어 붙인다 (없으면 다음 조회 때 DB 에서 다시 만든다) */
+    public void appendContext(ObjectId roomId, ObjectId messageId, Role role, String content) {
+        contexts.asMap().computeIfPresent(roomId, (id, window) -> {
+            window.append(messageId, role, content);
+            return window;
+        });
+    }
+
+    /** 방 메시지가 바뀐 경우 */
+    public void evictHistory(ObjectId roomId) {
+        newestPages.invalidate(roomId);
+    }
+
+    /** 방 자체가 바뀌거나 삭제된 경우 */
+    public void evictRoom(ObjectId roomId) {
+        rooms.invalidate(roomId);
+        newestPages.invalidate(roomId);
+        contexts.invalidate(roomId);
+    }
+
+    public Map<String, CacheStatsRes> stats() {
+        return Map.of(
+                "rooms", CacheStatsRes.of(rooms),
+                "newestPages", CacheStatsRes.of(newestPages),
+                "contexts", CacheStatsRes.of(contexts)
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package mago.study.global.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 답변 스트리밍용 executor. 스트림당 가상 스레드 1개라 동시 스트림 수가 Tomcat 스레드 풀에 묶이지 않는다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService chatStreamExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-stream-", 0).factory());
+    }
+
+    /**
+     * RAG 검색 단계(키워드/벡터)를 동시에 실행하는 executor. 단계 대기는 대부분 Mongo I/O 라 가상 스레드를 쓴다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService retrievalExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rag-retrieval-", 0).factory());
+    }
+}
@@ -0,0 +1,32 @@
+package mago.study.global.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    // 가상 스레드 모드가 아니면 빈이 없다
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @GetMapping("/pinning")
+    public ResponseEntity<List<PinnedSiteRes>> pinning() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        return ResponseEntity.ok(monitor == null ? List.of() : monitor.sites());
+    }
+
+    @DeleteMapping("/pinning")
+    public ResponseEntity<Void> resetPinning() {
+        pinningMonitor.ifAvailable(VirtualThreadPinningMonitor::reset);
+        return ResponseEntity.noContent().build();
+    }
+}
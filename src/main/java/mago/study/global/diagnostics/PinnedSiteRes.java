@@ -0,0 +1,15 @@
+package mago.study.global.diagnostics;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record PinnedSiteRes(
+        String site,
+        long count,
+        long totalMillis,
+        long maxMillis,
+        List<String> stackTrace
+) {
+}
@@ -0,0 +1,122 @@
+package mago.study.global.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 pinning 감시 (JFR jdk.VirtualThreadPinned).
+ * synchronized 안에서 블로킹되면 캐리어 스레드가 묶이므로(Mongo 드라이버, PDFBox 등) 그 위치를 모은다.
+ * - 위치(site): 스택에서 java.* / jdk.* 를 제외한 첫 프레임
+ * - 위치별 첫 발생은 스택과 함께 WARN, 이후는 집계만
+ * 가상 스레드 모드(spring.threads.virtual.enabled)에서만 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 16;
+
+    // 이 시간 이상 pinning 된 경우만 기록
+    @Value("${diagnostics.pinning.threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("가상 스레드 pinning 감시 시작 (threshold={}ms)", thresholdMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    /** 누적 시간이 긴 순서의 pinning 위치 */
+    public List<PinnedSiteRes> sites() {
+        return sites.entrySet().stream()
+                .map(e -> e.getValue().toRes(e.getKey()))
+                .sorted(Comparator.comparingLong(PinnedSiteRes::totalMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        sites.clear();
+    }
+
+    private void record(RecordedEvent event) {
+        List<String> frames = frames(event.getStackTrace());
+        String site = frames.stream()
+                .filter(f -> !f.startsWith("java.") && !f.startsWith("jdk."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+        long millis = event.getDuration().toMillis();
+
+        Site stats = sites.computeIfAbsent(site, k -> new Site(frames));
+        stats.count.increment();
+        stats.totalMillis.add(millis);
+        stats.maxMillis.accumulate(millis);
+
+        if (stats.count.sum() == 1) {
+            log.warn("가상 스레드 pinning {}ms at {}\n\t{}", millis, site, String.join("\n\t", frames));
+        }
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<String> frames = new ArrayList<>(MAX_FRAMES);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frames.size() == MAX_FRAMES) break;
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+        }
+        return frames;
+    }
+
+    private static final class Site {
+        private final List<String> stackTrace;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        private Site(List<String> stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+
+        private PinnedSiteRes toRes(String site) {
+            return PinnedSiteRes.builder()
+                    .site(site)
+                    .count(count.sum())
+                    .totalMillis(totalMillis.sum())
+                    .maxMillis(maxMillis.get())
+                    .stackTrace(stackTrace)
+                    .build();
+        }
+    }
+}
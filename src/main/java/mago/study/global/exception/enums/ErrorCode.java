@@ -18,7 +18,12 @@ public enum ErrorCode {
     PDF_FILE_NOT_FOUND(HttpStatus.NOT_FOUND, "PDF 파일을 찾을 수 없습니다."),
     PDF_PROCESSING_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "PDF 처리 중 오류가 발생했습니다."),
     PDF_PARSING_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "PDF 파싱에 실패했습니다."),
-    PDF_DOCUMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "PDF 문서를 찾을 수 없습니다.");
+    PDF_DOCUMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "PDF 문서를 찾을 수 없습니다."),
+    PDF_TEXT_NOT_FOUND(HttpStatus.NOT_FOUND, "저장된 PDF 텍스트가 없습니다."),
+    PDF_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "PDF 처리 작업을 찾을 수 없습니다."),
+    PDF_JOB_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "PDF 처리 대기열이 가득 찼습니다."),
+    PDF_CHUNK_MIGRATION_RUNNING(HttpStatus.CONFLICT, "청크 저장 방식 변환이 이미 진행 중입니다."),
+    PDF_BATCH_RUNNING(HttpStatus.CONFLICT, "PDF 일괄 처리가 이미 진행 중입니다.");
 
     //오류 상태코드
     private final HttpStatus httpStatus;
@@ -0,0 +1,215 @@
+package mago.study.global.util;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+import java.text.Normalizer;
+
+/**
+ * 옵션이 고정된 {@link TextCleaner} 정제기. {@link TextCleaner#compile}로 생성한다.
+ * - 첫 스캔에서 필요한 단계(엔티티/모지바케/NFC/URL/해시태그/멘션)만 골라 실행
+ * - 6) ~ 11) 단계(제로폭/심볼/제어문자 제거, 라인 트림, 공백·개행 정리)는 코드 포인트 한 번 스캔으로 처리
+ * - 스캔 버퍼는 스레드별로 재사용
+ * 결과는 같은 옵션의 {@link TextCleaner#clean}과 완전히 같아야 한다.
+ * 불변 객체이므로 여러 스레드에서 공유해도 된다.
+ */
+public final class CompiledTextCleaner {
+
+    // 첫 스캔 플래그
+    private static final int HAS_AMP = 1;
+    private static final int HAS_MOJIBAKE = 1 << 1;
+    private static final int MAYBE_NOT_NFC = 1 << 2;
+    private static final int MAYBE_URL = 1 << 3;
+    private static final int HAS_HASH = 1 << 4;
+    private static final int HAS_AT = 1 << 5;
+
+    // NFC 판정이 필요한 최소 코드 포인트 (그 미만은 항상 NFC)
+    private static final char NFC_QC_MIN = '\u0300';
+
+    // 이보다 커진 버퍼는 스레드에 붙잡아 두지 않는다
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final boolean removeHashtag;
+    private final boolean removeMention;
+    private final boolean removeEmoji;
+
+    CompiledTextCleaner(boolean removeHashtag, boolean removeMention, boolean removeEmoji) {
+        this.removeHashtag = removeHashtag;
+        this.removeMention = removeMention;
+        this.removeEmoji = removeEmoji;
+    }
+
+    /**
+     * 텍스트 정제.
+     *
+     * @param raw 원본 문자열
+     * @return 정제된 문자열(내용 없으면 null)
+     */
+    public String clean(String raw) {
+        if (raw == null) return null;
+
+        String s = raw;
+        int flags = scan(s);
+
+        // 1) HTML 엔티티 → 문자. 디코딩 결과로 새 후보 문자가 생길 수 있어 다시 스캔
+        if ((flags & HAS_AMP) != 0) {
+            String decoded = StringEscapeUtils.unescapeHtml4(s);
+            if (!decoded.equals(s)) {
+                s = decoded;
+                flags = scan(s);
+            }
+        }
+
+        // 2) 모지바케 보정 (복원 문자는 모두 U+0300 이상이거나 공백)
+        if ((flags & HAS_MOJIBAKE) != 0) {
+            s = fixMojibake(s);
+            flags |= MAYBE_NOT_NFC;
+        }
+
+        // 3) NFC 정규화. 정규화로 문자가 바뀌면 후보 플래그를 다시 계산
+        if ((flags & MAYBE_NOT_NFC) != 0 && !Normalizer.isNormalized(s, Normalizer.Form.NFC)) {
+            s = Normalizer.normalize(s, Normalizer.Form.NFC);
+            flags = scan(s);
+        }
+
+        // 4) ~ 5) URL/해시태그/멘션 제거. 후보 문자가 없으면 정규식을 돌리지 않는다
+        if ((flags & MAYBE_URL) != 0) s = TextCleaner.URL_PATTERN.matcher(s).replaceAll("");
+        if (removeHashtag && (flags & HAS_HASH) != 0) s = TextCleaner.HASHTAG.matcher(s).replaceAll("");
+        if (removeMention && (flags & HAS_AT) != 0) s = TextCleaner.MENTION.matcher(s).replaceAll("");
+
+        // 6) ~ 11) 단일 스캔
+        return tidy(s);
+    }
+
+    /** 단계별 후보 문자 존재 여부 */
+    private static int scan(String s) {
+        int flags = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> flags |= HAS_AMP;
+                case '.', ':' -> flags |= MAYBE_URL;
+                case '#' -> flags |= HAS_HASH;
+                case '@' -> flags |= HAS_AT;
+                case '\u201A', '\u00E2', '\u00C3', '\u00A0' -> flags |= HAS_MOJIBAKE;
+                default -> {
+                    if (c >= NFC_QC_MIN) flags |= MAYBE_NOT_NFC;
+                }
+            }
+        }
+        return flags;
+    }
+
+    /** {@link TextCleaner#MOJIBAKE}를 왼쪽부터 한 번만 훑으며 치환 */
+    private static String fixMojibake(String s) {
+        StringBuilder sb = buffer(s.length());
+        int n = s.length();
+        int i = 0;
+        outer:
+        while (i < n) {
+            for (String[] pair : TextCleaner.MOJIBAKE) {
+                if (s.startsWith(pair[0], i)) {
+                    sb.append(pair[1]);
+                    i += pair[0].length();
+                    continue outer;
+                }
+            }
+            sb.append(s.charAt(i++));
+        }
+        return release(sb);
+    }
+
+    /**
+     * TextCleaner 6) ~ 11) 단계의 단일 스캔 버전.
+     * 7), 8) 단계 이후에 남는 trim 대상 문자는 ' ', '\t' 뿐이고 줄 구분자는 '\n', U+2028, U+2029 뿐이다.
+     * 빈 줄은 버리고 줄마다 '\n' 하나로 이어 붙이므로 10) 단계(3개 이상 개행 축소)는 적용될 일이 없다.
+     */
+    private String tidy(String s) {
+        StringBuilder sb = buffer(s.length());
+        boolean lineHasContent = false;
+        boolean pendingSpace = false;
+        boolean pendingNewline = false;
+
+        int n = s.length();
+        for (int i = 0; i < n; ) {
+            char c = s.charAt(i);
+            int cp;
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                cp = Character.toCodePoint(c, s.charAt(i + 1));
+                i += 2;
+            } else if (Character.isSurrogate(c)) {
+                // 짝 없는 서로게이트: 앞뒤 문자가 지워지며 짝이 맞춰질 수 있어 단계별 원본 경로 사용
+                sb.setLength(0);
+                return TextCleaner.tidy(s, removeEmoji);
+            } else {
+                cp = c;
+                i++;
+            }
+
+            // 6) 제로폭 문자
+            if (cp == 0x200B || cp == 0x200C || cp == 0x200D || cp == 0x2060 || cp == 0xFEFF) continue;
+
+            int type = Character.getType(cp);
+
+            // 7) 이모지/심볼 (\p{S}, \p{Cn})
+            if (removeEmoji && isSymbolOrUnassigned(type)) continue;
+
+            // 8) 제어문자 (개행/탭 제외)
+            if (type == Character.CONTROL && cp != '\n' && cp != '\t') continue;
+
+            // 9) 줄 구분 (\R)
+            if (cp == '\n' || cp == 0x2028 || cp == 0x2029) {
+                if (lineHasContent) pendingNewline = true;
+                lineHasContent = false;
+                pendingSpace = false;
+                continue;
+            }
+
+            // 9) 라인 트림 + 내부 공백 축소
+            if (cp == ' ' || cp == '\t') {
+                if (lineHasContent) pendingSpace = true;
+                continue;
+            }
+
+            if (!lineHasContent) {
+                if (pendingNewline) sb.append('\n');
+                pendingNewline = false;
+                lineHasContent = true;
+            } else if (pendingSpace) {
+                sb.append(' ');
+            }
+            pendingSpace = false;
+            sb.appendCodePoint(cp);
+        }
+
+        // 11) 앞뒤 공백은 애초에 쓰지 않았으므로 비었는지만 확인
+        if (sb.isEmpty()) {
+            release(sb);
+            return null;
+        }
+        return release(sb);
+    }
+
+    private static boolean isSymbolOrUnassigned(int type) {
+        return type == Character.MATH_SYMBOL
+                || type == Character.CURRENCY_SYMBOL
+                || type == Character.MODIFIER_SYMBOL
+                || type == Character.OTHER_SYMBOL
+                || type == Character.UNASSIGNED;
+    }
+
+    private static StringBuilder buffer(int capacity) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        sb.ensureCapacity(capacity);
+        return sb;
+    }
+
+    /** 버퍼 내용을 문자열로 꺼내고, 너무 커진 버퍼는 버린다 */
+    private static String release(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_BUFFER) BUFFER.remove();
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package mago.study.global.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 파일 내용 해시 (SHA-256, 소문자 hex).
+ * FileChannel 로 direct 버퍼에 읽어 그대로 digest 하므로 힙으로 복사하지 않고 파일 크기와 무관하게 버퍼 1개만 쓴다.
+ */
+public final class ContentHash {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private ContentHash() {
+    }
+
+    public static String sha256(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JDK 가 SHA-256 을 제공해야 한다
+            throw new IllegalStateException(e);
+        }
+    }
+}
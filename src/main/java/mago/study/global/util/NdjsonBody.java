@@ -0,0 +1,61 @@
+package mago.study.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON(application/x-ndjson) 응답 본문. source 가 넘겨주는 항목을 한 줄에 하나씩 JSON 으로 쓴다.
+ * 항목을 모으지 않고 바로 쓰므로 메모리 사용량은 항목 수와 무관하다.
+ * 클라이언트가 끊기면 쓰기 실패가 source 로 전파되어 커서가 닫힌다.
+ */
+public final class NdjsonBody {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-ndjson";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    // 이 줄 수마다 flush
+    private static final int FLUSH_EVERY = 100;
+
+    private NdjsonBody() {
+    }
+
+    public static <T> StreamingResponseBody of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return out -> {
+            LineWriter<T> writer = new LineWriter<>(objectMapper, out);
+            try {
+                source.accept(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+    }
+
+    private static final class LineWriter<T> implements Consumer<T> {
+        private final ObjectMapper objectMapper;
+        private final OutputStream out;
+        private int lines;
+
+        private LineWriter(ObjectMapper objectMapper, OutputStream out) {
+            this.objectMapper = objectMapper;
+            this.out = out;
+        }
+
+        @Override
+        public void accept(T item) {
+            try {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+                if (++lines % FLUSH_EVERY == 0) out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
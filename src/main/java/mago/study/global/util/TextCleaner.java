@@ -17,7 +17,7 @@ import java.util.regex.Pattern;
 public class TextCleaner {
 
     /** http(s)://, www., example.com/path 같은 URL 전반 제거 */
-    private static final Pattern URL_PATTERN = Pattern.compile(
+    static final Pattern URL_PATTERN = Pattern.compile(
             "(?i)\\b((?:https?://|www\\.)\\S+|(?:[a-z0-9-]+\\.)+[a-z]{2,}(?:/\\S*)?)"
     );
 
@@ -32,8 +32,8 @@ public class TextCleaner {
     private static final Pattern MULTI_NEWLINE = Pattern.compile("\\n{3,}");
 
     /** 해시태그/멘션 */
-    private static final Pattern HASHTAG = Pattern.compile("(?<!\\w)#[\\p{L}0-9_]+");
-    private static final Pattern MENTION = Pattern.compile("(?<!\\w)@[\\p{L}0-9_]+");
+    static final Pattern HASHTAG = Pattern.compile("(?<!\\w)#[\\p{L}0-9_]+");
+    static final Pattern MENTION = Pattern.compile("(?<!\\w)@[\\p{L}0-9_]+");
 
     /**
      * 광범위 심볼 제거용: \p{S} (수학/화폐/기타 심볼 전반) + \p{Cn}(할당되지 않은 코드 포인트)
@@ -75,6 +75,20 @@ public class TextCleaner {
         if (removeHashtag) s = HASHTAG.matcher(s).replaceAll("");
         if (removeMention) s = MENTION.matcher(s).replaceAll("");
 
+        return tidy(s, removeEmoji);
+    }
+
+    /**
+     * 컴파일된 정제기 생성. 같은 옵션의 {@link #clean}과 동일한 결과를 더 적은 패스/할당으로 만든다.
+     */
+    public static CompiledTextCleaner compile(boolean removeHashtag,
+                                             boolean removeMention,
+                                             boolean removeEmoji) {
+        return new CompiledTextCleaner(removeHashtag, removeMention, removeEmoji);
+    }
+
+    /** 6) ~ 11) 단계: 보이지 않는 문자/심볼/제어문자 제거 후 공백·개행 정리 */
+    static String tidy(String s, boolean removeEmoji) {
         // 6) 보이지 않는 제로폭 문자 제거
         s = INVISIBLE_CHARS.matcher(s).replaceAll("");
 
@@ -105,29 +119,41 @@ public class TextCleaner {
         return s.isEmpty() ? null : s;
     }
 
+    /**
+     * 트위터/CSV에서 자주 보이는 모지바케(인코딩 깨짐) 보정 테이블 {깨진 문자열, 복원 문자열}.
+     * 순서대로 치환한다. 어떤 패턴도 다른 패턴의 접두사가 아니고("â€\u009D"의 U+009D 처럼 보이지 않는 문자는
+     * 이스케이프로 적는다) 복원 문자열이 새 패턴을 만들지 않으므로
+     * 왼쪽부터 한 번 훑으며 치환해도 결과가 같다({@link CompiledTextCleaner}가 이를 이용).
+     */
+    static final String[][] MOJIBAKE = {
+            // 대시/따옴표/말줄임표 계열
+            {"‚Äì", "–"},
+            {"â€“", "–"},
+            {"â€”", "—"},
+            {"â€˜", "‘"},
+            {"â€™", "’"},
+            {"â€œ", "“"},
+            {"â€\u009D", "”"},
+            {"â€¦", "…"},
+            {"â„¢", "™"},
+
+            // 라틴 확장 흔한 케이스(필요 시 추가)
+            {"Ã¡", "á"},
+            {"Ã©", "é"},
+            {"Ã\u00AD", "í"},
+            {"Ã³", "ó"},
+            {"Ãº", "ú"},
+            {"Ã±", "ñ"},
+
+            // NBSP → 일반 공백
+            {"\u00A0", " "}
+    };
+
     /** 트위터/CSV에서 자주 보이는 모지바케(인코딩 깨짐) 보정 */
     private static String fixMojibake(String s) {
-        return s
-                // 대시/따옴표/말줄임표 계열
-                .replace("‚Äì", "–")
-                .replace("â€“", "–")
-                .replace("â€”", "—")
-                .replace("â€˜", "‘")
-                .replace("â€™", "’")
-                .replace("â€œ", "“")
-                .replace("â€", "”")
-                .replace("â€¦", "…")
-                .replace("â„¢", "™")
-
-                // 라틴 확장 흔한 케이스(필요 시 추가)
-                .replace("Ã¡", "á")
-                .replace("Ã©", "é")
-                .replace("Ã­", "í")
-                .replace("Ã³", "ó")
-                .replace("Ãº", "ú")
-                .replace("Ã±", "ñ")
-
-                // NBSP → 일반 공백
-                .replace("\u00A0", " ");
+        for (String[] pair : MOJIBAKE) {
+            s = s.replace(pair[0], pair[1]);
+        }
+        return s;
     }
-}
\ No newline at end of file
+}
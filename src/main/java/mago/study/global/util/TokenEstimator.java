@@ -0,0 +1,49 @@
+package mago.study.global.util;
+
+/**
+ * 토크나이저 없이 토큰 수를 어림한다 (BPE 계열 기준, 보수적으로 약간 많게).
+ * - 한글/한자/가나: 글자당 1
+ * - 그 밖의 문자/숫자 연속 구간: 4글자당 1 (올림)
+ * - 공백을 제외한 기호 (이모지 등 서로게이트 쌍 포함): 1
+ */
+public final class TokenEstimator {
+
+    // 메시지마다 붙는 역할/구분자 몫
+    public static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) return 0;
+
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isWide(c)) {
+                tokens += (run + 3) / 4 + 1;
+                run = 0;
+            } else if (Character.isLetterOrDigit(c)) {
+                run++;
+            } else {
+                tokens += (run + 3) / 4;
+                run = 0;
+                if (!Character.isWhitespace(c) && !Character.isHighSurrogate(c)) tokens++;
+            }
+        }
+        return tokens + (run + 3) / 4;
+    }
+
+    /** 메시지 1건 (내용 + 고정 몫) */
+    public static int estimateMessage(CharSequence content) {
+        return estimate(content) + MESSAGE_OVERHEAD;
+    }
+
+    private static boolean isWide(char c) {
+        return (c >= '가' && c <= '힣')      // 한글 음절
+                || (c >= '㄰' && c <= '㆏')  // 한글 자모
+                || (c >= '぀' && c <= 'ヿ')  // 가나
+                || (c >= '一' && c <= '鿿'); // 한자
+    }
+}
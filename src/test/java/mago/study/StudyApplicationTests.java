@@ -1,8 +1,11 @@
 package mago.study;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+// 실행 중인 Mongo(DB_URI)가 필요하다 → ./gradlew mongoTest
+@Tag("mongo")
 @SpringBootTest
 class StudyApplicationTests {
 
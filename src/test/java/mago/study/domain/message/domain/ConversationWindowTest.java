@@ -0,0 +1,69 @@
+package mago.study.domain.message.domain;
+
+import mago.study.domain.user.domain.Role;
+import mago.study.global.util.TokenEstimator;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConversationWindowTest {
+
+    @Test
+    void keepsMessagesInIdOrderWhenSavesRace() {
+        ConversationWindow window = new ConversationWindow(10_000);
+        window.append(id(1), Role.USER, "first");
+        // 어시스턴트 응답 저장이 먼저 반영되고, 그보다 먼저 id 를 받은 사용자 메시지가 뒤늦게 들어온 경우
+        window.append(id(3), Role.ASSISTANT, "answer");
+        window.append(id(2), Role.USER, "question");
+
+        assertEquals(List.of(id(1), id(2), id(3)), ids(window.latest(10_000)));
+        assertEquals(3, window.size());
+    }
+
+    @Test
+    void skipsOnlyIdsAlreadyPresent() {
+        ConversationWindow window = new ConversationWindow(10_000);
+        window.append(id(1), Role.USER, "a");
+        window.append(id(4), Role.USER, "d");
+        window.append(id(4), Role.USER, "d");
+        window.append(id(1), Role.USER, "a");
+        window.append(id(2), Role.USER, "b");
+        window.append(id(2), Role.USER, "b");
+
+        assertEquals(List.of(id(1), id(2), id(4)), ids(window.latest(10_000)));
+        assertEquals(3 * TokenEstimator.estimateMessage("a"), window.totalTokens());
+    }
+
+    @Test
+    void trimsOldestTurnsToRetainedTokens() {
+        int perMessage = TokenEstimator.estimateMessage("hello");
+        ConversationWindow window = new ConversationWindow(perMessage * 2);
+        window.append(id(1), Role.USER, "hello");
+        window.append(id(3), Role.USER, "hello");
+        window.append(id(2), Role.USER, "hello");
+
+        // 끼워 넣은 뒤에도 가장 오래된 메시지부터 버린다
+        assertEquals(List.of(id(2), id(3)), ids(window.latest(Integer.MAX_VALUE)));
+        assertEquals(perMessage * 2, window.totalTokens());
+    }
+
+    @Test
+    void latestStopsAtBudget() {
+        int perMessage = TokenEstimator.estimateMessage("hello");
+        ConversationWindow window = new ConversationWindow(10_000);
+        for (int i = 1; i <= 5; i++) window.append(id(i), Role.USER, "hello");
+
+        assertEquals(List.of(id(4), id(5)), ids(window.latest(perMessage * 2 + 1)));
+    }
+
+    private static ObjectId id(int n) {
+        return new ObjectId(String.format("%024x", n));
+    }
+
+    private static List<ObjectId> ids(List<ConversationWindow.Turn> turns) {
+        return turns.stream().map(ConversationWindow.Turn::messageId).toList();
+    }
+}
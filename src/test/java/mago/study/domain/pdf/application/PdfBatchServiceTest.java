@@ -0,0 +1,160 @@
+package mago.study.domain.pdf.application;
+
+import mago.study.domain.pdf.dao.PdfDocumentRepository;
+import mago.study.domain.pdf.domain.PdfDocument;
+import mago.study.domain.pdf.dto.PdfBatchFileResult;
+import mago.study.domain.pdf.dto.PdfBatchRequest;
+import mago.study.domain.pdf.dto.PdfBatchResult;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PdfBatchServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final PdfProcessingService processing = mock(PdfProcessingService.class);
+
+    // 끝날 때까지 처리를 붙잡아 둘 파일 (취소 요청이 오면 멈춘다)
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch heldStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PdfJobService jobService;
+    private PdfBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        when(processing.processPdfFile(anyString(), any(IngestProgress.class))).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            IngestProgress progress = invocation.getArgument(1);
+            ObjectId documentId = new ObjectId();
+            progress.started(documentId, 1);
+            if (held.contains(path)) {
+                heldStarted.countDown();
+                while (!release.await(10, TimeUnit.MILLISECONDS)) {
+                    if (progress.cancelled()) throw new CancellationException();
+                }
+            }
+            progress.pagesDone(1);
+            progress.chunksSaved(2);
+            return PdfDocument.builder().id(documentId).filePath(path).build();
+        });
+
+        jobService = new PdfJobService(processing, mock(PdfDocumentRepository.class));
+        ReflectionTestUtils.setField(jobService, "workers", 2);
+        ReflectionTestUtils.setField(jobService, "queueCapacity", 8);
+        ReflectionTestUtils.setField(jobService, "retainedJobs", 100);
+        jobService.init();
+
+        batchService = new PdfBatchService(jobService);
+        ReflectionTestUtils.setField(batchService, "defaultParallelism", 2);
+        ReflectionTestUtils.setField(batchService, "maxParallelism", 4);
+        ReflectionTestUtils.setField(batchService, "memoryBudgetMb", 512);
+        ReflectionTestUtils.setField(batchService, "memoryFactor", 3.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.shutdown();
+    }
+
+    @Test
+    void requestedParallelismIsCapped() throws IOException {
+        pdf("a.pdf");
+        pdf("b.pdf");
+
+        PdfBatchResult result = batchService.ingest(request(100_000));
+
+        assertEquals(4, result.parallelism());
+        assertEquals(2, result.completed());
+        for (PdfBatchFileResult file : result.files()) {
+            assertEquals(PdfJob.Status.COMPLETED, jobService.getJob(file.jobId()).getStatus());
+            assertEquals(2, file.chunks());
+        }
+    }
+
+    @Test
+    void fileWithActiveJobIsSkipped() throws Exception {
+        Path busy = pdf("busy.pdf");
+        pdf("free.pdf");
+        held.add(busy.toString());
+        PdfJob single = jobService.submit(busy.toString());
+        assertTrue(heldStarted.await(5, TimeUnit.SECONDS));
+
+        Map<String, PdfBatchFileResult> results = byName(batchService.ingest(request(null)));
+
+        assertEquals(PdfBatchFileResult.Status.SKIPPED, results.get("busy.pdf").status());
+        assertNull(results.get("busy.pdf").jobId());
+        assertEquals(PdfBatchFileResult.Status.COMPLETED, results.get("free.pdf").status());
+        // 일괄 처리 중 등록한 작업도 같은 파일의 새 요청과 중복되지 않는다
+        assertEquals(single, jobService.submit(busy.toString()));
+    }
+
+    @Test
+    void batchFileCanBeCancelledThroughJobs() throws Exception {
+        Path slow = pdf("slow.pdf");
+        pdf("quick.pdf");
+        held.add(slow.toString());
+
+        AtomicReference<PdfBatchResult> result = new AtomicReference<>();
+        Thread batch = Thread.ofPlatform().start(() -> result.set(batchService.ingest(request(null))));
+        assertTrue(heldStarted.await(5, TimeUnit.SECONDS));
+
+        PdfJob job = jobService.getJobs().stream()
+                .filter(j -> j.getFilePath().equals(slow.toString()))
+                .findFirst()
+                .orElseThrow();
+        jobService.cancel(job.getId());
+        batch.join(5_000);
+
+        assertNotNull(result.get());
+        Map<String, PdfBatchFileResult> results = byName(result.get());
+        assertEquals(PdfBatchFileResult.Status.CANCELLED, results.get("slow.pdf").status());
+        assertEquals(PdfBatchFileResult.Status.COMPLETED, results.get("quick.pdf").status());
+        assertEquals(PdfJob.Status.CANCELLED, job.getStatus());
+    }
+
+    private Path pdf(String name) throws IOException {
+        return Files.write(dir.resolve(name), new byte[1024]);
+    }
+
+    private PdfBatchRequest request(Integer parallelism) {
+        return PdfBatchRequest.builder()
+                .directory(dir.toString())
+                .parallelism(parallelism)
+                .build();
+    }
+
+    private static Map<String, PdfBatchFileResult> byName(PdfBatchResult result) {
+        return result.files().stream()
+                .collect(Collectors.toMap(file -> Path.of(file.path()).getFileName().toString(), Function.identity()));
+    }
+}
@@ -0,0 +1,105 @@
+package mago.study.domain.pdf.application;
+
+import mago.study.domain.pdf.dao.PdfDocumentRepository;
+import mago.study.domain.pdf.dao.PdfOriginalStore;
+import mago.study.domain.pdf.domain.PdfDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PdfDownloadServiceTest {
+
+    private static final String HASH = "ab12";
+
+    @TempDir
+    Path dir;
+
+    private final PdfDocumentRepository repository = mock(PdfDocumentRepository.class);
+    private final PdfDownloadService service = new PdfDownloadService(repository, mock(PdfOriginalStore.class));
+
+    private Path file;
+    private long modifiedAt;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("sample.pdf");
+        Files.write(file, "%PDF-1.7 original".getBytes());
+        modifiedAt = Files.getLastModifiedTime(file).toMillis();
+    }
+
+    @Test
+    void unchangedLocalFileKeepsContentHashEtag() throws IOException {
+        PdfDownloadService.Download download = open(document(Files.size(file), modifiedAt, null));
+
+        assertEquals(file, download.localPath());
+        assertEquals("\"" + HASH + "\"", download.etag());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.copy(download, 9, 8, out);
+        assertArrayEquals("original".getBytes(), out.toByteArray());
+    }
+
+    @Test
+    void changedLocalFileFallsBackToGridFsCopy() throws IOException {
+        long size = Files.size(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt + 60_000));
+
+        PdfDownloadService.Download download = open(document(size, modifiedAt, "original-id"));
+
+        assertNull(download.localPath());
+        assertEquals("original-id", download.originalGridFsId());
+        assertEquals("\"" + HASH + "\"", download.etag());
+    }
+
+    @Test
+    void changedLocalFileWithoutCopyHasNoEtag() throws IOException {
+        long size = Files.size(file);
+        Files.write(file, "%PDF-1.7 replaced with other bytes".getBytes());
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt));
+
+        PdfDownloadService.Download download = open(document(size, modifiedAt, null));
+
+        assertEquals(file, download.localPath());
+        assertEquals(Files.size(file), download.length());
+        assertNull(download.etag());
+    }
+
+    @Test
+    void documentWithoutRecordedModifiedTimeHasNoEtag() throws IOException {
+        PdfDownloadService.Download download = open(document(Files.size(file), null, null));
+
+        assertEquals(file, download.localPath());
+        assertNull(download.etag());
+    }
+
+    private PdfDownloadService.Download open(PdfDocument document) {
+        when(repository.findById(document.getId())).thenReturn(Optional.of(document));
+        return service.open(document.getId());
+    }
+
+    private PdfDocument document(long size, Long fileModifiedAt, String originalGridFsId) {
+        return PdfDocument.builder()
+                .id(new ObjectId())
+                .fileName("sample.pdf")
+                .filePath(file.toString())
+                .fileSize(size)
+                .fileModifiedAt(fileModifiedAt)
+                .contentHash(HASH)
+                .originalGridFsId(originalGridFsId)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package mago.study.domain.pdf.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.dao.PdfDocumentRepository;
+import mago.study.domain.pdf.dao.PdfOriginalStore;
+import mago.study.domain.pdf.dao.PdfTextStore;
+import mago.study.domain.pdf.domain.PdfDocument;
+import mago.study.domain.pdf.util.PdfTextChunker;
+import mago.study.domain.rag.application.VectorIndexService;
+import mago.study.global.util.ContentHash;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PdfProcessingServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final PdfDocumentRepository documentRepository = mock(PdfDocumentRepository.class);
+    private final VectorIndexService vectorIndexService = mock(VectorIndexService.class);
+    private final PdfOriginalStore originalStore = mock(PdfOriginalStore.class);
+
+    // 저장 시점의 상태 (문서 객체는 저장 뒤에도 바뀐다)
+    private final List<PdfDocument.ProcessingStatus> savedStatuses = new ArrayList<>();
+    private final List<String> savedErrors = new ArrayList<>();
+
+    private PdfProcessingService service;
+    private String filePath;
+    private PdfDocument previous;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        filePath = dir.resolve("sample.pdf").toString();
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            document.save(filePath);
+        }
+
+        // 같은 경로의 이전 실패 문서 → 재처리 전에 이전 청크/인덱스를 지운다
+        previous = PdfDocument.builder()
+                .id(new ObjectId())
+                .filePath(filePath)
+                .contentHash("old")
+                .originalGridFsId("old-original")
+                .processingStatus(PdfDocument.ProcessingStatus.FAILED)
+                .build();
+        when(documentRepository.findByFilePath(filePath)).thenReturn(Optional.of(previous));
+        when(documentRepository.findFirstByContentHashAndProcessingStatus(anyString(), any())).thenReturn(Optional.empty());
+        when(documentRepository.save(any(PdfDocument.class))).thenAnswer(invocation -> {
+            PdfDocument document = invocation.getArgument(0);
+            savedStatuses.add(document.getProcessingStatus());
+            savedErrors.add(document.getErrorMessage());
+            return document;
+        });
+
+        service = new PdfProcessingService(documentRepository, mock(PdfChunkRepository.class), new PdfTextChunker(),
+                mock(PdfTextStore.class), originalStore, mock(MongoTemplate.class), vectorIndexService,
+                new PdfIngestMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "streamingEnabled", true);
+        ReflectionTestUtils.setField(service, "extractParallelism", 1);
+    }
+
+    @Test
+    void runtimeFailureLeavesDocumentFailed() {
+        doThrow(new UncheckedIOException(new IOException("index file broken")))
+                .when(vectorIndexService).removeDocument(previous.getId());
+
+        assertThrows(RuntimeException.class, () -> service.processPdfFile(filePath));
+
+        // PROCESSING 으로 남으면 기동할 때마다 다시 처리된다
+        assertEquals(PdfDocument.ProcessingStatus.FAILED, savedStatuses.get(savedStatuses.size() - 1));
+        assertEquals("java.io.IOException: index file broken", savedErrors.get(savedErrors.size() - 1));
+    }
+
+    @Test
+    void changedContentReplacesStoredOriginal() throws IOException {
+        ReflectionTestUtils.setField(service, "storeOriginal", true);
+        when(originalStore.store(any(Path.class), anyString(), anyString())).thenReturn("new-original");
+
+        PdfDocument document = service.processPdfFile(filePath);
+
+        // 이전 사본은 다른 내용이므로 새 내용으로 다시 저장하고 지운다
+        assertEquals("new-original", document.getOriginalGridFsId());
+        verify(originalStore).delete("old-original");
+    }
+
+    @Test
+    void sameContentKeepsStoredOriginal() throws IOException {
+        ReflectionTestUtils.setField(service, "storeOriginal", true);
+        ReflectionTestUtils.setField(previous, "contentHash", ContentHash.sha256(Path.of(filePath)));
+
+        PdfDocument document = service.processPdfFile(filePath);
+
+        assertEquals("old-original", document.getOriginalGridFsId());
+        verify(originalStore, never()).store(any(Path.class), anyString(), anyString());
+        verify(originalStore, never()).delete(anyString());
+    }
+
+    @Test
+    void interruptedByShutdownStaysProcessing() {
+        doThrow(new IllegalStateException(new InterruptedException()))
+                .when(vectorIndexService).removeDocument(previous.getId());
+
+        assertThrows(RuntimeException.class, () -> service.processPdfFile(filePath));
+
+        // 종료로 끊긴 문서는 다음 기동 때 다시 등록되도록 PROCESSING 그대로
+        assertEquals(PdfDocument.ProcessingStatus.PROCESSING, savedStatuses.get(savedStatuses.size() - 1));
+    }
+}
@@ -0,0 +1,54 @@
+package mago.study.domain.pdf.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkTextScorerTest {
+
+    @Test
+    void matchesStemmedForms() {
+        ChunkTextScorer scorer = ChunkTextScorer.parse("indexes");
+
+        // $text 와 같이 어간으로 비교 (부분 문자열 비교로는 놓치던 경우)
+        assertTrue(scorer.score("Build an index on the field.") > 0);
+        assertTrue(scorer.score("Indexing large collections") > 0);
+        assertEquals(0, scorer.score("A compound key."));
+    }
+
+    @Test
+    void stronglyMatchingChunkRanksFirst() {
+        ChunkTextScorer scorer = ChunkTextScorer.parse("markov chain");
+
+        double weak = scorer.score("The chain of reasoning in this long paragraph goes on about many other topics entirely.");
+        double strong = scorer.score("A Markov chain is a chain of states; Markov chains are memoryless.");
+
+        assertTrue(strong > weak);
+    }
+
+    @Test
+    void scoreFollowsMongoTermWeighting() {
+        ChunkTextScorer scorer = ChunkTextScorer.parse("variance");
+
+        // 토큰 4개(불용어 제외) 중 variance 2번: freq = 1 + 1/2, coeff = 0.5 * 2/4 + 0.5
+        assertEquals(1.5 * 0.75, scorer.score("variance and sample variance of estimator"), 1e-9);
+    }
+
+    @Test
+    void phrasesAndExclusionsApplyPerChunk() {
+        ChunkTextScorer scorer = ChunkTextScorer.parse("\"central limit\" theorem -bayes");
+
+        assertTrue(scorer.score("The Central Limit theorem.") > 0);
+        assertEquals(0, scorer.score("The limit is central to the theorem."));
+        assertEquals(0, scorer.score("Central limit theorem and Bayes' rule."));
+        // 제외어는 버킷 조회에 넘기지 않는다 (버킷 전체가 빠지지 않도록)
+        assertEquals("\"central limit\" theorem", scorer.bucketQuery());
+    }
+
+    @Test
+    void diacriticsAndStopWordsAreIgnored() {
+        assertTrue(ChunkTextScorer.parse("cafe").score("Un café noir") > 0);
+        assertTrue(ChunkTextScorer.parse("the and of").isEmpty());
+    }
+}
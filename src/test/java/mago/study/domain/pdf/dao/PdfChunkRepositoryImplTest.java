@@ -0,0 +1,89 @@
+package mago.study.domain.pdf.dao;
+
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.pdf.domain.PdfChunkBucket;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PdfChunkRepositoryImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PdfChunkRepositoryImpl repository = new PdfChunkRepositoryImpl(mongoTemplate);
+    private final ObjectId documentId = new ObjectId();
+
+    // $text 조회가 돌려줄 버킷 (버킷 관련도 순)
+    private final List<PdfChunkBucket> matchedBuckets = new ArrayList<>();
+    private final AtomicReference<Query> lastQuery = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "storage", PdfChunkRepositoryCustom.Storage.BUCKETED);
+        ReflectionTestUtils.setField(repository, "bucketSize", 3);
+        when(mongoTemplate.stream(any(Query.class), eq(PdfChunkBucket.class))).thenAnswer(invocation -> {
+            lastQuery.set(invocation.getArgument(0));
+            return matchedBuckets.stream();
+        });
+    }
+
+    @Test
+    void ranksChunksAcrossBucketsByOwnScore() {
+        // 버킷 점수는 첫 버킷이 높지만 가장 잘 맞는 청크는 둘째 버킷에 있다
+        bucket(0, "markov chain transitions", "markov property", "markov chain stationary markov chain");
+        bucket(3, "unrelated text about sampling", "markov chain markov chain markov chain", "nothing here");
+
+        List<PdfChunk> found = repository.searchText("markov chain", null, null, 0, 10, null, false);
+
+        assertEquals(List.of(4, 2, 0, 1), found.stream().map(PdfChunk::getChunkIndex).toList());
+        for (int i = 1; i < found.size(); i++) {
+            assertFalse(found.get(i).getScore() > found.get(i - 1).getScore());
+        }
+    }
+
+    @Test
+    void skipAndLimitApplyToRankedChunks() {
+        bucket(0, "markov", "markov chain", "markov chain markov chain");
+
+        List<PdfChunk> found = repository.searchText("markov chain", null, null, 1, 1, null, false);
+
+        assertEquals(List.of(1), found.stream().map(PdfChunk::getChunkIndex).toList());
+    }
+
+    @Test
+    void stemmedMatchesAreKeptAndExclusionsFilterPerChunk() {
+        bucket(0, "build an index first", "indexes and bayes", "no match");
+
+        List<PdfChunk> found = repository.searchText("indexes -bayes", null, null, 0, 10, null, false);
+
+        assertEquals(List.of(0), found.stream().map(PdfChunk::getChunkIndex).toList());
+        // 제외어를 버킷 조회에 넘기면 같은 버킷의 다른 청크까지 빠진다
+        assertFalse(lastQuery.get().getQueryObject().toJson().contains("bayes"));
+    }
+
+    private void bucket(int firstChunkIndex, String... texts) {
+        List<PdfChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            chunks.add(PdfChunk.builder()
+                    .id(new ObjectId())
+                    .pdfDocumentId(documentId)
+                    .chunkIndex(firstChunkIndex + i)
+                    .text(texts[i])
+                    .build());
+        }
+        matchedBuckets.add(PdfChunkBucket.of(documentId, chunks));
+    }
+}
@@ -0,0 +1,62 @@
+package mago.study.domain.pdf.domain;
+
+import mago.study.domain.pdf.dao.PdfChunkIndexCleaner;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/** 실행 중인 Mongo(DB_URI)가 필요하다 → ./gradlew mongoTest */
+@Tag("mongo")
+@DataMongoTest
+@Import(PdfChunkIndexCleaner.class)
+class PdfChunkBucketMongoTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void insertsSeveralBucketsForOneDocument() {
+        createIndexes(PdfChunkBucket.class);
+        ObjectId documentId = new ObjectId();
+        try {
+            mongoTemplate.insert(bucket(documentId, 0, 2));
+            mongoTemplate.insert(bucket(documentId, 2, 4));
+
+            assertEquals(2, mongoTemplate.count(query(where("pdfDocumentId").is(documentId)), PdfChunkBucket.class));
+            // 같은 (문서, 첫 청크) 버킷은 여전히 unique
+            assertThrows(DuplicateKeyException.class, () -> mongoTemplate.insert(bucket(documentId, 0, 2)));
+        } finally {
+            mongoTemplate.remove(query(where("pdfDocumentId").is(documentId)), PdfChunkBucket.class);
+        }
+    }
+
+    private void createIndexes(Class<?> entityClass) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(entityClass)
+                .forEach(indexOps::createIndex);
+    }
+
+    private static PdfChunkBucket bucket(ObjectId documentId, int from, int to) {
+        List<PdfChunk> chunks = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            chunks.add(PdfChunk.of(documentId, i, "chunk " + i, false));
+        }
+        return PdfChunkBucket.of(documentId, chunks);
+    }
+}
@@ -0,0 +1,49 @@
+package mago.study.domain.pdf.domain;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PdfChunkIndexTest {
+
+    private final MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext());
+
+    @Test
+    void chunkIndexUsesStoredFieldNames() {
+        assertEquals(
+                new Document("pdf_document_id", 1).append("chunk_index", 1),
+                indexKeys(PdfChunk.class, "pdf_document_id_chunk_index")
+        );
+    }
+
+    @Test
+    void bucketIndexUsesStoredFieldNames() {
+        assertEquals(
+                new Document("pdf_document_id", 1).append("first_chunk_index", 1),
+                indexKeys(PdfChunkBucket.class, "pdf_document_first_chunk_index")
+        );
+    }
+
+    /** Boot 가 만드는 것과 같은 단순 타입(java.time 등) 설정의 매핑 컨텍스트 (DB 연결 없음) */
+    private static MongoMappingContext mappingContext() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return context;
+    }
+
+    private Document indexKeys(Class<?> entityClass, String indexName) {
+        for (IndexDefinition index : resolver.resolveIndexFor(entityClass)) {
+            if (indexName.equals(index.getIndexOptions().get("name"))) {
+                return index.getIndexKeys();
+            }
+        }
+        throw new AssertionError("index not found: " + indexName);
+    }
+}
@@ -0,0 +1,77 @@
+package mago.study.domain.pdf.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FormulaNormalizerTest {
+
+    private static final List<String> GOLDEN = List.of(
+            "",
+            "   ",
+            "\n\t \r\n",
+            "Theorem 2.1 (Central Limit Theorem). Let X1, X2, ... be i.i.d. with E[X] = μ and Var(X) = σ² < ∞.\n" +
+                    "Then (S_n - nμ)/(σ√n) converges in distribution to N(0,1).",
+            "Proof. By Lemma 3.4,\n  P(|X - μ| ≥ kσ) ≤ 1/k²  for all k>0 ; hence the claim.",
+            "The moment generating function is M(t)=E[e^{tX}] = ∫ e^{tx} dF(x), and log M(t) is convex.",
+            "Corollary 1.2  If x<y and y <=z then x< z. Also 3+4=7, 10 - 2 = 8, 6×7 = 42, 8 ÷ 2 = 4.",
+            "We write $\\alpha + \\beta$ for the sum and \\frac{1}{n}\\sum_{i=1}^{n} X_i for the sample mean.",
+            "lim sup_{n→∞} a_n ≠ lim inf_{n→∞} a_n unless the sequence converges; sin(x)/x → 1 as x → 0.",
+            "Price: $5 and $$ here, $ alone, a$$b, \\cmd without brace, \\x{ unclosed",
+            "equations, formulas, theorems and proofs are not keywords; nor are sine, cosine, login or limit.",
+            "EQUATION (3) and Formula 4; Ln 2 ≈ 0.693; EXP(1) = e",
+            "x\u000B=\f2 \u0001 y >= 3 \u001F",
+            "  leading and trailing  \u0001",
+            "a==b, a=-b, a--b, a+-b, a*/b, a<>b, a≤≥b",
+            "sample_space event_1 x_y=z var_x ln_2 sin2 2sin _sin sin_",
+            "combining: x́sin siń ́sin",
+            "ratio 1 / 2 of 3*4, path a/b/c, arrow -> and <- and >= <=",
+            "α-ω Α-Ω ς ∂f/∂x ∇·F ∆t ∏ p_i ± 0.5",
+            "한국어 문장 속 수식 x = 3 과 y<2, 그리고 😀 이모지"
+    );
+
+    private static final String[] ATOMS = {
+            "a", "b", "x", "y", "X", "Y", "n", "1", "2", "9", "_", ".", ",", ";",
+            " ", "  ", "\t", "\n", "\r\n", "\u000B", "\f", "\u0001", "\u001F",
+            "=", "+", "-", "*", "/", "<", ">", "≤", "≥", "≠", "×", "÷", "(", ")", "^",
+            "$", "\\", "{", "}", "\\frac", "\\alpha{",
+            "sin", "COS", "tan", "log", "Ln", "exp", "lim",
+            "proof", "Theorem", "lemma", "COROLLARY", "equation", "Formula", "sinx", "proofs",
+            "α", "Ω", "ς", "∫", "∑", "√", "≈", "∞", "∂", "😀", "\uD83D", "́"
+    };
+
+    @Test
+    void matchesRegexChainOnGoldenCorpus() {
+        for (String text : GOLDEN) {
+            assertSame(text);
+        }
+    }
+
+    @Test
+    void matchesRegexChainOnRandomCorpus() {
+        Random random = new Random(20240615L);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = random.nextInt(16);
+            for (int j = 0; j < len; j++) sb.append(ATOMS[random.nextInt(ATOMS.length)]);
+            assertSame(sb.toString());
+        }
+    }
+
+    private static void assertSame(String text) {
+        FormulaNormalizer.Result result = FormulaNormalizer.normalize(text);
+        assertEquals(
+                FormulaNormalizer.normalizeWhitespace(FormulaNormalizer.normalizeFormulas(text)),
+                result.text(),
+                () -> "text input=" + text
+        );
+        assertEquals(
+                FormulaNormalizer.detectFormulas(text),
+                result.hasFormulas(),
+                () -> "hasFormulas input=" + text
+        );
+    }
+}
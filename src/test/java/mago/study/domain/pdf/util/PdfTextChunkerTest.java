@@ -0,0 +1,245 @@
+package mago.study.domain.pdf.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfTextChunkerTest {
+
+    private static final int MAX = 1000;
+    // min(200, MAX / 4)
+    private static final int OVERLAP = 200;
+
+    private static final String[] WORDS = {
+            "random", "variable", "expectation", "variance", "sample", "mean", "markov", "chain",
+            "theorem", "proof", "limit", "normal", "poisson", "bayes", "prior", "posterior"
+    };
+
+    private final PdfTextChunker chunker = new PdfTextChunker();
+
+    @Test
+    void headingNeedsDottedSectionNumber() {
+        assertTrue(heading("1.2 Introduction"));
+        assertTrue(heading("3. Methods"));
+        assertTrue(heading("4.1.2 Conditional Expectation"));
+        assertTrue(heading("2.1 확률 변수"));
+        assertTrue(heading("Chapter 4 Limits"));
+        assertTrue(heading("Section 2"));
+
+        assertFalse(heading("1960 The war ended in a stalemate"));
+        assertFalse(heading("12 Angry Men"));
+        assertFalse(heading("1960. The war"));
+        assertFalse(heading("1..2 Odd"));
+        assertFalse(heading("1.2 lower case title"));
+        assertFalse(heading("1.2 Ends with a period."));
+    }
+
+    @Test
+    void overlapRepeatsTailOfPreviousChunkFromWordBoundary() {
+        List<String> chunks = texts(chunker.chunkText(sentences(new Random(1), 120), MAX));
+
+        assertTrue(chunks.size() > 3);
+        for (int i = 1; i < chunks.size(); i++) {
+            String previous = chunks.get(i - 1);
+            String tail = expectedOverlap(previous);
+            assertFalse(tail.isEmpty());
+            assertTrue(tail.length() <= OVERLAP);
+            assertTrue(chunks.get(i).startsWith(tail + " "), "chunk " + i);
+        }
+    }
+
+    @Test
+    void cutsAtSentenceEnd() {
+        List<String> chunks = texts(chunker.chunkText(sentences(new Random(2), 120), MAX));
+
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            assertTrue(chunks.get(i).endsWith("."), "chunk " + i);
+            assertTrue(chunks.get(i).length() <= MAX);
+        }
+    }
+
+    @Test
+    void prefersParagraphEndPastHalfOfChunk() {
+        Random random = new Random(3);
+        List<String> paragraphs = new ArrayList<>();
+        while (paragraphs.size() < 6) {
+            String paragraph = sentences(random, 4);
+            if (paragraph.length() > 250 && paragraph.length() < 320) paragraphs.add(paragraph);
+        }
+
+        List<String> chunks = texts(chunker.chunkText(String.join("\n\n", paragraphs), MAX));
+
+        // 세 문단(최대 960자)까지 들어가고 네 번째 문단 중간의 문장 경계가 아니라 문단 끝에서 자른다
+        assertEquals(String.join(" ", paragraphs.subList(0, 3)), chunks.get(0));
+    }
+
+    @Test
+    void cutsAtWordBoundaryWithoutSentences() {
+        Random random = new Random(4);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 800; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+
+        List<String> chunks = texts(chunker.chunkText(text.toString(), MAX));
+
+        assertTrue(chunks.size() > 3);
+        Set<String> vocabulary = new HashSet<>(List.of(WORDS));
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= MAX);
+            for (String word : chunk.split(" ")) {
+                assertTrue(vocabulary.contains(word), "split word: " + word);
+            }
+        }
+    }
+
+    @Test
+    void headingStartsNewChunkWithoutOverlap() {
+        String text = "The first section ends here.\n1.2 Methods\nWe sample the chain from\n"
+                + "1960 The year of the first survey\nonwards.";
+
+        List<String> chunks = texts(chunker.chunkText(text, MAX));
+
+        assertEquals(List.of(
+                "The first section ends here.",
+                "1.2 Methods We sample the chain from 1960 The year of the first survey onwards."
+        ), chunks);
+    }
+
+    @Test
+    void shortFirstSentenceIsNotSwallowedByOverlap() {
+        Random random = new Random(5);
+        StringBuilder text = new StringBuilder("Hi. Then ");
+        for (int i = 0; i < 300; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+
+        List<String> chunks = texts(chunker.chunkText(text.toString(), MAX));
+
+        // "Hi." 에서 자르면 첫 청크 전체가 두 번째 청크의 겹침으로 다시 들어간다
+        assertTrue(chunks.get(0).length() > OVERLAP);
+        assertFalse(chunks.get(1).startsWith(chunks.get(0)));
+        assertTrue(chunks.get(0).startsWith("Hi. Then "));
+    }
+
+    @Test
+    void windowedSessionMatchesWholeText() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            String text = document(random);
+            List<String> whole = texts(chunker.chunkText(text, MAX));
+
+            PdfTextChunker.Session session = chunker.newSession(MAX);
+            List<PdfTextChunker.ChunkInfo> windowed = new ArrayList<>();
+            for (String window : windows(random, text)) {
+                session.feed(window);
+                windowed.addAll(session.drain());
+            }
+            session.finish();
+            windowed.addAll(session.drain());
+
+            assertEquals(whole, texts(windowed), "seed " + seed);
+            assertIndexesAreSequential(windowed);
+        }
+    }
+
+    @Test
+    void restoredSessionMatchesWholeText() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            String text = document(random);
+            List<String> whole = texts(chunker.chunkText(text, MAX));
+
+            // 조각마다 상태를 저장하고 새 세션으로 이어서 분할한다 (재시작 후 재개)
+            PdfTextChunker.State state = null;
+            List<PdfTextChunker.ChunkInfo> resumed = new ArrayList<>();
+            for (String window : windows(random, text)) {
+                PdfTextChunker.Session session = state == null ? chunker.newSession(MAX) : chunker.newSession(MAX, state);
+                session.feed(window);
+                resumed.addAll(session.drain());
+                state = session.state();
+            }
+            PdfTextChunker.Session last = chunker.newSession(MAX, state);
+            last.finish();
+            resumed.addAll(last.drain());
+
+            assertEquals(whole, texts(resumed), "seed " + seed);
+            assertIndexesAreSequential(resumed);
+        }
+    }
+
+    private static boolean heading(String line) {
+        return PdfTextChunker.isHeading(line, 0, line.length());
+    }
+
+    private static void assertIndexesAreSequential(List<PdfTextChunker.ChunkInfo> chunks) {
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals(i, chunks.get(i).getChunkIndex());
+        }
+    }
+
+    /** 문단, 절 제목, 한 줄 문장, 긴 단어 나열이 섞인 텍스트 */
+    private static String document(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int block = 0; block < 40; block++) {
+            switch (random.nextInt(5)) {
+                case 0 -> text.append(block / 10 + 1).append('.').append(block % 10).append(" Section Title\n");
+                case 1 -> text.append("\n\n");
+                case 2 -> {
+                    for (int w = 0; w < 150; w++) text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                    text.append('\n');
+                }
+                default -> text.append(sentences(random, 1 + random.nextInt(6)).replace(". ", random.nextBoolean() ? ".\n" : ".  ")).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /** 줄/단어 중간을 포함해 임의 위치에서 자른 조각들 */
+    private static List<String> windows(Random random, String text) {
+        List<String> windows = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + 1 + random.nextInt(700));
+            windows.add(text.substring(start, end));
+            start = end;
+        }
+        return windows;
+    }
+
+    /** 청크 끝 OVERLAP 자를 단어 경계에서 시작하도록 맞춘 꼬리 */
+    private static String expectedOverlap(String chunk) {
+        int from = Math.max(0, chunk.length() - OVERLAP);
+        if (from > 0 && chunk.charAt(from - 1) != ' ') {
+            int space = chunk.indexOf(' ', from);
+            from = space < 0 ? chunk.length() : space + 1;
+        }
+        return chunk.substring(from);
+    }
+
+    private static String sentences(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int s = 0; s < count; s++) {
+            if (s > 0) text.append(' ');
+            int words = 6 + random.nextInt(10);
+            for (int w = 0; w < words; w++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                if (w == 0) word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+                text.append(word).append(w == words - 1 ? "." : " ");
+            }
+        }
+        return text.toString();
+    }
+
+    private static List<String> texts(List<PdfTextChunker.ChunkInfo> chunks) {
+        return chunks.stream().map(PdfTextChunker.ChunkInfo::getText).toList();
+    }
+}
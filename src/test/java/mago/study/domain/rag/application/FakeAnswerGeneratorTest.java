@@ -0,0 +1,46 @@
+package mago.study.domain.rag.application;
+
+import mago.study.domain.rag.dto.AnswerRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FakeAnswerGeneratorTest {
+
+    private final FakeAnswerGenerator generator = new FakeAnswerGenerator();
+    private final AnswerRequest request = AnswerRequest.builder()
+            .character("tutor")
+            .question("what is variance")
+            .history(List.of())
+            .context(List.of())
+            .build();
+
+    @Test
+    void blockingGenerateSkipsTokenDelay() throws Exception {
+        ReflectionTestUtils.setField(generator, "tokenDelayMillis", 1_000L);
+
+        long start = System.nanoTime();
+        String answer = generator.generate(request);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 단어마다 1초씩 쉬었다면 10초 이상
+        assertTrue(elapsedMillis < 500, "elapsed " + elapsedMillis + "ms");
+        assertTrue(answer.contains("what is variance"));
+    }
+
+    @Test
+    void streamingProducesSameAnswer() throws Exception {
+        ReflectionTestUtils.setField(generator, "tokenDelayMillis", 0L);
+        List<String> tokens = new ArrayList<>();
+
+        generator.generate(request, tokens::add);
+
+        assertTrue(tokens.size() > 1);
+        assertEquals(generator.generate(request), String.join("", tokens));
+    }
+}
@@ -0,0 +1,199 @@
+package mago.study.domain.rag.application;
+
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.rag.dao.ChunkVectorIndex;
+import mago.study.domain.rag.dto.RetrievalResult;
+import mago.study.domain.rag.dto.RetrievedChunk;
+import mago.study.domain.rag.dto.StageTiming;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HybridRetrieverTest {
+
+    private final PdfChunkRepository repository = mock(PdfChunkRepository.class);
+    private final VectorIndexService vectorIndexService = mock(VectorIndexService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // pdf_chunks 대신 쓰는 청크 본문
+    private final Map<ObjectId, PdfChunk> bodies = new HashMap<>();
+
+    private HybridRetriever retriever;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findBodiesByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<ObjectId> ids = invocation.getArgument(0);
+            return ids.stream().map(bodies::get).filter(chunk -> chunk != null).toList();
+        });
+        retriever = new HybridRetriever(repository, vectorIndexService, executor);
+        ReflectionTestUtils.setField(retriever, "topK", 5);
+        ReflectionTestUtils.setField(retriever, "candidates", 30);
+        ReflectionTestUtils.setField(retriever, "budgetMillis", 2000L);
+        ReflectionTestUtils.setField(retriever, "hydrateReserveMillis", 200L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fusesRanksReciprocally() {
+        PdfChunk a = chunk(new ObjectId(), 0);
+        PdfChunk b = chunk(new ObjectId(), 0);
+        PdfChunk c = chunk(new ObjectId(), 0);
+        PdfChunk d = chunk(new ObjectId(), 0);
+        lexical(a, b, c);
+        vector(c, a, d);
+
+        RetrievalResult result = retriever.retrieve("markov");
+
+        // a = 1/61 + 1/62, c = 1/63 + 1/61, b = 1/62, d = 1/63
+        assertEquals(ids(a, c, b, d), chunkIds(result));
+        RetrievedChunk first = result.chunks().get(0);
+        assertEquals(1, first.lexicalRank());
+        assertEquals(2, first.vectorRank());
+        assertEquals(1.0 / 61 + 1.0 / 62, first.score(), 1e-12);
+        RetrievedChunk last = result.chunks().get(3);
+        assertNull(last.lexicalRank());
+        assertEquals(3, last.vectorRank());
+        assertFalse(result.degraded());
+    }
+
+    @Test
+    void keepsOnlyBestRankedOfNeighbouringChunks() {
+        ObjectId document = new ObjectId();
+        PdfChunk four = chunk(document, 4);
+        PdfChunk five = chunk(document, 5);
+        PdfChunk seven = chunk(document, 7);
+        PdfChunk otherFive = chunk(new ObjectId(), 5);
+        lexical(four, five, seven, otherFive);
+        vector();
+
+        RetrievalResult result = retriever.retrieve("markov");
+
+        // 5 는 이미 담은 4 의 이웃, 7 은 이웃 아님, 다른 문서의 5 는 상관없음
+        assertEquals(ids(four, seven, otherFive), chunkIds(result));
+    }
+
+    @Test
+    void slowStageIsDroppedWithinBudget() {
+        ReflectionTestUtils.setField(retriever, "budgetMillis", 200L);
+        ReflectionTestUtils.setField(retriever, "hydrateReserveMillis", 50L);
+        PdfChunk a = chunk(new ObjectId(), 0);
+        lexical(a);
+        when(vectorIndexService.search(anyString(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        RetrievalResult result = retriever.retrieve("markov");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1_000, "elapsed " + elapsedMillis + "ms");
+        assertTrue(result.degraded());
+        assertEquals(StageTiming.Status.TIMEOUT, status(result, "vector"));
+        assertEquals(StageTiming.Status.OK, status(result, "lexical"));
+        assertEquals(ids(a), chunkIds(result));
+    }
+
+    @Test
+    void failedStageDegradesToOtherResults() {
+        PdfChunk a = chunk(new ObjectId(), 0);
+        when(repository.searchText(anyString(), any(), any(), anyLong(), anyInt(), any(), anyBoolean()))
+                .thenThrow(new IllegalStateException("text index missing"));
+        vector(a);
+
+        RetrievalResult result = retriever.retrieve("markov");
+
+        assertTrue(result.degraded());
+        assertEquals(StageTiming.Status.FAILED, status(result, "lexical"));
+        assertEquals(ids(a), chunkIds(result));
+    }
+
+    @Test
+    void failedHydrateReturnsNoChunks() {
+        lexical(chunk(new ObjectId(), 0));
+        vector();
+        when(repository.findBodiesByIds(anyCollection(), any())).thenThrow(new IllegalStateException("timeout"));
+
+        RetrievalResult result = retriever.retrieve("markov");
+
+        assertTrue(result.degraded());
+        assertEquals(StageTiming.Status.FAILED, status(result, "hydrate"));
+        assertEquals(List.of(), result.chunks());
+    }
+
+    @Test
+    void blankQueryIsEmpty() {
+        assertEquals(RetrievalResult.empty(), retriever.retrieve(" "));
+    }
+
+    private PdfChunk chunk(ObjectId document, int index) {
+        PdfChunk chunk = PdfChunk.builder()
+                .id(new ObjectId())
+                .pdfDocumentId(document)
+                .chunkIndex(index)
+                .text("chunk " + index)
+                .build();
+        bodies.put(chunk.getId(), chunk);
+        return chunk;
+    }
+
+    private void lexical(PdfChunk... ranked) {
+        when(repository.searchText(anyString(), any(), any(), anyLong(), anyInt(), any(), anyBoolean()))
+                .thenReturn(List.of(ranked));
+    }
+
+    private void vector(PdfChunk... ranked) {
+        List<ChunkVectorIndex.Hit> hits = new ArrayList<>();
+        for (int i = 0; i < ranked.length; i++) {
+            hits.add(new ChunkVectorIndex.Hit(ranked[i].getId(), ranked[i].getPdfDocumentId(), 1f - i * 0.1f));
+        }
+        when(vectorIndexService.search(anyString(), anyInt())).thenReturn(hits);
+    }
+
+    private static List<String> ids(PdfChunk... chunks) {
+        List<String> ids = new ArrayList<>();
+        for (PdfChunk chunk : chunks) ids.add(chunk.getId().toString());
+        return ids;
+    }
+
+    private static List<String> chunkIds(RetrievalResult result) {
+        return result.chunks().stream().map(RetrievedChunk::chunkId).toList();
+    }
+
+    private static StageTiming.Status status(RetrievalResult result, String stage) {
+        return result.stages().stream()
+                .filter(timing -> timing.stage().equals(stage))
+                .map(StageTiming::status)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,144 @@
+package mago.study.domain.rag.application;
+
+import mago.study.domain.pdf.dao.PdfChunkRepository;
+import mago.study.domain.pdf.domain.PdfChunk;
+import mago.study.domain.rag.dao.ChunkVectorIndex;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class VectorIndexServiceTest {
+
+    @TempDir
+    Path dir;
+
+    // pdf_chunks 대신 쓰는 저장된 청크 목록
+    private final List<PdfChunk> stored = new CopyOnWriteArrayList<>();
+
+    private VectorIndexService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PdfChunkRepository repository = mock(PdfChunkRepository.class);
+        doAnswer(invocation -> {
+            ObjectId documentId = invocation.getArgument(1);
+            Consumer<PdfChunk> sink = invocation.getArgument(2);
+            for (PdfChunk chunk : stored) {
+                if (documentId == null || documentId.equals(chunk.getPdfDocumentId())) sink.accept(chunk);
+            }
+            return null;
+        }).when(repository).streamEmbeddings(anyString(), any(), any());
+
+        service = new VectorIndexService(new HashingEmbedder(64), repository);
+        ReflectionTestUtils.setField(service, "indexDir", dir.toString());
+        ReflectionTestUtils.setField(service, "listCount", 0);
+        ReflectionTestUtils.setField(service, "probes", 8);
+        ReflectionTestUtils.setField(service, "minTrainSize", 2000);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+    }
+
+    @Test
+    void addedChunksAreSearchableUntilRemoved() {
+        ObjectId document = new ObjectId();
+        PdfChunk markov = chunk(document, 0, "markov chain stationary distribution");
+        PdfChunk bayes = chunk(document, 1, "bayes theorem posterior prior");
+        service.addChunks(List.of(markov, bayes));
+
+        assertEquals(markov.getId(), service.search("stationary markov chain", 1).get(0).chunkId());
+
+        service.removeDocument(document);
+        assertEquals(List.of(), service.search("stationary markov chain", 1));
+    }
+
+    @Test
+    void rebuildIndexesStoredChunks() throws Exception {
+        ObjectId document = new ObjectId();
+        PdfChunk poisson = chunk(document, 0, "poisson process arrival rate");
+        stored.add(poisson);
+        stored.add(chunk(document, 1, "central limit theorem normal approximation"));
+
+        assertTrue(service.rebuildAsync());
+        awaitRebuild();
+
+        assertEquals(2, service.stats().size());
+        assertEquals(poisson.getId(), service.search("poisson arrival", 1).get(0).chunkId());
+    }
+
+    @Test
+    void searchesSurviveIndexSwaps() throws Exception {
+        ObjectId document = new ObjectId();
+        for (int i = 0; i < 500; i++) {
+            stored.add(chunk(document, i, "chunk " + i + " variance expectation sample " + (i % 17)));
+        }
+        assertTrue(service.rebuildAsync());
+        awaitRebuild();
+
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Thread> searchers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            searchers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (!stop.get()) {
+                        List<ChunkVectorIndex.Hit> hits = service.search("variance expectation sample", 5);
+                        // 교체 직후 늦게 읽은 검색도 새 인덱스로 다시 찾는다
+                        if (hits.isEmpty()) throw new AssertionError("no hits during rebuild");
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(service.rebuildAsync());
+            awaitRebuild();
+        }
+        stop.set(true);
+        for (Thread searcher : searchers) searcher.join();
+
+        assertEquals(List.of(), List.copyOf(errors));
+    }
+
+    private PdfChunk chunk(ObjectId document, int index, String text) {
+        PdfChunk chunk = PdfChunk.builder()
+                .id(new ObjectId())
+                .pdfDocumentId(document)
+                .chunkIndex(index)
+                .text(text)
+                .build();
+        service.embed(chunk);
+        return chunk;
+    }
+
+    private void awaitRebuild() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (service.isRebuilding()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("rebuild timed out");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package mago.study.domain.rag.dao;
+
+import mago.study.domain.rag.util.Vectors;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkVectorIndexTest {
+
+    private static final int DIMENSION = 16;
+
+    @TempDir
+    Path dir;
+
+    private ChunkVectorIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = ChunkVectorIndex.create(dir.resolve("test.idx"), DIMENSION);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void searchReturnsNearestFirst() throws IOException {
+        ObjectId document = new ObjectId();
+        ObjectId[] chunks = new ObjectId[3];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new ObjectId();
+            index.add(chunks[i], document, basis(i));
+        }
+
+        List<ChunkVectorIndex.Hit> hits = index.search(mix(0, 1, 0.9f), 3, 1);
+
+        assertEquals(3, hits.size());
+        assertEquals(chunks[0], hits.get(0).chunkId());
+        assertEquals(chunks[1], hits.get(1).chunkId());
+        assertEquals(document, hits.get(0).pdfDocumentId());
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+        assertTrue(hits.get(1).score() >= hits.get(2).score());
+    }
+
+    @Test
+    void addingSameChunkReplacesVector() throws IOException {
+        ObjectId chunk = new ObjectId();
+        index.add(chunk, new ObjectId(), basis(0));
+        index.add(chunk, new ObjectId(), basis(1));
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.stats().deleted());
+        List<ChunkVectorIndex.Hit> hits = index.search(basis(0), 5, 1);
+        assertEquals(1, hits.size());
+        assertEquals(0f, hits.get(0).score(), 1e-6);
+    }
+
+    @Test
+    void removeDocumentHidesItsChunks() throws IOException {
+        ObjectId kept = new ObjectId();
+        ObjectId removed = new ObjectId();
+        index.add(new ObjectId(), kept, basis(0));
+        index.add(new ObjectId(), removed, basis(1));
+        index.add(new ObjectId(), removed, basis(2));
+
+        assertEquals(2, index.removeDocument(removed));
+        assertEquals(0, index.removeDocument(removed));
+
+        List<ChunkVectorIndex.Hit> hits = index.search(basis(1), 5, 1);
+        assertEquals(1, hits.size());
+        assertEquals(kept, hits.get(0).pdfDocumentId());
+    }
+
+    @Test
+    void trainedListsStillFindStoredVectors() throws IOException {
+        Random random = new Random(7);
+        List<float[]> vectors = new ArrayList<>();
+        List<ObjectId> chunks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            float[] vector = randomUnit(random);
+            ObjectId chunk = new ObjectId();
+            index.add(chunk, new ObjectId(), vector);
+            vectors.add(vector);
+            chunks.add(chunk);
+        }
+
+        index.train(8, 64, 10, 42L);
+        assertEquals(8, index.stats().lists());
+        assertEquals(300, index.stats().trainedSize());
+
+        // 저장된 벡터는 자기와 가장 가까운 centroid 의 리스트에 있으므로 probes=1 로도 찾는다
+        for (int i = 0; i < vectors.size(); i += 10) {
+            List<ChunkVectorIndex.Hit> hits = index.search(vectors.get(i), 1, 1);
+            assertEquals(chunks.get(i), hits.get(0).chunkId());
+        }
+
+        // 학습 후 추가한 벡터도 리스트에 배정된다
+        float[] late = randomUnit(random);
+        ObjectId lateChunk = new ObjectId();
+        index.add(lateChunk, new ObjectId(), late);
+        assertEquals(lateChunk, index.search(late, 1, 1).get(0).chunkId());
+    }
+
+    @Test
+    void closedIndexReturnsNoHits() throws IOException {
+        index.add(new ObjectId(), new ObjectId(), basis(0));
+        index.close();
+
+        assertEquals(List.of(), index.search(basis(0), 5, 1));
+        assertEquals(0, index.removeDocument(new ObjectId()));
+        assertThrows(IllegalStateException.class, () -> index.add(new ObjectId(), new ObjectId(), basis(0)));
+    }
+
+    @Test
+    void searchesRacingCloseDoNotFail() throws Exception {
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            index.add(new ObjectId(), new ObjectId(), randomUnit(random));
+        }
+
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> searchers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            float[] query = randomUnit(random);
+            searchers.add(Thread.ofPlatform().start(() -> {
+                started.countDown();
+                try {
+                    while (!stop.get()) index.search(query, 10, 1);
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+
+        started.await();
+        Thread.sleep(20);
+        index.close();
+        Thread.sleep(20);
+        stop.set(true);
+        for (Thread searcher : searchers) searcher.join();
+
+        assertEquals(List.of(), List.copyOf(errors));
+    }
+
+    private static float[] basis(int axis) {
+        float[] vector = new float[DIMENSION];
+        vector[axis] = 1f;
+        return vector;
+    }
+
+    private static float[] mix(int a, int b, float weightB) {
+        float[] vector = basis(a);
+        vector[b] = weightB;
+        Vectors.normalize(vector);
+        return vector;
+    }
+
+    private static float[] randomUnit(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) vector[d] = (float) random.nextGaussian();
+        Vectors.normalize(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,180 @@
+package mago.study.domain.room.application;
+
+import com.mongodb.bulk.BulkWriteError;
+import mago.study.domain.room.domain.RoomDocument;
+import mago.study.global.cache.ChatCache;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomMessageCounterTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    // bulk $inc 로 DB 에 반영된 방별 값
+    private final Map<ObjectId, Long> stored = new ConcurrentHashMap<>();
+    // bulk 갱신을 실패시킬 방
+    private final Set<ObjectId> failingRooms = ConcurrentHashMap.newKeySet();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private volatile CountDownLatch executeEntered;
+    private volatile CountDownLatch executeRelease;
+
+    private RoomMessageCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RoomDocument.class)))
+                .thenAnswer(invocation -> recordingBulk());
+        when(mongoTemplate.updateFirst(any(Query.class), any(), eq(RoomDocument.class)))
+                .thenAnswer(invocation -> {
+                    events.add("reset");
+                    return null;
+                });
+        counter = new RoomMessageCounter(mongoTemplate, mock(ChatCache.class), 1000, false);
+    }
+
+    @Test
+    void concurrentIncrementsAreFlushedExactlyOnce() throws Exception {
+        ObjectId[] rooms = {new ObjectId(), new ObjectId(), new ObjectId()};
+        int threads = 8;
+        int perThread = 20_000;
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (!done.get()) counter.flush();
+        });
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            ObjectId room = rooms[t % rooms.length];
+            senders.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) counter.increment(room);
+            }));
+        }
+        for (Thread sender : senders) sender.join();
+        done.set(true);
+        flusher.join();
+        counter.flush();
+
+        long[] expected = new long[rooms.length];
+        for (int t = 0; t < threads; t++) expected[t % rooms.length] += perThread;
+        for (int r = 0; r < rooms.length; r++) {
+            assertEquals(expected[r], stored.getOrDefault(rooms[r], 0L));
+            assertEquals(0, counter.unflushed(rooms[r]));
+        }
+    }
+
+    @Test
+    void partialBulkFailureRequeuesOnlyFailedRooms() {
+        ObjectId applied = new ObjectId();
+        ObjectId failed = new ObjectId();
+        counter.increment(applied);
+        counter.increment(failed);
+        counter.increment(failed);
+
+        failingRooms.add(failed);
+        assertEquals(1, counter.flush());
+        assertEquals(1L, stored.get(applied));
+        assertEquals(0, counter.unflushed(applied));
+        assertEquals(2, counter.unflushed(failed));
+
+        failingRooms.clear();
+        assertEquals(1, counter.flush());
+        assertEquals(1L, stored.get(applied));
+        assertEquals(2L, stored.get(failed));
+    }
+
+    @Test
+    void unknownFailureRequeuesEverything() {
+        ObjectId room = new ObjectId();
+        BulkOperations broken = mock(BulkOperations.class);
+        when(broken.execute()).thenThrow(new IllegalStateException("connection reset"));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RoomDocument.class))).thenReturn(broken);
+
+        counter.increment(room);
+        assertThrows(IllegalStateException.class, counter::flush);
+        assertEquals(1, counter.unflushed(room));
+    }
+
+    @Test
+    void resetWaitsForInFlightFlush() throws Exception {
+        ObjectId room = new ObjectId();
+        counter.increment(room);
+        executeEntered = new CountDownLatch(1);
+        executeRelease = new CountDownLatch(1);
+
+        Thread flusher = Thread.ofPlatform().start(counter::flush);
+        assertTrue(executeEntered.await(5, TimeUnit.SECONDS));
+        Thread resetter = Thread.ofPlatform().start(() -> counter.reset(room));
+        resetter.join(100);
+        // flush 가 증가분을 꺼낸 채 진행 중이면 reset 은 기다린다
+        assertEquals(List.of(), List.copyOf(events));
+
+        executeRelease.countDown();
+        flusher.join();
+        resetter.join();
+        assertEquals(List.of("inc", "reset"), List.copyOf(events));
+    }
+
+    private BulkOperations recordingBulk() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        List<Document> updates = new ArrayList<>();
+        List<ObjectId> roomIds = new ArrayList<>();
+        when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Update update = invocation.getArgument(1);
+            roomIds.add((ObjectId) query.getQueryObject().get("id"));
+            updates.add(update.getUpdateObject());
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(invocation -> {
+            CountDownLatch entered = executeEntered;
+            if (entered != null) {
+                entered.countDown();
+                executeRelease.await();
+            }
+            List<BulkWriteError> errors = new ArrayList<>();
+            for (int i = 0; i < roomIds.size(); i++) {
+                if (failingRooms.contains(roomIds.get(i))) {
+                    errors.add(new BulkWriteError(2, "failed", new BsonDocument(), i));
+                    continue;
+                }
+                long delta = ((Number) ((Document) updates.get(i).get("$inc")).get("messageCount")).longValue();
+                stored.merge(roomIds.get(i), delta, Long::sum);
+            }
+            events.add("inc");
+            if (!errors.isEmpty()) {
+                BulkOperationException exception = mock(BulkOperationException.class);
+                when(exception.getErrors()).thenReturn(errors);
+                throw exception;
+            }
+            return null;
+        });
+        return bulk;
+    }
+}
@@ -0,0 +1,183 @@
+package mago.study.domain.tweet.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mago.study.domain.tweet.domain.TweetText;
+import mago.study.domain.tweet.dto.FileResult;
+import mago.study.domain.tweet.dto.ImportOptions;
+import mago.study.domain.tweet.dto.ImportResult;
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvImportPipelineTest {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setTrim(true)
+            .build();
+
+    // 경로 → CSV 내용 (없는 경로는 열기 실패)
+    private final Map<String, String> files = new HashMap<>();
+    private final Set<String> saved = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void countsEveryRowExactly() throws Exception {
+        files.put("tweets.csv", csv("Tweet Text", "one", "two", "\"\"", "three", "four", "\"\"", "five"));
+        files.put("wrong-header.csv", csv("Other", "a", "b", "c"));
+
+        List<FileResult> results = pipeline(options(2, false), this::saveAll)
+                .run(List.of("tweets.csv", "wrong-header.csv", "missing.csv"));
+
+        assertEquals(new FileResult("tweets.csv", 7, 5, 2, 0, null), results.get(0));
+        // 필수 컬럼이 없는 행은 행마다 에러
+        assertEquals(new FileResult("wrong-header.csv", 3, 0, 0, 3, null), results.get(1));
+        FileResult missing = results.get(2);
+        assertEquals(0, missing.rowsRead());
+        assertEquals(1, missing.errors());
+        assertNotNull(missing.errorMessage());
+
+        ImportResult total = ImportResult.empty(2, true, true, true).withFiles(results);
+        assertEquals(10, total.rowsRead());
+        assertEquals(5, total.rowsSaved());
+        assertEquals(2, total.rowsSkippedEmpty());
+        assertEquals(4, total.errors());
+        assertEquals(Set.of("one", "two", "three", "four", "five"), saved);
+    }
+
+    @Test
+    void unsavedRowsOfBatchAreErrors() throws Exception {
+        files.put("tweets.csv", csv("Tweet Text", "one", "two", "three", "four"));
+
+        // 배치마다 1건씩 저장 실패
+        List<FileResult> results = pipeline(options(2, false), batch -> batch.size() - 1).run(List.of("tweets.csv"));
+
+        assertEquals(new FileResult("tweets.csv", 4, 2, 0, 2, null), results.get(0));
+    }
+
+    @Test
+    void failedBatchIsSkippedWithoutFailFast() throws Exception {
+        files.put("tweets.csv", csv("Tweet Text", rows(50)));
+        AtomicInteger calls = new AtomicInteger();
+
+        List<FileResult> results = pipeline(options(1, false), batch -> {
+            if (calls.incrementAndGet() == 1) throw new IllegalStateException("db down");
+            return saveAll(batch);
+        }).run(List.of("tweets.csv"));
+
+        FileResult result = results.get(0);
+        assertEquals(50, result.rowsRead());
+        assertEquals(49, result.rowsSaved());
+        assertEquals(1, result.errors());
+        assertEquals("db down", result.errorMessage());
+    }
+
+    @Test
+    void failedBatchCountsEveryRowAsError() throws Exception {
+        files.put("tweets.csv", csv("Tweet Text", rows(12)));
+        AtomicInteger calls = new AtomicInteger();
+
+        List<FileResult> results = pipeline(options(5, false), batch -> {
+            if (calls.incrementAndGet() == 1) throw new IllegalStateException("db down");
+            return saveAll(batch);
+        }).run(List.of("tweets.csv"));
+
+        // 읽은 행 = 저장 + 빈 행 스킵 + 에러
+        FileResult result = results.get(0);
+        assertEquals(12, result.rowsRead());
+        assertEquals(7, result.rowsSaved());
+        assertEquals(5, result.errors());
+        assertEquals(result.rowsRead(), result.rowsSaved() + result.rowsSkippedEmpty() + result.errors());
+        assertEquals("db down", result.errorMessage());
+    }
+
+    @Test
+    void failFastStopsWritingAfterFirstFailure() throws Exception {
+        files.put("tweets.csv", csv("Tweet Text", rows(50)));
+        AtomicInteger calls = new AtomicInteger();
+
+        List<FileResult> results = pipeline(options(1, true), batch -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("db down");
+        }).run(List.of("tweets.csv"));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, results.get(0).rowsSaved());
+        assertEquals("db down", results.get(0).errorMessage());
+    }
+
+    @Test
+    void stageKilledByErrorDoesNotHangPipeline() throws Exception {
+        files.put("tweets.csv", csv("Tweet Text", rows(500)));
+        CsvImportPipeline pipeline = pipeline(options(1, false), batch -> {
+            throw new OutOfMemoryError("simulated");
+        });
+
+        // 저장 스레드가 죽으면 정제/읽기 스테이지가 가득 찬 큐에서 계속 기다리던 문제
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread run = Thread.ofPlatform().start(() -> {
+            try {
+                pipeline.run(List.of("tweets.csv"));
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        run.join(10_000);
+
+        assertFalse(run.isAlive(), "pipeline hung");
+        assertInstanceOf(IllegalStateException.class, thrown.get());
+        assertInstanceOf(OutOfMemoryError.class, thrown.get().getCause());
+    }
+
+    @Test
+    void emptyRunHasNoResults() throws Exception {
+        assertTrue(pipeline(options(2, false), this::saveAll).run(List.of()).isEmpty());
+    }
+
+    private CsvImportPipeline pipeline(ImportOptions options, CsvImportPipeline.BatchWriter writer) {
+        return new CsvImportPipeline(options, FORMAT, "Tweet Text", this::open, writer,
+                new CsvImportMetrics(new SimpleMeterRegistry()));
+    }
+
+    /** 스테이지마다 스레드 1~2개, 큐 1칸 (backpressure 가 바로 걸리도록) */
+    private static ImportOptions options(int batchSize, boolean failFast) {
+        return new ImportOptions(batchSize, true, true, true, failFast, 2, 1, 1, 1, false);
+    }
+
+    private BufferedReader open(String path) throws FileNotFoundException {
+        String content = files.get(path);
+        if (content == null) throw new FileNotFoundException(path);
+        return new BufferedReader(new StringReader(content));
+    }
+
+    private int saveAll(List<TweetText> batch) {
+        for (TweetText doc : batch) saved.add(doc.getText());
+        return batch.size();
+    }
+
+    private static String[] rows(int count) {
+        String[] rows = new String[count];
+        for (int i = 0; i < count; i++) rows[i] = "tweet number " + i;
+        return rows;
+    }
+
+    private static String csv(String header, String... rows) {
+        return header + "\n" + String.join("\n", rows) + "\n";
+    }
+}
@@ -0,0 +1,78 @@
+package mago.study.domain.tweet.dao;
+
+import com.mongodb.MongoSocketReadTimeoutException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import mago.study.domain.tweet.domain.TweetText;
+import mago.study.domain.tweet.dto.BulkWriteStats;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TweetBulkWriterTest {
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TweetBulkWriter writer = new TweetBulkWriter(mongoTemplate);
+
+    // 실패시킬 insertMany 호출 순번 (1부터)
+    private Set<Integer> failingCalls = Set.of();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(TweetText.class)).thenReturn("tweet_texts");
+        when(mongoTemplate.getCollection("tweet_texts")).thenReturn(collection);
+        doAnswer(invocation -> {
+            if (failingCalls.contains(calls.incrementAndGet())) {
+                throw new MongoSocketReadTimeoutException("read timed out", new ServerAddress(), null);
+            }
+            return null;
+        }).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+        // 트윗 1건이 하위 배치 1개가 되도록
+        ReflectionTestUtils.setField(writer, "maxBatchBytes", 60L);
+    }
+
+    @Test
+    void failedSubBatchIsCountedAndOthersStillSaved() {
+        failingCalls = Set.of(2);
+        TweetBulkWriter.Stats stats = new TweetBulkWriter.Stats();
+
+        int inserted = writer.insert(tweets("a", "b", "c"), stats);
+
+        assertEquals(2, inserted);
+        assertEquals(3, calls.get());
+        BulkWriteStats snapshot = stats.snapshot();
+        assertEquals(2, snapshot.docsInserted());
+        assertEquals(1, snapshot.docsFailed());
+    }
+
+    @Test
+    void nothingSavedRethrows() {
+        failingCalls = Set.of(1, 2);
+
+        // DB 장애 등으로 하나도 저장하지 못하면 호출 측이 메시지와 fail-fast 를 처리하도록 예외
+        assertThrows(MongoSocketReadTimeoutException.class, () -> writer.insert(tweets("a", "b"), new TweetBulkWriter.Stats()));
+    }
+
+    private static List<TweetText> tweets(String... texts) {
+        return Arrays.stream(texts).map(text -> TweetText.builder().text(text).build()).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package mago.study.global.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mago.study.domain.room.domain.RoomDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ChatCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ChatCache chatCache = new ChatCache(100, 60, 100, 60, 50, 100, 60, registry);
+
+    @Test
+    void cachesAreBoundToRegistry() {
+        ObjectId roomId = new ObjectId();
+        chatCache.room(roomId, id -> RoomDocument.builder().id(id).build());
+        chatCache.room(roomId, id -> RoomDocument.builder().id(id).build());
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "chat.rooms").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "chat.rooms").tag("result", "miss").functionCounter().count());
+        for (String cache : new String[]{"chat.newestPages", "chat.contexts"}) {
+            FunctionCounter gets = registry.get("cache.gets").tag("cache", cache).tag("result", "miss").functionCounter();
+            assertNotNull(gets);
+        }
+    }
+}
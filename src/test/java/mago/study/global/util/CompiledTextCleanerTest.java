@@ -0,0 +1,90 @@
+package mago.study.global.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CompiledTextCleanerTest {
+
+    private static final List<String> GOLDEN = List.of(
+            "",
+            "   ",
+            "Hello   world",
+            "MAKE AMERICA GREAT AGAIN! #MAGA @realDonaldTrump https://t.co/abc123",
+            "Thank you &amp; congratulations!&#39; &lt;3 &nbsp;done",
+            "It‚Äôs â€œfakeâ€\u009d news â€” so sad â€¦ â„¢",
+            "PeÃ±a NiÃ±o cafÃ© JosÃ© AdiÃ³s mÃºsica",
+            "line1\r\n\r\n\r\n\r\nline2\n   \n\tline3   with\t\ttabs  ",
+            "zero​width‌join‍⁠﻿text",
+            "emoji 😀👍🏽 symbols ∑ € © ™ ← and unassigned ￿",
+            "control\u0001\u0007\u007F\u0085chars\u000B\u000Cend",
+            "é composed vs é, 한글 ㄱㅏ",
+            "visit www.example.com or example.co.kr/path?x=1 now",
+            "email me@example.com #hash_tag_1 @user_2 a#b c@d",
+            "http://no-dot-host/path and HTTPS://UPPER.CASE",
+            "para1 para2 para3",
+            "lone \uD83D surrogate \uDE00 and \uD83D​\uDE00 joined",
+            "&#35;decoded &#64;mention &#x1F600; &eacute;",
+            "  nbsp padded  "
+    );
+
+    private static final String[] ATOMS = {
+            "a", "Z", "1", "_", " ", "\t", "\n", "\r", "\r\n", " ", "　", "\u0085", "\u000B", "\u0001",
+            "#", "@", "#tag", "@user", ".", "com", "www.", "http://", "https://x.y/p", "t.co",
+            "&amp;", "&#35;", "&#64;", "&nbsp;", "&eacute;", "&", "​", "‍", "﻿",
+            "😀", "\uD83D", "\uDE00", "€", "+", "™", "é", "́", "한", "ㄱ",
+            "‚Äì", "â€“", "â€™", "â€\u009d", "â€¦", "â„¢", "Ã±", "Ã", "â", " ", "\n\n\n", "Ω", "K"
+    };
+
+    @Test
+    void matchesLegacyCleanOnGoldenCorpus() {
+        for (String raw : GOLDEN) {
+            assertSameForAllOptions(raw);
+        }
+    }
+
+    @Test
+    void matchesLegacyCleanOnRandomCorpus() {
+        Random random = new Random(20240601L);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = random.nextInt(16);
+            for (int j = 0; j < len; j++) sb.append(ATOMS[random.nextInt(ATOMS.length)]);
+            assertSameForAllOptions(sb.toString());
+        }
+    }
+
+    @Test
+    void mojibakePatternsAreNotPrefixesOfEachOther() {
+        // 한 번 훑는 치환이 순차 치환과 같으려면 필요한 조건
+        for (String[] a : TextCleaner.MOJIBAKE) {
+            for (String[] b : TextCleaner.MOJIBAKE) {
+                if (a != b) assertFalse(b[0].startsWith(a[0]), () -> a[0] + " is a prefix of " + b[0]);
+            }
+        }
+    }
+
+    @Test
+    void restoresQuoteAndEllipsisMojibake() {
+        assertEquals("“fake” news — so sad … ™ í",
+                TextCleaner.compile(false, false, false).clean("â€œfakeâ€\u009d news â€” so sad â€¦ â„¢ Ã\u00AD"));
+    }
+
+    private static void assertSameForAllOptions(String raw) {
+        for (int m = 0; m < 8; m++) {
+            int mask = m;
+            boolean hashtag = (mask & 1) != 0;
+            boolean mention = (mask & 2) != 0;
+            boolean emoji = (mask & 4) != 0;
+            assertEquals(
+                    TextCleaner.clean(raw, hashtag, mention, emoji),
+                    TextCleaner.compile(hashtag, mention, emoji).clean(raw),
+                    () -> "options=" + mask + " input=" + raw
+            );
+        }
+    }
+}